@@ -0,0 +1,39 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
+
+/**
+ * The propagation statistics and the estimated heap of all nodes of a single constraint, summed.
+ * Nodes shared by several constraints count in full for each of them,
+ * so the totals of all constraints together may exceed the totals of the session.
+ *
+ * @param constraintRef never null
+ * @param nodeCount number of nodes used by the constraint
+ * @param sharedNodeCount number of those nodes which are also used by other constraints
+ * @param insertCount see {@link BavetNodeDescriptor#insertCount()}
+ * @param updateCount see {@link BavetNodeDescriptor#updateCount()}
+ * @param retractCount see {@link BavetNodeDescriptor#retractCount()}
+ * @param propagationNanos see {@link BavetNodeDescriptor#propagationNanos()}
+ * @param estimatedRetainedBytes see {@link BavetNodeDescriptor#estimatedRetainedBytes()}
+ * @see BavetNodeNetwork#getConstraintProfileList()
+ */
+public record BavetConstraintProfile(ConstraintRef constraintRef, int nodeCount, int sharedNodeCount,
+        long insertCount, long updateCount, long retractCount, long propagationNanos, long estimatedRetainedBytes) {
+
+    BavetConstraintProfile add(BavetNodeDescriptor nodeDescriptor) {
+        return new BavetConstraintProfile(constraintRef, nodeCount + 1,
+                sharedNodeCount + (nodeDescriptor.sharingCount() > 1 ? 1 : 0),
+                insertCount + nodeDescriptor.insertCount(), updateCount + nodeDescriptor.updateCount(),
+                retractCount + nodeDescriptor.retractCount(), propagationNanos + nodeDescriptor.propagationNanos(),
+                estimatedRetainedBytes + nodeDescriptor.estimatedRetainedBytes());
+    }
+
+    @Override
+    public String toString() {
+        return constraintRef + " (nodes: " + nodeCount + ", of which shared: " + sharedNodeCount
+                + ", inserts/updates/retracts: " + insertCount + "/" + updateCount + "/" + retractCount
+                + ", propagation time: " + (propagationNanos / 1_000) + " us"
+                + ", estimated heap: " + (estimatedRetainedBytes / 1_024) + " KiB)";
+    }
+
+}
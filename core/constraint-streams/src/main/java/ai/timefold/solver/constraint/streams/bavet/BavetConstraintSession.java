@@ -1,17 +1,26 @@
 package ai.timefold.solver.constraint.streams.bavet;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractScorer;
 import ai.timefold.solver.constraint.streams.bavet.common.PropagationQueue;
+import ai.timefold.solver.constraint.streams.bavet.common.PropagationScheduler;
 import ai.timefold.solver.constraint.streams.bavet.common.Propagator;
 import ai.timefold.solver.constraint.streams.bavet.uni.AbstractForEachUniNode;
+import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.constraint.streams.common.inliner.AbstractScoreInliner;
 import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
 import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
 import ai.timefold.solver.core.api.score.constraint.Indictment;
+import ai.timefold.solver.core.api.score.stream.Constraint;
 
 /**
  * The type is public to make it easier for Bavet-specific minimal bug reproducers to be created.
@@ -23,83 +32,158 @@ import ai.timefold.solver.core.api.score.constraint.Indictment;
 public final class BavetConstraintSession<Score_ extends Score<Score_>> {
 
     private final AbstractScoreInliner<Score_> scoreInliner;
-    private final Map<Class<?>, List<AbstractForEachUniNode<Object>>> declaredClassToNodeMap;
-    private final Propagator[][] layeredNodes; // First level is the layer, second determines iteration order.
-    private final Map<Class<?>, AbstractForEachUniNode<Object>[]> effectiveClassToNodeArrayMap;
+    private final Map<Class<?>, ForEachNodeGroup> declaredClassToNodeGroupMap;
+    private final PropagationScheduler propagationScheduler;
+    private final Map<Class<?>, ForEachNodeGroup[]> effectiveClassToNodeGroupArrayMap;
+    // Each handle belongs to the node group at the same position in the effective node group array of the fact.
+    private final Map<Object, int[]> factToHandlesMap = new IdentityHashMap<>(1000);
+    private final Supplier<BavetNodeNetwork> nodeNetworkSupplier;
+    private final Map<Constraint, List<AbstractScorer<?>>> constraintToScorerListMap;
 
     BavetConstraintSession(AbstractScoreInliner<Score_> scoreInliner) {
-        this(scoreInliner, Collections.emptyMap(), new Propagator[0][0]);
+        this(scoreInliner, Collections.emptyMap(), new Propagator[0][0], Collections.emptyList(),
+                () -> BavetNodeNetwork.EMPTY);
     }
 
     BavetConstraintSession(AbstractScoreInliner<Score_> scoreInliner,
             Map<Class<?>, List<AbstractForEachUniNode<Object>>> declaredClassToNodeMap,
-            Propagator[][] layeredNodes) {
+            Propagator[][] layeredNodes, List<AbstractScorer<?>> scorerList,
+            Supplier<BavetNodeNetwork> nodeNetworkSupplier) {
         this.scoreInliner = scoreInliner;
-        this.declaredClassToNodeMap = declaredClassToNodeMap;
-        this.layeredNodes = layeredNodes;
-        this.effectiveClassToNodeArrayMap = new IdentityHashMap<>(declaredClassToNodeMap.size());
+        this.constraintToScorerListMap = new LinkedHashMap<>(scorerList.size());
+        for (var scorer : scorerList) {
+            constraintToScorerListMap.computeIfAbsent(scorer.getConstraint(), k -> new ArrayList<>(1))
+                    .add(scorer);
+        }
+        this.declaredClassToNodeGroupMap = new LinkedHashMap<>(declaredClassToNodeMap.size());
+        declaredClassToNodeMap.forEach((declaredClass, nodeList) -> declaredClassToNodeGroupMap.put(declaredClass,
+                new ForEachNodeGroup(nodeList)));
+        this.propagationScheduler = new PropagationScheduler(layeredNodes);
+        this.nodeNetworkSupplier = nodeNetworkSupplier;
+        this.effectiveClassToNodeGroupArrayMap = new IdentityHashMap<>(declaredClassToNodeMap.size());
     }
 
     public void insert(Object fact) {
-        var factClass = fact.getClass();
-        for (var node : findNodes(factClass)) {
-            node.insert(fact);
+        var nodeGroups = findNodeGroups(fact.getClass());
+        if (nodeGroups.length == 0) {
+            return;
+        }
+        var handles = factToHandlesMap.get(fact);
+        if (handles == null) {
+            handles = acquireHandles(nodeGroups);
+            factToHandlesMap.put(fact, handles);
+        }
+        for (var i = 0; i < nodeGroups.length; i++) {
+            nodeGroups[i].insert(fact, handles[i]);
         }
     }
 
-    private AbstractForEachUniNode<Object>[] findNodes(Class<?> factClass) {
+    private ForEachNodeGroup[] findNodeGroups(Class<?> factClass) {
         // Map.computeIfAbsent() would have created lambdas on the hot path, this will not.
-        var nodeArray = effectiveClassToNodeArrayMap.get(factClass);
-        if (nodeArray == null) {
-            nodeArray = declaredClassToNodeMap.entrySet()
+        var nodeGroupArray = effectiveClassToNodeGroupArrayMap.get(factClass);
+        if (nodeGroupArray == null) {
+            nodeGroupArray = declaredClassToNodeGroupMap.entrySet()
                     .stream()
                     .filter(entry -> entry.getKey().isAssignableFrom(factClass))
                     .map(Map.Entry::getValue)
-                    .flatMap(List::stream)
-                    .toArray(AbstractForEachUniNode[]::new);
-            effectiveClassToNodeArrayMap.put(factClass, nodeArray);
+                    .toArray(ForEachNodeGroup[]::new);
+            effectiveClassToNodeGroupArrayMap.put(factClass, nodeGroupArray);
+        }
+        return nodeGroupArray;
+    }
+
+    private static int[] acquireHandles(ForEachNodeGroup[] nodeGroups) {
+        var handles = new int[nodeGroups.length];
+        for (var i = 0; i < nodeGroups.length; i++) {
+            handles[i] = nodeGroups[i].acquireHandle();
         }
-        return nodeArray;
+        return handles;
     }
 
     public void update(Object fact) {
-        var factClass = fact.getClass();
-        for (var node : findNodes(factClass)) {
-            node.update(fact);
+        var nodeGroups = findNodeGroups(fact.getClass());
+        if (nodeGroups.length == 0) {
+            return;
         }
+        var handles = factToHandlesMap.get(fact);
+        if (handles != null) {
+            for (var i = 0; i < nodeGroups.length; i++) {
+                nodeGroups[i].update(fact, handles[i]);
+            }
+            return;
+        }
+        // Facts which were never inserted still get a handle, as the forEach node may decide to insert them now.
+        // The handle is only kept once all forEach nodes have accepted the update.
+        handles = acquireHandles(nodeGroups);
+        var updatedNodeGroupCount = 0;
+        try {
+            for (; updatedNodeGroupCount < nodeGroups.length; updatedNodeGroupCount++) {
+                nodeGroups[updatedNodeGroupCount].update(fact, handles[updatedNodeGroupCount]);
+            }
+        } catch (RuntimeException e) {
+            // The node group which rejected the update may have let some of its nodes insert the fact already.
+            for (var i = 0; i < nodeGroups.length; i++) {
+                if (i <= updatedNodeGroupCount) {
+                    nodeGroups[i].abortInsert(handles[i]);
+                }
+                nodeGroups[i].releaseHandle(handles[i]);
+            }
+            throw e;
+        }
+        factToHandlesMap.put(fact, handles);
     }
 
     public void retract(Object fact) {
-        var factClass = fact.getClass();
-        for (var node : findNodes(factClass)) {
-            node.retract(fact);
+        var nodeGroups = findNodeGroups(fact.getClass());
+        if (nodeGroups.length == 0) {
+            return;
+        }
+        var handles = factToHandlesMap.remove(fact);
+        if (handles == null) { // Let the forEach nodes decide whether retracting an unknown fact is a problem.
+            for (var nodeGroup : nodeGroups) {
+                nodeGroup.retract(fact, -1);
+            }
+            return;
+        }
+        for (var i = 0; i < nodeGroups.length; i++) {
+            nodeGroups[i].retract(fact, handles[i]);
+        }
+        for (var i = 0; i < nodeGroups.length; i++) {
+            nodeGroups[i].releaseHandle(handles[i]);
         }
     }
 
     public Score_ calculateScore(int initScore) {
-        var layerCount = layeredNodes.length;
-        for (var layerIndex = 0; layerIndex < layerCount; layerIndex++) {
-            calculateScoreInLayer(layerIndex);
-        }
+        propagationScheduler.propagate();
         return scoreInliner.extractScore(initScore);
     }
 
-    private void calculateScoreInLayer(int layerIndex) {
-        var nodesInLayer = layeredNodes[layerIndex];
-        var nodeCount = nodesInLayer.length;
-        if (nodeCount == 1) {
-            nodesInLayer[0].propagateEverything();
-        } else {
-            for (var node : nodesInLayer) {
-                node.propagateRetracts();
-            }
-            for (var node : nodesInLayer) {
-                node.propagateUpdates();
-            }
-            for (var node : nodesInLayer) {
-                node.propagateInserts();
+    /**
+     * Applies new constraint weights without rebuilding the node network or reinserting any facts.
+     * The scorers of every constraint whose weight changed undo the impacts of the matches they hold,
+     * and redo them with the new weight.
+     * This is only possible if the same constraints keep a non-zero weight;
+     * enabling or disabling a constraint adds or removes nodes, which requires a new session.
+     *
+     * @param constraintWeightMap never null, the new weights of all constraints with a non-zero weight
+     * @return false if nothing was changed because a new session is required
+     */
+    boolean updateConstraintWeights(Map<Constraint, Score_> constraintWeightMap) {
+        var oldConstraintWeightMap = scoreInliner.getConstraintWeightMap();
+        if (!oldConstraintWeightMap.keySet().equals(constraintWeightMap.keySet())) {
+            return false;
+        }
+        var changedConstraintList = constraintWeightMap.keySet().stream()
+                .filter(constraint -> !constraintWeightMap.get(constraint).equals(oldConstraintWeightMap.get(constraint)))
+                .toList();
+        for (var constraint : changedConstraintList) {
+            var weightedScoreImpacter = scoreInliner.updateConstraintWeight((AbstractConstraint<?, ?, ?>) constraint,
+                    constraintWeightMap.get(constraint));
+            for (var scorer : constraintToScorerListMap.getOrDefault(constraint, Collections.emptyList())) {
+                scorer.updateWeightedScoreImpacter(weightedScoreImpacter);
             }
         }
+        return true;
     }
 
     public AbstractScoreInliner<Score_> getScoreInliner() {
@@ -114,4 +198,23 @@ public final class BavetConstraintSession<Score_ extends Score<Score_>> {
         return scoreInliner.getIndictmentMap();
     }
 
+    public Map<ConstraintRef, ConstraintAnalysis<Score_>> getShallowConstraintAnalysisMap() {
+        return scoreInliner.getShallowConstraintAnalysisMap();
+    }
+
+    /**
+     * Describes the nodes of this session, which constraints share them and how many tuples they currently hold.
+     * The tuple counts reflect the last {@link #calculateScore(int)}.
+     * Intended for diagnosing node sharing and the size of joins, not for use on the hot path.
+     * <p>
+     * Propagation times are only measured
+     * if the {@link BavetConstraintSessionFactory#PROFILING_ENABLED_PROPERTY_NAME} system property is set to true.
+     * See {@link BavetNodeNetwork#getConstraintProfileList()} for the results per constraint.
+     *
+     * @return never null
+     */
+    public BavetNodeNetwork describeNodeNetwork() {
+        return nodeNetworkSupplier.get();
+    }
+
 }
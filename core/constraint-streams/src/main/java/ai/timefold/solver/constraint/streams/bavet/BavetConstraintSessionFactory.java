@@ -21,6 +21,7 @@ import ai.timefold.solver.constraint.streams.bavet.common.BavetIfExistsConstrain
 import ai.timefold.solver.constraint.streams.bavet.common.BavetJoinConstraintStream;
 import ai.timefold.solver.constraint.streams.bavet.common.BavetStreamBinaryOperation;
 import ai.timefold.solver.constraint.streams.bavet.common.NodeBuildHelper;
+import ai.timefold.solver.constraint.streams.bavet.common.ProfilingPropagator;
 import ai.timefold.solver.constraint.streams.bavet.common.PropagationQueue;
 import ai.timefold.solver.constraint.streams.bavet.common.Propagator;
 import ai.timefold.solver.constraint.streams.bavet.uni.AbstractForEachUniNode;
@@ -32,13 +33,35 @@ import ai.timefold.solver.core.impl.score.definition.ScoreDefinition;
 
 public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score<Score_>> {
 
+    /**
+     * If set to {@code true}, every session measures the time each node spends propagating its tuples.
+     * This costs two clock reads per node per layer in every {@link BavetConstraintSession#calculateScore(int)};
+     * the results are available through {@link BavetConstraintSession#describeNodeNetwork()}.
+     */
+    public static final String PROFILING_ENABLED_PROPERTY_NAME = "ai.timefold.solver.constraint.streams.bavet.profiling";
+
     private final SolutionDescriptor<Solution_> solutionDescriptor;
     private final List<BavetConstraint<Solution_>> constraintList;
+    private final boolean profilingEnabled;
+    /**
+     * Sessions are built repeatedly from the same factory,
+     * for every solver, every move thread and every score analysis,
+     * typically with the same constraints active in all of them.
+     * The parts of the node network which only depend on the active constraints are therefore reused.
+     * Only the last one is kept, as the active constraints only differ if the constraint weights do.
+     */
+    private volatile NodeNetworkBlueprint<Solution_> lastBlueprint;
 
     public BavetConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
             List<BavetConstraint<Solution_>> constraintList) {
+        this(solutionDescriptor, constraintList, Boolean.getBoolean(PROFILING_ENABLED_PROPERTY_NAME));
+    }
+
+    BavetConstraintSessionFactory(SolutionDescriptor<Solution_> solutionDescriptor,
+            List<BavetConstraint<Solution_>> constraintList, boolean profilingEnabled) {
         this.solutionDescriptor = solutionDescriptor;
         this.constraintList = constraintList;
+        this.profilingEnabled = profilingEnabled;
     }
 
     // ************************************************************************
@@ -48,49 +71,61 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
     public BavetConstraintSession<Score_> buildSession(boolean constraintMatchEnabled,
             Solution_ workingSolution) {
         ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
-        Score_ zeroScore = scoreDefinition.getZeroScore();
-        Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet = new LinkedHashSet<>();
-        Map<Constraint, Score_> constraintWeightMap = new HashMap<>(constraintList.size());
+        Map<Constraint, Score_> constraintWeightMap = extractActiveConstraintWeightMap(workingSolution);
+        List<BavetConstraint<Solution_>> activeConstraintList = new ArrayList<>(constraintWeightMap.size());
         for (BavetConstraint<Solution_> constraint : constraintList) {
-            Score_ constraintWeight = constraint.extractConstraintWeight(workingSolution);
-            /*
-             * Filter out nodes that only lead to constraints with zero weight.
-             * Note: Node sharing happens earlier, in BavetConstraintFactory#share(Stream_).
-             */
-            if (!constraintWeight.equals(zeroScore)) {
-                /*
-                 * Relies on BavetConstraintFactory#share(Stream_) occurring for all constraint stream instances
-                 * to ensure there are no 2 equal ConstraintStream instances (with different child stream lists).
-                 */
-                constraint.collectActiveConstraintStreams(constraintStreamSet);
-                constraintWeightMap.put(constraint, constraintWeight);
+            if (constraintWeightMap.containsKey(constraint)) {
+                activeConstraintList.add(constraint);
             }
         }
         AbstractScoreInliner<Score_> scoreInliner =
                 AbstractScoreInliner.buildScoreInliner(scoreDefinition, constraintWeightMap, constraintMatchEnabled);
-        if (constraintStreamSet.isEmpty()) { // All constraints were disabled.
+        if (activeConstraintList.isEmpty()) { // All constraints were disabled.
             return new BavetConstraintSession<>(scoreInliner);
         }
-        /*
-         * Build constraintStreamSet in reverse order to create downstream nodes first
-         * so every node only has final variables (some of which have downstream node method references).
-         */
+        NodeNetworkBlueprint<Solution_> blueprint = lastBlueprint;
+        boolean blueprintReused = blueprint != null && blueprint.activeConstraintList().equals(activeConstraintList);
+        Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet;
+        List<BavetAbstractConstraintStream<Solution_>> reversedConstraintStreamList;
+        if (blueprintReused) {
+            constraintStreamSet = blueprint.constraintStreamSet();
+            reversedConstraintStreamList = blueprint.reversedConstraintStreamList();
+        } else {
+            /*
+             * Relies on BavetConstraintFactory#share(Stream_) occurring for all constraint stream instances
+             * to ensure there are no 2 equal ConstraintStream instances (with different child stream lists).
+             */
+            constraintStreamSet = new LinkedHashSet<>();
+            for (BavetConstraint<Solution_> constraint : activeConstraintList) {
+                constraint.collectActiveConstraintStreams(constraintStreamSet);
+            }
+            /*
+             * Build constraintStreamSet in reverse order to create downstream nodes first
+             * so every node only has final variables (some of which have downstream node method references).
+             */
+            reversedConstraintStreamList = new ArrayList<>(constraintStreamSet);
+            Collections.reverse(reversedConstraintStreamList);
+        }
         NodeBuildHelper<Score_> buildHelper = new NodeBuildHelper<>(constraintStreamSet, scoreInliner);
-        List<BavetAbstractConstraintStream<Solution_>> reversedConstraintStreamList = new ArrayList<>(constraintStreamSet);
-        Collections.reverse(reversedConstraintStreamList);
         for (BavetAbstractConstraintStream<Solution_> constraintStream : reversedConstraintStreamList) {
             constraintStream.buildNode(buildHelper);
         }
         List<AbstractNode> nodeList = buildHelper.destroyAndGetNodeList();
+        // Nodes are built deterministically, so the same streams always result in the same list of nodes.
+        long[] layerIndexes = blueprintReused ? blueprint.layerIndexes() : new long[nodeList.size()];
         Map<Class<?>, List<AbstractForEachUniNode<Object>>> declaredClassToNodeMap = new LinkedHashMap<>();
-        long nextNodeId = 0;
+        int nodeIndex = 0;
         for (AbstractNode node : nodeList) {
             /*
              * Nodes are iterated first to last, starting with forEach(), the ultimate parent.
              * Parents are guaranteed to come before children.
              */
-            node.setId(nextNodeId++);
-            node.setLayerIndex(determineLayerIndex(node, buildHelper));
+            node.setId(nodeIndex);
+            if (!blueprintReused) {
+                layerIndexes[nodeIndex] = determineLayerIndex(node, buildHelper);
+            }
+            node.setLayerIndex(layerIndexes[nodeIndex]);
+            nodeIndex++;
             if (node instanceof AbstractForEachUniNode<?> forEachUniNode) {
                 Class<?> forEachClass = forEachUniNode.getForEachClass();
                 List<AbstractForEachUniNode<Object>> forEachUniNodeList =
@@ -104,10 +139,17 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
                 forEachUniNodeList.add((AbstractForEachUniNode<Object>) forEachUniNode);
             }
         }
+        if (!blueprintReused) {
+            lastBlueprint = new NodeNetworkBlueprint<>(activeConstraintList, constraintStreamSet,
+                    reversedConstraintStreamList, layerIndexes);
+        }
         SortedMap<Long, List<Propagator>> layerMap = new TreeMap<>();
+        List<Propagator> propagatorList = new ArrayList<>(nodeList.size());
         for (AbstractNode node : nodeList) {
+            Propagator propagator = profilingEnabled ? new ProfilingPropagator(node.getPropagator()) : node.getPropagator();
+            propagatorList.add(propagator);
             layerMap.computeIfAbsent(node.getLayerIndex(), k -> new ArrayList<>())
-                    .add(node.getPropagator());
+                    .add(propagator);
         }
         int layerCount = layerMap.size();
         Propagator[][] layeredNodes = new Propagator[layerCount][];
@@ -115,7 +157,39 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
             List<Propagator> layer = layerMap.get((long) i);
             layeredNodes[i] = layer.toArray(new Propagator[0]);
         }
-        return new BavetConstraintSession<>(scoreInliner, declaredClassToNodeMap, layeredNodes);
+        return new BavetConstraintSession<>(scoreInliner, declaredClassToNodeMap, layeredNodes, buildHelper.getScorerList(),
+                () -> BavetNodeNetwork.describe(nodeList, propagatorList, buildHelper, activeConstraintList));
+    }
+
+    /**
+     * @param workingSolution may be null if no constraint weight is configurable
+     * @return never null, the weight of every constraint which does not have a zero weight
+     */
+    private Map<Constraint, Score_> extractActiveConstraintWeightMap(Solution_ workingSolution) {
+        ScoreDefinition<Score_> scoreDefinition = solutionDescriptor.getScoreDefinition();
+        Score_ zeroScore = scoreDefinition.getZeroScore();
+        Map<Constraint, Score_> constraintWeightMap = new HashMap<>(constraintList.size());
+        for (BavetConstraint<Solution_> constraint : constraintList) {
+            Score_ constraintWeight = constraint.extractConstraintWeight(workingSolution);
+            // Filter out nodes that only lead to constraints with zero weight.
+            if (!constraintWeight.equals(zeroScore)) {
+                constraintWeightMap.put(constraint, constraintWeight);
+            }
+        }
+        return constraintWeightMap;
+    }
+
+    /**
+     * Brings the constraint weights of an existing session up to date with the working solution,
+     * without rebuilding its node network.
+     *
+     * @param session never null, built by this factory
+     * @param workingSolution never null
+     * @return false if the session could not be updated, because constraints were enabled or disabled;
+     *         a new session needs to be built in that case
+     */
+    public boolean updateConstraintWeights(BavetConstraintSession<Score_> session, Solution_ workingSolution) {
+        return session.updateConstraintWeights(extractActiveConstraintWeightMap(workingSolution));
     }
 
     /**
@@ -161,4 +235,19 @@ public final class BavetConstraintSessionFactory<Solution_, Score_ extends Score
         return Math.max(leftParentNode.getLayerIndex(), rightParentNode.getLayerIndex()) + 1;
     }
 
+    /**
+     * The parts of the node network which do not depend on the working solution of a session.
+     * The nodes themselves hold the tuples of the session, and are therefore built anew for every session.
+     *
+     * @param activeConstraintList never null, the constraints with a non-zero weight
+     * @param constraintStreamSet never null, the streams of those constraints
+     * @param reversedConstraintStreamList never null, the same streams, downstream streams first
+     * @param layerIndexes never null, the layer index of each node, by node id; never modified
+     */
+    private record NodeNetworkBlueprint<Solution_>(List<BavetConstraint<Solution_>> activeConstraintList,
+            Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet,
+            List<BavetAbstractConstraintStream<Solution_>> reversedConstraintStreamList, long[] layerIndexes) {
+
+    }
+
 }
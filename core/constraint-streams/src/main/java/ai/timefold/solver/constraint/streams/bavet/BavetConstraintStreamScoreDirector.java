@@ -5,7 +5,9 @@ import java.util.Map;
 import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
 import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
 import ai.timefold.solver.core.api.score.constraint.Indictment;
 import ai.timefold.solver.core.api.score.director.ScoreDirector;
 import ai.timefold.solver.core.impl.domain.entity.descriptor.EntityDescriptor;
@@ -73,6 +75,15 @@ public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends
         return session.getIndictmentMap();
     }
 
+    @Override
+    public Map<ConstraintRef, ConstraintAnalysis<Score_>> getShallowConstraintAnalysisMap() {
+        if (workingSolution == null) {
+            throw new IllegalStateException(
+                    "The method setWorkingSolution() must be called before the method getShallowConstraintAnalysisMap().");
+        }
+        return session.getShallowConstraintAnalysisMap();
+    }
+
     @Override
     public boolean requiresFlushing() {
         return true; // Tuple refresh happens during score calculation.
@@ -146,6 +157,11 @@ public final class BavetConstraintStreamScoreDirector<Solution_, Score_ extends
     @Override
     public void afterProblemPropertyChanged(Object problemFactOrEntity) {
         session.update(problemFactOrEntity);
+        if (isConstraintConfiguration(problemFactOrEntity)
+                && scoreDirectorFactory.updateConstraintWeights(session, workingSolution)) {
+            // The weights were updated in place; no need to rebuild the session as the superclass would.
+            return;
+        }
         super.afterProblemPropertyChanged(problemFactOrEntity);
     }
 
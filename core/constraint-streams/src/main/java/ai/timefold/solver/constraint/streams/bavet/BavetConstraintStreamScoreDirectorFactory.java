@@ -36,6 +36,16 @@ public final class BavetConstraintStreamScoreDirectorFactory<Solution_, Score_ e
         return constraintSessionFactory.buildSession(constraintMatchEnabled, workingSolution);
     }
 
+    /**
+     * @param session never null, built by {@link #newSession(boolean, Object)}
+     * @param workingSolution never null
+     * @return false if a new session is required, because constraints were enabled or disabled
+     * @see BavetConstraintSessionFactory#updateConstraintWeights(BavetConstraintSession, Object)
+     */
+    public boolean updateConstraintWeights(BavetConstraintSession<Score_> session, Solution_ workingSolution) {
+        return constraintSessionFactory.updateConstraintWeights(session, workingSolution);
+    }
+
     @Override
     public AbstractScoreInliner<Score_> fireAndForget(Object... facts) {
         BavetConstraintSession<Score_> session = newSession(true, null);
@@ -0,0 +1,31 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+/**
+ * A join whose output feeds another join, and which holds more tuples than that next join produces.
+ * In a chain such as {@code forEach(A).join(B).join(C)},
+ * every (A, B) pair is materialized, even the ones for which no matching C exists.
+ * If the chain can be written in a different order, for example by joining with C first,
+ * or if a joiner or filter of the next join can be moved into this one,
+ * fewer intermediate tuples need to be kept up to date.
+ *
+ * @param intermediateJoin never null
+ * @param nextJoin never null, the join which takes the intermediate join as its left parent
+ * @see BavetNodeNetwork#findIntermediateJoinList()
+ */
+public record BavetIntermediateJoin(BavetNodeDescriptor intermediateJoin, BavetNodeDescriptor nextJoin) {
+
+    /**
+     * @return how many times more tuples the intermediate join holds than the next join; at least 1.0
+     */
+    public double reductionFactor() {
+        return intermediateJoin.tupleCount() / (double) Math.max(1, nextJoin.tupleCount());
+    }
+
+    @Override
+    public String toString() {
+        return intermediateJoin.nodeType() + "-" + intermediateJoin.id() + " holds " + intermediateJoin.tupleCount()
+                + " tuples, but " + nextJoin.nodeType() + "-" + nextJoin.id() + " only produces " + nextJoin.tupleCount()
+                + " (shared by " + intermediateJoin.constraintRefList() + ")";
+    }
+
+}
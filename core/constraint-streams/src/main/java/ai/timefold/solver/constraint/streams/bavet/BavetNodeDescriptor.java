@@ -0,0 +1,52 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
+
+/**
+ * A snapshot of a single node in the node network of a {@link BavetConstraintSession}.
+ *
+ * @param id unique within the session; parents always have a lower id than their children
+ * @param nodeType simple name of the node class, such as {@code IndexedJoinBiNode}
+ * @param layerIndex at least 0; see {@link ai.timefold.solver.constraint.streams.bavet.common.Propagator}
+ * @param parentNodeIdList never null, empty for forEach nodes, two elements for joins, ifExists and concat
+ * @param constraintRefList never null, the constraints which share this node
+ * @param tupleCount number of tuples currently propagated by this node to its children
+ * @param childNodeCount number of node inputs fed by this node; a self-join counts twice
+ * @param estimatedCost {@code tupleCount * max(1, childNodeCount)};
+ *        every tuple of this node is visited by every child whenever it changes
+ * @param insertCount number of tuples inserted into the children since the session was created
+ * @param updateCount number of tuples updated in the children since the session was created
+ * @param retractCount number of tuples retracted from the children since the session was created
+ * @param propagationNanos time spent propagating tuples to the children since the session was created;
+ *        always 0 unless profiling is enabled, see {@link BavetConstraintSession#describeNodeNetwork()}
+ * @param estimatedRetainedBytes approximate heap taken up by the tuples of this node and the structures tracking them,
+ *        including its indexers; estimated from the tuple counts, not measured,
+ *        and excluding the facts, the index keys and the result containers of collectors
+ * @param estimatedIndexBytes the part of {@code estimatedRetainedBytes} taken up by the indexers;
+ *        always 0 unless this is a join or an ifExists node
+ */
+public record BavetNodeDescriptor(long id, String nodeType, long layerIndex, List<Long> parentNodeIdList,
+        List<ConstraintRef> constraintRefList, int tupleCount, int childNodeCount, long estimatedCost,
+        long insertCount, long updateCount, long retractCount, long propagationNanos, long estimatedRetainedBytes,
+        long estimatedIndexBytes) {
+
+    /**
+     * @return number of constraints which share this node
+     */
+    public int sharingCount() {
+        return constraintRefList.size();
+    }
+
+    @Override
+    public String toString() {
+        return nodeType + "-" + id + "@" + layerIndex + " (parents: " + parentNodeIdList
+                + ", tuples: " + tupleCount + ", estimated cost: " + estimatedCost
+                + ", inserts/updates/retracts: " + insertCount + "/" + updateCount + "/" + retractCount
+                + ", propagation time: " + (propagationNanos / 1_000) + " us"
+                + ", estimated heap: " + (estimatedRetainedBytes / 1_024) + " KiB"
+                + ", shared by " + sharingCount() + " constraints: " + constraintRefList + ")";
+    }
+
+}
@@ -0,0 +1,258 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractJoinNode;
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractNode;
+import ai.timefold.solver.constraint.streams.bavet.common.BavetAbstractConstraintStream;
+import ai.timefold.solver.constraint.streams.bavet.common.BavetStreamBinaryOperation;
+import ai.timefold.solver.constraint.streams.bavet.common.NodeBuildHelper;
+import ai.timefold.solver.constraint.streams.bavet.common.ProfilingPropagator;
+import ai.timefold.solver.constraint.streams.bavet.common.Propagator;
+import ai.timefold.solver.constraint.streams.bavet.uni.AbstractForEachUniNode;
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
+
+/**
+ * A snapshot of the node network of a {@link BavetConstraintSession},
+ * as built by {@link NodeBuildHelper}.
+ * Use it to find out which constraints share which nodes,
+ * and which nodes hold the most tuples.
+ * <p>
+ * Nodes are only shared if the constraint streams which create them are equal,
+ * which for most streams means that they were given the very same lambda instances.
+ * Two lambdas with identical code are still different instances,
+ * and therefore prevent node sharing.
+ * See {@link #findUnsharedNodeGroupList()} for the likely suspects.
+ * <p>
+ * Joins are built in the order in which they are written,
+ * so the tuple counts, which reflect the working solution, also show how well a chain of joins is ordered.
+ * See {@link #findIntermediateJoinList()}.
+ *
+ * @see BavetConstraintSession#describeNodeNetwork()
+ */
+public final class BavetNodeNetwork {
+
+    static final BavetNodeNetwork EMPTY = new BavetNodeNetwork(Collections.emptyList(), Collections.emptySet());
+
+    static <Solution_> BavetNodeNetwork describe(List<AbstractNode> nodeList, List<Propagator> propagatorList,
+            NodeBuildHelper<?> buildHelper, Collection<BavetConstraint<Solution_>> constraints) {
+        Map<BavetAbstractConstraintStream<?>, List<ConstraintRef>> streamToConstraintRefListMap = new HashMap<>();
+        for (BavetConstraint<Solution_> constraint : constraints) {
+            Set<BavetAbstractConstraintStream<Solution_>> constraintStreamSet = new LinkedHashSet<>();
+            constraint.collectActiveConstraintStreams(constraintStreamSet);
+            for (BavetAbstractConstraintStream<Solution_> stream : constraintStreamSet) {
+                streamToConstraintRefListMap.computeIfAbsent(stream, k -> new ArrayList<>())
+                        .add(constraint.getConstraintRef());
+            }
+        }
+        Map<AbstractNode, List<Long>> parentNodeIdListMap = new LinkedHashMap<>(nodeList.size());
+        Map<Long, Integer> childNodeCountMap = new HashMap<>(nodeList.size());
+        for (AbstractNode node : nodeList) {
+            List<Long> parentNodeIdList = findParentNodeIdList(node, buildHelper);
+            parentNodeIdListMap.put(node, parentNodeIdList);
+            for (Long parentNodeId : parentNodeIdList) {
+                childNodeCountMap.merge(parentNodeId, 1, Integer::sum);
+            }
+        }
+        List<BavetNodeDescriptor> nodeDescriptorList = new ArrayList<>(nodeList.size());
+        Map<Long, Integer> tupleCountMap = new HashMap<>(nodeList.size());
+        Set<Long> joinNodeIdSet = new HashSet<>();
+        int nodeIndex = 0;
+        for (var entry : parentNodeIdListMap.entrySet()) {
+            AbstractNode node = entry.getKey();
+            if (node instanceof AbstractJoinNode<?, ?, ?>) {
+                joinNodeIdSet.add(node.getId());
+            }
+            Propagator propagator = propagatorList.get(nodeIndex++);
+            List<ConstraintRef> constraintRefList =
+                    streamToConstraintRefListMap.getOrDefault(buildHelper.getNodeCreatingStream(node),
+                            Collections.emptyList());
+            int tupleCount = propagator.getPropagatedTupleCount();
+            tupleCountMap.put(node.getId(), tupleCount);
+            int childNodeCount = childNodeCountMap.getOrDefault(node.getId(), 0);
+            // Parents come before their children, so their tuple counts are already known.
+            List<Long> parentNodeIdList = entry.getValue();
+            long leftInputTupleCount = parentNodeIdList.isEmpty() ? 0L : tupleCountMap.get(parentNodeIdList.get(0));
+            long rightInputTupleCount = parentNodeIdList.size() < 2 ? 0L : tupleCountMap.get(parentNodeIdList.get(1));
+            int tupleArity = MemoryFootprintEstimator.determineTupleArity(buildHelper.getNodeCreatingStream(node));
+            long propagationNanos =
+                    propagator instanceof ProfilingPropagator profilingPropagator ? profilingPropagator.getPropagationNanos()
+                            : 0L;
+            nodeDescriptorList.add(new BavetNodeDescriptor(node.getId(), node.getClass().getSimpleName(),
+                    node.getLayerIndex(), parentNodeIdList, Collections.unmodifiableList(constraintRefList), tupleCount,
+                    childNodeCount, (long) tupleCount * Math.max(1, childNodeCount), propagator.getInsertCount(),
+                    propagator.getUpdateCount(), propagator.getRetractCount(), propagationNanos,
+                    MemoryFootprintEstimator.estimateRetainedBytes(node, tupleArity, tupleCount, leftInputTupleCount,
+                            rightInputTupleCount),
+                    MemoryFootprintEstimator.estimateIndexBytes(node, leftInputTupleCount, rightInputTupleCount)));
+        }
+        return new BavetNodeNetwork(nodeDescriptorList, joinNodeIdSet);
+    }
+
+    private static List<Long> findParentNodeIdList(AbstractNode node, NodeBuildHelper<?> buildHelper) {
+        if (node instanceof AbstractForEachUniNode<?>) {
+            return Collections.emptyList();
+        }
+        var nodeCreator = buildHelper.getNodeCreatingStream(node);
+        if (nodeCreator instanceof BavetStreamBinaryOperation<?> binaryOperation) {
+            return List.of(buildHelper.findParentNode(binaryOperation.getLeftParent()).getId(),
+                    buildHelper.findParentNode(binaryOperation.getRightParent()).getId());
+        }
+        return List.of(buildHelper.findParentNode(nodeCreator.getParent()).getId());
+    }
+
+    private final List<BavetNodeDescriptor> nodeDescriptorList;
+    private final Set<Long> joinNodeIdSet;
+
+    private BavetNodeNetwork(List<BavetNodeDescriptor> nodeDescriptorList, Set<Long> joinNodeIdSet) {
+        this.nodeDescriptorList = Collections.unmodifiableList(nodeDescriptorList);
+        this.joinNodeIdSet = joinNodeIdSet;
+    }
+
+    /**
+     * @return never null, parents come before their children
+     */
+    public List<BavetNodeDescriptor> getNodeDescriptorList() {
+        return nodeDescriptorList;
+    }
+
+    /**
+     * Finds groups of nodes of the same type with the same parents.
+     * Such nodes would have been shared if the streams that created them were equal;
+     * typically they differ only in their lambdas (joiners, mappings, collectors, ...).
+     * If those lambdas are in fact identical,
+     * extract them into a field or a method reference shared by the constraints,
+     * so that the nodes, and every node downstream of them, can be shared.
+     *
+     * @return never null; each group has at least two nodes
+     */
+    public List<List<BavetNodeDescriptor>> findUnsharedNodeGroupList() {
+        Map<List<Object>, List<BavetNodeDescriptor>> groupMap = new LinkedHashMap<>();
+        for (BavetNodeDescriptor nodeDescriptor : nodeDescriptorList) {
+            if (nodeDescriptor.parentNodeIdList().isEmpty()) { // ForEach nodes differ by class, not by lambdas.
+                continue;
+            }
+            groupMap.computeIfAbsent(List.of(nodeDescriptor.nodeType(), nodeDescriptor.parentNodeIdList()),
+                    k -> new ArrayList<>())
+                    .add(nodeDescriptor);
+        }
+        return groupMap.values().stream()
+                .filter(group -> group.size() > 1)
+                .toList();
+    }
+
+    /**
+     * Finds joins which feed another join and hold more tuples than that next join produces.
+     * Bavet does not reorder joins by itself:
+     * joiners and filters are arbitrary functions of the entire tuple,
+     * so it can not know which of the joined facts a later joiner actually depends on.
+     * The constraint author can, and these are the chains where a different order, or an earlier joiner,
+     * would keep fewer intermediate tuples up to date.
+     *
+     * @return never null, the largest reduction first
+     */
+    public List<BavetIntermediateJoin> findIntermediateJoinList() {
+        Map<Long, BavetNodeDescriptor> nodeDescriptorMap = new HashMap<>(nodeDescriptorList.size());
+        for (BavetNodeDescriptor nodeDescriptor : nodeDescriptorList) {
+            nodeDescriptorMap.put(nodeDescriptor.id(), nodeDescriptor);
+        }
+        List<BavetIntermediateJoin> intermediateJoinList = new ArrayList<>();
+        for (BavetNodeDescriptor nodeDescriptor : nodeDescriptorList) {
+            if (!joinNodeIdSet.contains(nodeDescriptor.id())) {
+                continue;
+            }
+            long leftParentId = nodeDescriptor.parentNodeIdList().get(0);
+            if (!joinNodeIdSet.contains(leftParentId)) {
+                continue;
+            }
+            BavetNodeDescriptor leftParent = nodeDescriptorMap.get(leftParentId);
+            if (leftParent.tupleCount() > nodeDescriptor.tupleCount()) {
+                intermediateJoinList.add(new BavetIntermediateJoin(leftParent, nodeDescriptor));
+            }
+        }
+        intermediateJoinList.sort(Comparator.comparingDouble(BavetIntermediateJoin::reductionFactor).reversed());
+        return intermediateJoinList;
+    }
+
+    /**
+     * The heap retained by the whole node network, without counting shared nodes twice.
+     * This is an estimate from the tuple counts; see {@link BavetNodeDescriptor#estimatedRetainedBytes()}.
+     *
+     * @return at least 0, in bytes
+     */
+    public long getEstimatedRetainedBytes() {
+        return nodeDescriptorList.stream()
+                .mapToLong(BavetNodeDescriptor::estimatedRetainedBytes)
+                .sum();
+    }
+
+    /**
+     * Sums up the statistics of the nodes of each constraint,
+     * to find out which constraints are the most expensive to keep up to date.
+     * Propagation time is only measured if profiling is enabled,
+     * see {@link BavetConstraintSession#describeNodeNetwork()};
+     * without it, the constraints are ranked by the number of tuples they propagated.
+     *
+     * @return never null, the most expensive constraint first
+     */
+    public List<BavetConstraintProfile> getConstraintProfileList() {
+        Map<ConstraintRef, BavetConstraintProfile> constraintProfileMap = new LinkedHashMap<>();
+        for (BavetNodeDescriptor nodeDescriptor : nodeDescriptorList) {
+            for (ConstraintRef constraintRef : nodeDescriptor.constraintRefList()) {
+                BavetConstraintProfile constraintProfile = constraintProfileMap.get(constraintRef);
+                if (constraintProfile == null) {
+                    constraintProfile = new BavetConstraintProfile(constraintRef, 0, 0, 0L, 0L, 0L, 0L, 0L);
+                }
+                constraintProfileMap.put(constraintRef, constraintProfile.add(nodeDescriptor));
+            }
+        }
+        return constraintProfileMap.values().stream()
+                .sorted(Comparator.comparingLong(BavetConstraintProfile::propagationNanos)
+                        .thenComparingLong(profile -> profile.insertCount() + profile.updateCount()
+                                + profile.retractCount())
+                        .reversed())
+                .toList();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Node network with ")
+                .append(nodeDescriptorList.size()).append(" nodes, retaining an estimated ")
+                .append(getEstimatedRetainedBytes() / 1_024).append(" KiB:\n");
+        for (BavetNodeDescriptor nodeDescriptor : nodeDescriptorList) {
+            builder.append("    ").append(nodeDescriptor).append("\n");
+        }
+        builder.append("Constraints, most expensive first:\n");
+        for (BavetConstraintProfile constraintProfile : getConstraintProfileList()) {
+            builder.append("    ").append(constraintProfile).append("\n");
+        }
+        List<BavetIntermediateJoin> intermediateJoinList = findIntermediateJoinList();
+        if (!intermediateJoinList.isEmpty()) {
+            builder.append("Joins which hold more tuples than the next join produces:\n");
+            for (BavetIntermediateJoin intermediateJoin : intermediateJoinList) {
+                builder.append("    ").append(intermediateJoin).append("\n");
+            }
+        }
+        List<List<BavetNodeDescriptor>> unsharedNodeGroupList = findUnsharedNodeGroupList();
+        if (!unsharedNodeGroupList.isEmpty()) {
+            builder.append("Nodes of the same type with the same parents, which were not shared:\n");
+            for (List<BavetNodeDescriptor> group : unsharedNodeGroupList) {
+                builder.append("    ")
+                        .append(group.stream().map(n -> n.nodeType() + "-" + n.id()).toList())
+                        .append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+}
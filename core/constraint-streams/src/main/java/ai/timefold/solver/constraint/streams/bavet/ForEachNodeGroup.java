@@ -0,0 +1,63 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ai.timefold.solver.constraint.streams.bavet.uni.AbstractForEachUniNode;
+
+/**
+ * The forEach nodes of a single declared class (at most two, see {@link AbstractForEachUniNode}),
+ * together with the fact handles they share.
+ * Handles are dense: a handle released by a retracted fact is given to the next inserted fact,
+ * so that the tuple arrays of the nodes do not grow beyond the number of facts they ever held at once.
+ */
+final class ForEachNodeGroup {
+
+    private final AbstractForEachUniNode<Object>[] nodes;
+    private int nextHandle = 0;
+    private int[] releasedHandles = new int[16];
+    private int releasedHandleCount = 0;
+
+    ForEachNodeGroup(List<AbstractForEachUniNode<Object>> nodeList) {
+        this.nodes = nodeList.toArray(AbstractForEachUniNode[]::new);
+    }
+
+    int acquireHandle() {
+        if (releasedHandleCount > 0) {
+            return releasedHandles[--releasedHandleCount];
+        }
+        return nextHandle++;
+    }
+
+    void releaseHandle(int handle) {
+        if (releasedHandleCount == releasedHandles.length) {
+            releasedHandles = Arrays.copyOf(releasedHandles, releasedHandleCount * 2);
+        }
+        releasedHandles[releasedHandleCount++] = handle;
+    }
+
+    void insert(Object fact, int handle) {
+        for (var node : nodes) {
+            node.insert(fact, handle);
+        }
+    }
+
+    void update(Object fact, int handle) {
+        for (var node : nodes) {
+            node.update(fact, handle);
+        }
+    }
+
+    void abortInsert(int handle) {
+        for (var node : nodes) {
+            node.abortInsert(handle);
+        }
+    }
+
+    void retract(Object fact, int handle) {
+        for (var node : nodes) {
+            node.retract(fact, handle);
+        }
+    }
+
+}
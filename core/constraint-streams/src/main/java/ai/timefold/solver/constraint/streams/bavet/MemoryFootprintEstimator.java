@@ -0,0 +1,109 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import ai.timefold.solver.constraint.streams.bavet.bi.BavetAbstractBiConstraintStream;
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractGroupNode;
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractIfExistsNode;
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractJoinNode;
+import ai.timefold.solver.constraint.streams.bavet.common.AbstractNode;
+import ai.timefold.solver.constraint.streams.bavet.common.BavetAbstractConstraintStream;
+import ai.timefold.solver.constraint.streams.bavet.tri.BavetAbstractTriConstraintStream;
+import ai.timefold.solver.constraint.streams.bavet.uni.BavetAbstractUniConstraintStream;
+
+/**
+ * Estimates the heap retained by a node from the number of tuples it holds,
+ * without walking the heap.
+ * Every instance a node allocates per tuple is accounted for with its shallow size,
+ * assuming a 64-bit JVM with compressed object pointers:
+ * a 12 byte object header, 4 byte references and sizes aligned to 8 bytes.
+ * <p>
+ * Not included are the facts themselves, which belong to the working solution,
+ * the keys and maps of the indexers, which depend on how many distinct keys there are,
+ * the result containers of collectors, which depend on the collector,
+ * and the undo actions which groupBy keeps for every input tuple, which also depend on the collector.
+ * The estimates are therefore lower bounds,
+ * meant to compare nodes and constraints with each other, not to predict the heap size.
+ */
+final class MemoryFootprintEstimator {
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int REFERENCE_BYTES = 4;
+    // The list, the element and the previous and next entries.
+    static final long LIST_ENTRY_BYTES = align(OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES);
+    // The first and last entries, the shared iterator and the size.
+    static final long LIST_BYTES = align(OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES);
+    // The position in the dirty list, the left tuple, its state and the right count.
+    static final long EXISTS_COUNTER_BYTES = align(OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES);
+    // Five own fields (the group key, the result container, the tuple, the parent count and the hash),
+    // the position in the dirty list inherited from AbstractPropagationMetadataCarrier,
+    // and two slots in the group table, which is at most half full.
+    static final long GROUP_BYTES = align(OBJECT_HEADER_BYTES + (5 + 1) * REFERENCE_BYTES) + 2 * REFERENCE_BYTES;
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @param arity number of facts in the tuple, 1 to 4
+     * @return the shallow size of a tuple,
+     *         without the store array which a tuple only has if more than one node stores data on it
+     */
+    static long tupleBytes(int arity) {
+        // The store-is-array flag, the store and the state, followed by the facts.
+        return align(OBJECT_HEADER_BYTES + 1 + (2 + arity) * REFERENCE_BYTES);
+    }
+
+    static int determineTupleArity(BavetAbstractConstraintStream<?> nodeCreatingStream) {
+        if (nodeCreatingStream instanceof BavetAbstractUniConstraintStream<?, ?>) {
+            return 1;
+        } else if (nodeCreatingStream instanceof BavetAbstractBiConstraintStream<?, ?, ?>) {
+            return 2;
+        } else if (nodeCreatingStream instanceof BavetAbstractTriConstraintStream<?, ?, ?, ?>) {
+            return 3;
+        } else {
+            return 4;
+        }
+    }
+
+    /**
+     * @param node never null
+     * @param leftInputTupleCount number of tuples the node receives from its only or its left parent
+     * @param rightInputTupleCount number of tuples the node receives from its right parent, 0 if it has none
+     * @return at least 0, in bytes; the part of the retained heap taken up by the indexers of a join or ifExists node
+     */
+    static long estimateIndexBytes(AbstractNode node, long leftInputTupleCount, long rightInputTupleCount) {
+        if (node instanceof AbstractJoinNode<?, ?, ?> || node instanceof AbstractIfExistsNode<?, ?>) {
+            // Every input tuple is put into the indexer of its side.
+            return (leftInputTupleCount + rightInputTupleCount) * LIST_ENTRY_BYTES;
+        }
+        return 0L;
+    }
+
+    /**
+     * @param node never null
+     * @param tupleArity number of facts in the tuples the node propagates
+     * @param tupleCount number of tuples the node propagates
+     * @param leftInputTupleCount number of tuples the node receives from its only or its left parent
+     * @param rightInputTupleCount number of tuples the node receives from its right parent, 0 if it has none
+     * @return at least 0, in bytes; includes {@link #estimateIndexBytes(AbstractNode, long, long)}
+     */
+    static long estimateRetainedBytes(AbstractNode node, int tupleArity, int tupleCount, long leftInputTupleCount,
+            long rightInputTupleCount) {
+        var indexBytes = estimateIndexBytes(node, leftInputTupleCount, rightInputTupleCount);
+        if (node instanceof AbstractJoinNode<?, ?, ?>) {
+            // Every input tuple tracks its out tuples, and every out tuple is in the lists of both of its parents.
+            return indexBytes + (leftInputTupleCount + rightInputTupleCount) * LIST_BYTES
+                    + tupleCount * (tupleBytes(tupleArity) + 2 * LIST_ENTRY_BYTES);
+        } else if (node instanceof AbstractIfExistsNode<?, ?>) {
+            // The left tuples are propagated as they are, but each of them is counted by a new counter.
+            return indexBytes + leftInputTupleCount * EXISTS_COUNTER_BYTES;
+        } else if (node instanceof AbstractGroupNode<?, ?, ?, ?, ?>) {
+            return tupleCount * (tupleBytes(tupleArity) + GROUP_BYTES);
+        } else {
+            return tupleCount * tupleBytes(tupleArity);
+        }
+    }
+
+    private MemoryFootprintEstimator() {
+    }
+
+}
@@ -25,6 +25,7 @@ final class BavetIfExistsBiConstraintStream<Solution_, A, B, C>
     private final boolean shouldExist;
     private final DefaultTriJoiner<A, B, C> joiner;
     private final TriPredicate<A, B, C> filtering;
+    private final IndexerFactory<C> indexerFactory;
 
     public BavetIfExistsBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractBiConstraintStream<Solution_, A, B> parentAB,
@@ -37,6 +38,7 @@ final class BavetIfExistsBiConstraintStream<Solution_, A, B, C>
         this.shouldExist = shouldExist;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -63,7 +65,6 @@ final class BavetIfExistsBiConstraintStream<Solution_, A, B, C>
     @Override
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<BiTuple<A, B>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<C> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? (filtering == null ? new IndexedIfExistsBiNode<>(shouldExist,
                         indexerFactory.buildBiLeftMapping(), indexerFactory.buildRightMapping(),
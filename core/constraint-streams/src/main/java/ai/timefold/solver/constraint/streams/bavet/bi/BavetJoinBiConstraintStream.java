@@ -22,6 +22,7 @@ public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbs
     private final BavetForeBridgeUniConstraintStream<Solution_, B> rightParent;
     private final DefaultBiJoiner<A, B> joiner;
     private final BiPredicate<A, B> filtering;
+    private final IndexerFactory<B> indexerFactory;
 
     public BavetJoinBiConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetForeBridgeUniConstraintStream<Solution_, A> leftParent,
@@ -32,6 +33,7 @@ public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbs
         this.rightParent = rightParent;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -54,7 +56,6 @@ public final class BavetJoinBiConstraintStream<Solution_, A, B> extends BavetAbs
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
         TupleLifecycle<BiTuple<A, B>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<B> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? new IndexedJoinBiNode<>(
                         indexerFactory.buildUniLeftMapping(), indexerFactory.buildRightMapping(),
@@ -72,9 +72,13 @@ final class BavetScoringBiConstraintStream<Solution_, A, B>
         var constraintMatchEnabled = buildHelper.getScoreInliner().isConstraintMatchEnabled();
         var scoreImpacter = constraintMatchEnabled ? buildScoreImpacterWithConstraintMatch() : buildScoreImpacter();
         var weightedScoreImpacter = buildHelper.getScoreInliner().buildWeightedScoreImpacter(constraint);
-        var scorer = new BiScorer<>(weightedScoreImpacter, scoreImpacter,
-                buildHelper.reserveTupleStoreIndex(parent.getTupleSource()));
-        buildHelper.putInsertUpdateRetract(this, scorer);
+        var inputStoreIndex = buildHelper.reserveTupleStoreIndex(parent.getTupleSource());
+        // The scored tuples are only tracked if the constraint weight can be updated.
+        var entryStoreIndex = constraint.isConstraintWeightConfigurable()
+                ? buildHelper.reserveTupleStoreIndex(parent.getTupleSource())
+                : -1;
+        var scorer = new BiScorer<>(weightedScoreImpacter, scoreImpacter, inputStoreIndex, entryStoreIndex);
+        buildHelper.putScorer(this, scorer);
     }
 
     private TriFunction<WeightedScoreImpacter<?, ?>, A, B, UndoScoreImpacter> buildScoreImpacter() {
@@ -11,8 +11,9 @@ final class BiScorer<A, B> extends AbstractScorer<BiTuple<A, B>> {
     private final TriFunction<WeightedScoreImpacter<?, ?>, A, B, UndoScoreImpacter> scoreImpacter;
 
     public BiScorer(WeightedScoreImpacter<?, ?> weightedScoreImpacter,
-            TriFunction<WeightedScoreImpacter<?, ?>, A, B, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(weightedScoreImpacter, inputStoreIndex);
+            TriFunction<WeightedScoreImpacter<?, ?>, A, B, UndoScoreImpacter> scoreImpacter, int inputStoreIndex,
+            int entryStoreIndex) {
+        super(weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
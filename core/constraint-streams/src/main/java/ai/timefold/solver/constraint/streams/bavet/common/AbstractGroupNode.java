@@ -1,7 +1,5 @@
 package ai.timefold.solver.constraint.streams.bavet.common;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -34,7 +32,7 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
     private final Function<ResultContainer_, Result_> finisher;
     /**
      * Some code paths may decide to not supply a grouping function.
-     * In that case, every tuple accumulates into {@link #singletonGroup} and not to {@link #groupMap}.
+     * In that case, every tuple accumulates into {@link #singletonGroup} and not to {@link #groupTable}.
      */
     private final boolean hasMultipleGroups;
     /**
@@ -45,11 +43,11 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
     /**
      * Used when {@link #hasMultipleGroups} is true, otherwise {@link #singletonGroup} is used.
      */
-    private final Map<Object, Group<OutTuple_, ResultContainer_>> groupMap;
+    private final GroupTable<OutTuple_, ResultContainer_> groupTable;
     /**
-     * Used when {@link #hasMultipleGroups} is false, otherwise {@link #groupMap} is used.
+     * Used when {@link #hasMultipleGroups} is false, otherwise {@link #groupTable} is used.
      *
-     * @implNote The field is lazy initialized in order to maintain the same semantics as with the groupMap above.
+     * @implNote The field is lazy initialized in order to maintain the same semantics as with the groupTable above.
      *           When all tuples are removed, the field will be set to null, as if the group never existed.
      */
     private Group<OutTuple_, ResultContainer_> singletonGroup;
@@ -67,12 +65,7 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
         this.finisher = finisher;
         this.hasMultipleGroups = groupKeyFunction != null;
         this.hasCollector = supplier != null;
-        /*
-         * Not using the default sizing to 1000.
-         * The number of groups can be very small, and that situation is not unlikely.
-         * Therefore, the size of these collections is kept default.
-         */
-        this.groupMap = hasMultipleGroups ? new HashMap<>() : null;
+        this.groupTable = hasMultipleGroups ? new GroupTable<>() : null;
         this.propagationQueue = hasCollector ? new DynamicPropagationQueue<>(nextNodesTupleLifecycle,
                 group -> {
                     var outTuple = group.getTuple();
@@ -126,13 +119,12 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
     }
 
     private Group<OutTuple_, ResultContainer_> getOrCreateGroup(GroupKey_ userSuppliedKey) {
-        var groupMapKey = useAssertingGroupKey ? new AssertingGroupKey(userSuppliedKey) : userSuppliedKey;
+        var groupTableKey = useAssertingGroupKey ? new AssertingGroupKey(userSuppliedKey) : userSuppliedKey;
         if (hasMultipleGroups) {
-            // Avoids computeIfAbsent in order to not create lambdas on the hot path.
-            var group = groupMap.get(groupMapKey);
+            var group = groupTable.get(groupTableKey);
             if (group == null) {
-                group = createGroupWithGroupKey(groupMapKey);
-                groupMap.put(groupMapKey, group);
+                group = createGroupWithGroupKey(groupTableKey);
+                groupTable.put(group);
             } else {
                 group.parentCount++;
             }
@@ -147,11 +139,11 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
         }
     }
 
-    private Group<OutTuple_, ResultContainer_> createGroupWithGroupKey(Object groupMapKey) {
-        var userSuppliedKey = extractUserSuppliedKey(groupMapKey);
+    private Group<OutTuple_, ResultContainer_> createGroupWithGroupKey(Object groupTableKey) {
+        var userSuppliedKey = extractUserSuppliedKey(groupTableKey);
         var outTuple = createOutTuple(userSuppliedKey);
-        var group = hasCollector ? Group.create(groupMapKey, supplier.get(), outTuple)
-                : Group.<OutTuple_, ResultContainer_> createWithoutAccumulate(groupMapKey, outTuple);
+        var group = hasCollector ? Group.create(groupTableKey, supplier.get(), outTuple)
+                : Group.<OutTuple_, ResultContainer_> createWithoutAccumulate(groupTableKey, outTuple);
         propagationQueue.insert(group);
         return group;
     }
@@ -167,8 +159,8 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
         return group;
     }
 
-    private GroupKey_ extractUserSuppliedKey(Object groupMapKey) {
-        return useAssertingGroupKey ? ((AssertingGroupKey) groupMapKey).getKey() : (GroupKey_) groupMapKey;
+    private GroupKey_ extractUserSuppliedKey(Object groupTableKey) {
+        return useAssertingGroupKey ? ((AssertingGroupKey) groupTableKey).getKey() : (GroupKey_) groupTableKey;
     }
 
     @Override
@@ -211,7 +203,7 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
             var oldGroup = removeGroup(groupKey);
             if (oldGroup == null) {
                 throw new IllegalStateException("Impossible state: the group for the groupKey ("
-                        + groupKey + ") doesn't exist in the groupMap.\n" +
+                        + groupKey + ") doesn't exist in the group table.\n" +
                         "Maybe groupKey hashcode changed while it shouldn't have?");
             }
         }
@@ -241,7 +233,7 @@ public abstract class AbstractGroupNode<InTuple_ extends AbstractTuple, OutTuple
 
     private Group<OutTuple_, ResultContainer_> removeGroup(Object groupKey) {
         if (hasMultipleGroups) {
-            return groupMap.remove(groupKey);
+            return groupTable.remove(groupKey);
         } else {
             var oldGroup = singletonGroup;
             singletonGroup = null;
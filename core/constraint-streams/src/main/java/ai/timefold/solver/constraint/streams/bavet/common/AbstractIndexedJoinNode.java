@@ -15,6 +15,19 @@ import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
 /**
  * There is a strong likelihood that any change to this class, which is not related to indexing,
  * should also be made to {@link AbstractUnindexedJoinNode}.
+ * <p>
+ * Inserted tuples are indexed immediately, but they are only matched with the other side
+ * when the node is about to propagate, or when another operation needs the matches to be complete.
+ * When a whole batch of tuples is inserted at once,
+ * such as when the working solution is set or a construction heuristic places many entities,
+ * the deferred tuples are grouped by their index properties,
+ * so that the other side is looked up only once for every distinct key instead of once for every tuple;
+ * see {@link DeferredTupleBatch}.
+ * Both sides may have deferred tuples at the same time, as is typical for a self-join.
+ * The deferred tuples of the left side are matched first, skipping the deferred tuples of the right side,
+ * which are told apart by their out tuple list not being set yet.
+ * The deferred tuples of the right side are then matched with all tuples of the left side,
+ * so that every pair is matched exactly once.
  *
  * @param <LeftTuple_>
  * @param <Right_>
@@ -33,6 +46,8 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
      */
     private final Indexer<LeftTuple_> indexerLeft;
     private final Indexer<UniTuple<Right_>> indexerRight;
+    private final DeferredTupleBatch<LeftTuple_> deferredLeftTupleBatch;
+    private final DeferredTupleBatch<UniTuple<Right_>> deferredRightTupleBatch;
 
     protected AbstractIndexedJoinNode(Function<Right_, IndexProperties> mappingRight, int inputStoreIndexLeftProperties,
             int inputStoreIndexLeftEntry, int inputStoreIndexLeftOutTupleList, int inputStoreIndexRightProperties,
@@ -48,6 +63,8 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
         this.inputStoreIndexRightEntry = inputStoreIndexRightEntry;
         this.indexerLeft = indexerLeft;
         this.indexerRight = indexerRight;
+        this.deferredLeftTupleBatch = new DeferredTupleBatch<>(inputStoreIndexLeftProperties);
+        this.deferredRightTupleBatch = new DeferredTupleBatch<>(inputStoreIndexRightProperties);
     }
 
     @Override
@@ -57,14 +74,17 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
                     + ") was already added in the tupleStore.");
         }
         IndexProperties indexProperties = createIndexPropertiesLeft(leftTuple);
-
-        ElementAwareList<OutTuple_> outTupleListLeft = new ElementAwareList<>();
-        leftTuple.setStore(inputStoreIndexLeftOutTupleList, outTupleListLeft);
-        indexAndPropagateLeft(leftTuple, indexProperties);
+        // The out tuple list is only set when the deferred tuple is matched.
+        indexLeft(leftTuple, indexProperties);
+        if (deferredLeftTupleBatch.isEmpty() && deferredRightTupleBatch.isEmpty()) {
+            scheduleDeferredOutTuples();
+        }
+        deferredLeftTupleBatch.add(leftTuple);
     }
 
     @Override
     public final void updateLeft(LeftTuple_ leftTuple) {
+        insertDeferredOutTuples();
         IndexProperties oldIndexProperties = leftTuple.getStore(inputStoreIndexLeftProperties);
         if (oldIndexProperties == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
@@ -88,14 +108,19 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
     }
 
     private void indexAndPropagateLeft(LeftTuple_ leftTuple, IndexProperties indexProperties) {
+        indexLeft(leftTuple, indexProperties);
+        indexerRight.forEach(indexProperties, rightTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
+    }
+
+    private void indexLeft(LeftTuple_ leftTuple, IndexProperties indexProperties) {
         leftTuple.setStore(inputStoreIndexLeftProperties, indexProperties);
         ElementAwareListEntry<LeftTuple_> leftEntry = indexerLeft.put(indexProperties, leftTuple);
         leftTuple.setStore(inputStoreIndexLeftEntry, leftEntry);
-        indexerRight.forEach(indexProperties, rightTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
     }
 
     @Override
     public final void retractLeft(LeftTuple_ leftTuple) {
+        insertDeferredOutTuples();
         IndexProperties indexProperties = leftTuple.removeStore(inputStoreIndexLeftProperties);
         if (indexProperties == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
@@ -114,14 +139,17 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
                     + ") was already added in the tupleStore.");
         }
         IndexProperties indexProperties = mappingRight.apply(rightTuple.factA);
-
-        ElementAwareList<OutTuple_> outTupleListRight = new ElementAwareList<>();
-        rightTuple.setStore(inputStoreIndexRightOutTupleList, outTupleListRight);
-        indexAndPropagateRight(rightTuple, indexProperties);
+        // The out tuple list is only set when the deferred tuple is matched.
+        indexRight(rightTuple, indexProperties);
+        if (deferredLeftTupleBatch.isEmpty() && deferredRightTupleBatch.isEmpty()) {
+            scheduleDeferredOutTuples();
+        }
+        deferredRightTupleBatch.add(rightTuple);
     }
 
     @Override
     public final void updateRight(UniTuple<Right_> rightTuple) {
+        insertDeferredOutTuples();
         IndexProperties oldIndexProperties = rightTuple.getStore(inputStoreIndexRightProperties);
         if (oldIndexProperties == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
@@ -145,14 +173,19 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
     }
 
     private void indexAndPropagateRight(UniTuple<Right_> rightTuple, IndexProperties indexProperties) {
+        indexRight(rightTuple, indexProperties);
+        indexerLeft.forEach(indexProperties, leftTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
+    }
+
+    private void indexRight(UniTuple<Right_> rightTuple, IndexProperties indexProperties) {
         rightTuple.setStore(inputStoreIndexRightProperties, indexProperties);
         ElementAwareListEntry<UniTuple<Right_>> rightEntry = indexerRight.put(indexProperties, rightTuple);
         rightTuple.setStore(inputStoreIndexRightEntry, rightEntry);
-        indexerLeft.forEach(indexProperties, leftTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
     }
 
     @Override
     public final void retractRight(UniTuple<Right_> rightTuple) {
+        insertDeferredOutTuples();
         IndexProperties indexProperties = rightTuple.removeStore(inputStoreIndexRightProperties);
         if (indexProperties == null) {
             // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
@@ -164,6 +197,83 @@ public abstract class AbstractIndexedJoinNode<LeftTuple_ extends AbstractTuple,
         outTupleListRight.forEach(this::retractOutTuple);
     }
 
+    @Override
+    protected final void insertDeferredOutTuples() {
+        // Left first, as it skips the right tuples which are still deferred.
+        insertDeferredLeftOutTuples();
+        insertDeferredRightOutTuples();
+    }
+
+    private void insertDeferredLeftOutTuples() {
+        var batchSize = deferredLeftTupleBatch.size();
+        if (batchSize == 0) {
+            return;
+        }
+        for (var position = 0; position < batchSize; position++) {
+            deferredLeftTupleBatch.get(position).setStore(inputStoreIndexLeftOutTupleList,
+                    new ElementAwareList<OutTuple_>());
+        }
+        if (batchSize < DeferredTupleBatch.GROUPING_THRESHOLD) {
+            for (var position = 0; position < batchSize; position++) {
+                LeftTuple_ leftTuple = deferredLeftTupleBatch.get(position);
+                indexerRight.forEach(deferredLeftTupleBatch.getIndexProperties(position), rightTuple -> {
+                    if (!isDeferredRight(rightTuple)) {
+                        insertOutTupleFiltered(leftTuple, rightTuple);
+                    }
+                });
+            }
+        } else {
+            var groupCount = deferredLeftTupleBatch.group();
+            for (var group = 0; group < groupCount; group++) {
+                var firstPosition = deferredLeftTupleBatch.getFirstPosition(group);
+                indexerRight.forEach(deferredLeftTupleBatch.getIndexProperties(firstPosition), rightTuple -> {
+                    if (isDeferredRight(rightTuple)) {
+                        return;
+                    }
+                    for (var position = firstPosition; position >= 0;
+                            position = deferredLeftTupleBatch.getNextPosition(position)) {
+                        insertOutTupleFiltered(deferredLeftTupleBatch.get(position), rightTuple);
+                    }
+                });
+            }
+        }
+        deferredLeftTupleBatch.clear();
+    }
+
+    private boolean isDeferredRight(UniTuple<Right_> rightTuple) {
+        return rightTuple.getStore(inputStoreIndexRightOutTupleList) == null;
+    }
+
+    private void insertDeferredRightOutTuples() {
+        var batchSize = deferredRightTupleBatch.size();
+        if (batchSize == 0) {
+            return;
+        }
+        for (var position = 0; position < batchSize; position++) {
+            deferredRightTupleBatch.get(position).setStore(inputStoreIndexRightOutTupleList,
+                    new ElementAwareList<OutTuple_>());
+        }
+        if (batchSize < DeferredTupleBatch.GROUPING_THRESHOLD) {
+            for (var position = 0; position < batchSize; position++) {
+                UniTuple<Right_> rightTuple = deferredRightTupleBatch.get(position);
+                indexerLeft.forEach(deferredRightTupleBatch.getIndexProperties(position),
+                        leftTuple -> insertOutTupleFiltered(leftTuple, rightTuple));
+            }
+        } else {
+            var groupCount = deferredRightTupleBatch.group();
+            for (var group = 0; group < groupCount; group++) {
+                var firstPosition = deferredRightTupleBatch.getFirstPosition(group);
+                indexerLeft.forEach(deferredRightTupleBatch.getIndexProperties(firstPosition), leftTuple -> {
+                    for (var position = firstPosition; position >= 0;
+                            position = deferredRightTupleBatch.getNextPosition(position)) {
+                        insertOutTupleFiltered(leftTuple, deferredRightTupleBatch.get(position));
+                    }
+                });
+            }
+        }
+        deferredRightTupleBatch.clear();
+    }
+
     protected abstract IndexProperties createIndexPropertiesLeft(LeftTuple_ leftTuple);
 
 }
@@ -43,7 +43,22 @@ public abstract class AbstractJoinNode<LeftTuple_ extends AbstractTuple, Right_,
         this.isFiltering = isFiltering;
         this.outputStoreIndexLeftOutEntry = outputStoreIndexLeftOutEntry;
         this.outputStoreIndexRightOutEntry = outputStoreIndexRightOutEntry;
-        this.propagationQueue = new StaticPropagationQueue<>(nextNodesTupleLifecycle);
+        this.propagationQueue = new StaticPropagationQueue<>(nextNodesTupleLifecycle, this::insertDeferredOutTuples);
+    }
+
+    /**
+     * Called before this node propagates, after {@link #scheduleDeferredOutTuples()}.
+     * Creates the out tuples which the node deferred, if any.
+     */
+    protected void insertDeferredOutTuples() {
+        // Only the indexed join defers work.
+    }
+
+    /**
+     * Makes sure that {@link #insertDeferredOutTuples()} is called before the next propagation.
+     */
+    protected final void scheduleDeferredOutTuples() {
+        propagationQueue.scheduleDeferredWork();
     }
 
     protected abstract OutTuple_ createOutTuple(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple);
@@ -81,8 +96,8 @@ public abstract class AbstractJoinNode<LeftTuple_ extends AbstractTuple, Right_,
             }
         } else {
             rightTupleConsumer.accept(rightTuple -> {
-                ElementAwareList<OutTuple_> rightOutList = rightTuple.getStore(inputStoreIndexRightOutTupleList);
-                processOutTupleUpdate(leftTuple, rightTuple, rightOutList, outTupleListLeft, outputStoreIndexRightOutEntry);
+                ElementAwareList<OutTuple_> outTupleListRight = rightTuple.getStore(inputStoreIndexRightOutTupleList);
+                processOutTupleUpdate(leftTuple, rightTuple, outTupleListLeft, outTupleListRight);
             });
         }
     }
@@ -114,15 +129,15 @@ public abstract class AbstractJoinNode<LeftTuple_ extends AbstractTuple, Right_,
             }
         } else {
             leftTupleConsumer.accept(leftTuple -> {
-                ElementAwareList<OutTuple_> leftOutList = leftTuple.getStore(inputStoreIndexLeftOutTupleList);
-                processOutTupleUpdate(leftTuple, rightTuple, leftOutList, outTupleListRight, outputStoreIndexLeftOutEntry);
+                ElementAwareList<OutTuple_> outTupleListLeft = leftTuple.getStore(inputStoreIndexLeftOutTupleList);
+                processOutTupleUpdate(leftTuple, rightTuple, outTupleListLeft, outTupleListRight);
             });
         }
     }
 
-    private void processOutTupleUpdate(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple, ElementAwareList<OutTuple_> outList,
-            ElementAwareList<OutTuple_> outTupleList, int outputStoreIndexOutEntry) {
-        OutTuple_ outTuple = findOutTuple(outTupleList, outList, outputStoreIndexOutEntry);
+    private void processOutTupleUpdate(LeftTuple_ leftTuple, UniTuple<Right_> rightTuple,
+            ElementAwareList<OutTuple_> outTupleListLeft, ElementAwareList<OutTuple_> outTupleListRight) {
+        OutTuple_ outTuple = findOutTuple(outTupleListLeft, outTupleListRight);
         if (testFiltering(leftTuple, rightTuple)) {
             if (outTuple == null) {
                 insertOutTuple(leftTuple, rightTuple);
@@ -136,6 +151,20 @@ public abstract class AbstractJoinNode<LeftTuple_ extends AbstractTuple, Right_,
         }
     }
 
+    private OutTuple_ findOutTuple(ElementAwareList<OutTuple_> outTupleListLeft,
+            ElementAwareList<OutTuple_> outTupleListRight) {
+        /*
+         * The outTuple, if it exists, is in both lists; search the shorter one.
+         * The update of a tuple on one side searches once for every tuple it matches on the other side,
+         * so searching the long list of the updated tuple every time would make the update quadratic.
+         */
+        if (outTupleListLeft.size() <= outTupleListRight.size()) {
+            return findOutTuple(outTupleListLeft, outTupleListRight, outputStoreIndexRightOutEntry);
+        } else {
+            return findOutTuple(outTupleListRight, outTupleListLeft, outputStoreIndexLeftOutEntry);
+        }
+    }
+
     private OutTuple_ findOutTuple(ElementAwareList<OutTuple_> outTupleList, ElementAwareList<OutTuple_> outList,
             int outputStoreIndexOutEntry) {
         // Hack: the outTuple has no left/right input tuple reference, use the left/right outList reference instead.
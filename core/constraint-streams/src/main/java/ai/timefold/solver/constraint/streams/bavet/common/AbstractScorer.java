@@ -2,17 +2,60 @@ package ai.timefold.solver.constraint.streams.bavet.common;
 
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleLifecycle;
+import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.constraint.streams.common.inliner.UndoScoreImpacter;
 import ai.timefold.solver.constraint.streams.common.inliner.WeightedScoreImpacter;
+import ai.timefold.solver.core.impl.util.ElementAwareList;
+import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
 
 public abstract class AbstractScorer<Tuple_ extends AbstractTuple> implements TupleLifecycle<Tuple_> {
 
-    protected final WeightedScoreImpacter<?, ?> weightedScoreImpacter;
+    protected WeightedScoreImpacter<?, ?> weightedScoreImpacter;
     private final int inputStoreIndex;
+    /**
+     * Unused unless the constraint weight is configurable; see {@link #scoredTupleList}.
+     */
+    private final int entryStoreIndex;
+    /**
+     * Only the constraints with a configurable weight can have their weight changed while the solver is running,
+     * so only their scorers pay for keeping track of the tuples they scored.
+     * Null if the constraint weight is not configurable.
+     */
+    private final ElementAwareList<Tuple_> scoredTupleList;
 
-    protected AbstractScorer(WeightedScoreImpacter<?, ?> weightedScoreImpacter, int inputStoreIndex) {
+    /**
+     * @param weightedScoreImpacter never null
+     * @param inputStoreIndex the store of the undo of the impact of each tuple
+     * @param entryStoreIndex -1 if the constraint weight is not configurable,
+     *        otherwise the store of the {@link ElementAwareListEntry entry} of each tuple in the list of scored tuples
+     */
+    protected AbstractScorer(WeightedScoreImpacter<?, ?> weightedScoreImpacter, int inputStoreIndex, int entryStoreIndex) {
         this.weightedScoreImpacter = weightedScoreImpacter;
         this.inputStoreIndex = inputStoreIndex;
+        this.entryStoreIndex = entryStoreIndex;
+        this.scoredTupleList = entryStoreIndex < 0 ? null : new ElementAwareList<>();
+    }
+
+    public final AbstractConstraint<?, ?, ?> getConstraint() {
+        return weightedScoreImpacter.getContext().getConstraint();
+    }
+
+    /**
+     * Redoes the impact of every tuple scored so far, with the new constraint weight of the impacter.
+     *
+     * @param weightedScoreImpacter never null, built for the same constraint as the current one
+     */
+    public final void updateWeightedScoreImpacter(WeightedScoreImpacter<?, ?> weightedScoreImpacter) {
+        if (scoredTupleList == null) {
+            throw new IllegalStateException("Impossible state: The constraint (" + getConstraint().getConstraintRef()
+                    + ") does not have a configurable weight, yet its weight is being updated.");
+        }
+        this.weightedScoreImpacter = weightedScoreImpacter;
+        scoredTupleList.forEach(tuple -> {
+            UndoScoreImpacter undoScoreImpacter = tuple.getStore(inputStoreIndex);
+            undoScoreImpacter.run();
+            tuple.setStore(inputStoreIndex, impact(tuple));
+        });
     }
 
     @Override
@@ -22,6 +65,9 @@ public abstract class AbstractScorer<Tuple_ extends AbstractTuple> implements Tu
                     + ") was already added in the tupleStore.");
         }
         tuple.setStore(inputStoreIndex, impact(tuple));
+        if (scoredTupleList != null) {
+            tuple.setStore(entryStoreIndex, scoredTupleList.add(tuple));
+        }
     }
 
     @Override
@@ -30,6 +76,8 @@ public abstract class AbstractScorer<Tuple_ extends AbstractTuple> implements Tu
         // No fail fast if null because we don't track which tuples made it through the filter predicate(s)
         if (undoScoreImpacter != null) {
             undoScoreImpacter.run();
+        } else if (scoredTupleList != null) {
+            tuple.setStore(entryStoreIndex, scoredTupleList.add(tuple));
         }
         tuple.setStore(inputStoreIndex, impact(tuple));
     }
@@ -45,7 +93,7 @@ public abstract class AbstractScorer<Tuple_ extends AbstractTuple> implements Tu
      */
     protected RuntimeException createExceptionOnImpact(Tuple_ tuple, Exception cause) {
         return new IllegalStateException(
-                "Consequence of a constraint (" + weightedScoreImpacter.getContext().getConstraint().getConstraintRef()
+                "Consequence of a constraint (" + getConstraint().getConstraintRef()
                         + ") threw an exception processing a tuple (" + tuple + ").",
                 cause);
     }
@@ -57,12 +105,16 @@ public abstract class AbstractScorer<Tuple_ extends AbstractTuple> implements Tu
         if (undoScoreImpacter != null) {
             undoScoreImpacter.run();
             tuple.setStore(inputStoreIndex, null);
+            if (scoredTupleList != null) {
+                ElementAwareListEntry<Tuple_> entry = tuple.removeStore(entryStoreIndex);
+                entry.remove();
+            }
         }
     }
 
     @Override
     public final String toString() {
-        return getClass().getSimpleName() + "(" + weightedScoreImpacter.getContext().getConstraint().getConstraintRef()
+        return getClass().getSimpleName() + "(" + getConstraint().getConstraintRef()
                 + ") with constraintWeight (" + weightedScoreImpacter.getContext().getConstraintWeight() + ")";
     }
 
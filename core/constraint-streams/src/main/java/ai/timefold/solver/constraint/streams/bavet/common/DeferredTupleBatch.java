@@ -0,0 +1,118 @@
+package ai.timefold.solver.constraint.streams.bavet.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.constraint.streams.bavet.common.index.IndexProperties;
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
+
+/**
+ * The tuples inserted into one side of an {@link AbstractIndexedJoinNode} which were not matched yet.
+ * <p>
+ * A small batch, such as the one or two tuples a local search move inserts, is matched tuple by tuple.
+ * A large batch, such as when the working solution is set or a construction heuristic places many entities,
+ * is grouped by index properties first, so that the other side is looked up only once for every distinct key.
+ * The tuples of a group are chained by their position in the batch,
+ * so that grouping does not allocate a list for every key,
+ * and the groups are visited in the order in which their first tuple was inserted, to keep it reproducible.
+ * All structures are reused by the next batch, unless the batch was exceptionally large.
+ *
+ * @param <Tuple_>
+ */
+final class DeferredTupleBatch<Tuple_ extends AbstractTuple> {
+
+    // Below this size, grouping costs more than it saves.
+    static final int GROUPING_THRESHOLD = 16;
+    // Above this size, the structures are not kept, so that the initial load does not stay in memory for good.
+    static final int RETAINED_CAPACITY = 1024;
+
+    private final int inputStoreIndexProperties;
+    private List<Tuple_> tupleList = new ArrayList<>();
+    private Map<IndexProperties, Integer> keyToLastPositionMap = new HashMap<>();
+    // Indexed by position in the batch; the position of the next tuple with the same key, or -1 if none.
+    private int[] nextPositions = new int[0];
+    private int[] firstPositions = new int[0];
+    private int groupCount = 0;
+
+    DeferredTupleBatch(int inputStoreIndexProperties) {
+        this.inputStoreIndexProperties = inputStoreIndexProperties;
+    }
+
+    boolean isEmpty() {
+        return tupleList.isEmpty();
+    }
+
+    int size() {
+        return tupleList.size();
+    }
+
+    void add(Tuple_ tuple) {
+        tupleList.add(tuple);
+    }
+
+    Tuple_ get(int position) {
+        return tupleList.get(position);
+    }
+
+    IndexProperties getIndexProperties(int position) {
+        return tupleList.get(position).getStore(inputStoreIndexProperties);
+    }
+
+    /**
+     * Groups the tuples by their index properties.
+     * Afterwards, every group is visited by starting from {@link #getFirstPosition(int)}
+     * and following {@link #getNextPosition(int)} until it returns -1.
+     *
+     * @return the number of groups
+     */
+    int group() {
+        var size = tupleList.size();
+        if (nextPositions.length < size) {
+            nextPositions = new int[Math.max(size, nextPositions.length * 2)];
+            firstPositions = new int[nextPositions.length];
+        }
+        groupCount = 0;
+        for (var position = 0; position < size; position++) {
+            nextPositions[position] = -1;
+            var lastPosition = keyToLastPositionMap.put(getIndexProperties(position), position);
+            if (lastPosition == null) {
+                firstPositions[groupCount++] = position;
+            } else {
+                nextPositions[lastPosition] = position;
+            }
+        }
+        return groupCount;
+    }
+
+    /**
+     * @param group at least 0, less than {@link #group()}
+     * @return the position of the first tuple of the group
+     */
+    int getFirstPosition(int group) {
+        return firstPositions[group];
+    }
+
+    /**
+     * @param position the position of a tuple
+     * @return the position of the next tuple of the same group, -1 if none
+     */
+    int getNextPosition(int position) {
+        return nextPositions[position];
+    }
+
+    void clear() {
+        if (tupleList.size() > RETAINED_CAPACITY) {
+            tupleList = new ArrayList<>();
+            keyToLastPositionMap = new HashMap<>();
+            nextPositions = new int[0];
+            firstPositions = new int[0];
+        } else {
+            tupleList.clear();
+            keyToLastPositionMap.clear();
+        }
+        groupCount = 0;
+    }
+
+}
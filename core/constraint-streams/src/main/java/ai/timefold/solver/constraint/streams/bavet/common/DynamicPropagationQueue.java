@@ -23,9 +23,13 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
     private final List<Carrier_> dirtyList;
     private final BitSet retractQueue;
     private final BitSet insertQueue;
-    private final Consumer<Tuple_> retractPropagator;
-    private final Consumer<Tuple_> updatePropagator;
-    private final Consumer<Tuple_> insertPropagator;
+    private final TupleLifecycle<Tuple_> nextNodesTupleLifecycle;
+    private long insertCount = 0L;
+    private long updateCount = 0L;
+    private long retractCount = 0L;
+    private PropagationScheduler scheduler = null;
+    private int propagatorIndex = -1;
+    private boolean dirty = false;
 
     private DynamicPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle, Consumer<Carrier_> preprocessor, int size) {
         this.preprocessor = preprocessor;
@@ -38,10 +42,7 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
         // Updates tend to be dominant; update queue isn't stored, it's deduced as neither insert nor retract.
         this.retractQueue = new BitSet(size);
         this.insertQueue = new BitSet(size);
-        // Don't create these lambdas over and over again.
-        this.retractPropagator = nextNodesTupleLifecycle::retract;
-        this.updatePropagator = nextNodesTupleLifecycle::update;
-        this.insertPropagator = nextNodesTupleLifecycle::insert;
+        this.nextNodesTupleLifecycle = nextNodesTupleLifecycle;
     }
 
     public DynamicPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle) {
@@ -52,6 +53,21 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
         this(nextNodesTupleLifecycle, preprocessor, 1000);
     }
 
+    @Override
+    public void attachScheduler(PropagationScheduler scheduler, int propagatorIndex) {
+        this.scheduler = scheduler;
+        this.propagatorIndex = propagatorIndex;
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            if (scheduler != null) {
+                scheduler.markDirty(propagatorIndex);
+            }
+        }
+    }
+
     @Override
     public void insert(Carrier_ carrier) {
         int positionInDirtyList = carrier.positionInDirtyList;
@@ -69,6 +85,7 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
             }
         }
         carrier.setState(TupleState.CREATING);
+        markDirty();
     }
 
     private void makeDirty(Carrier_ carrier, BitSet queue) {
@@ -94,6 +111,7 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
             }
         }
         carrier.setState(TupleState.UPDATING);
+        markDirty();
     }
 
     @Override
@@ -117,6 +135,7 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
             }
         }
         carrier.setState(state);
+        markDirty();
     }
 
     @Override
@@ -129,19 +148,17 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
             Carrier_ carrier = dirtyList.get(i);
             TupleState state = carrier.getState();
             switch (state) {
-                case DYING -> propagate(carrier, retractPropagator, TupleState.DEAD);
+                case DYING -> {
+                    clean(carrier, TupleState.DEAD); // Hide original state from the next node by doing this before propagation.
+                    nextNodesTupleLifecycle.retract(carrier.getTuple());
+                    retractCount++;
+                }
                 case ABORTING -> clean(carrier, TupleState.DEAD);
             }
             i = retractQueue.nextSetBit(i + 1);
         }
     }
 
-    private static <Tuple_ extends AbstractTuple, Carrier_ extends AbstractPropagationMetadataCarrier<Tuple_>> void
-            propagate(Carrier_ carrier, Consumer<Tuple_> propagator, TupleState tupleState) {
-        clean(carrier, tupleState); // Hide original state from the next node by doing this before propagation.
-        propagator.accept(carrier.getTuple());
-    }
-
     private static void clean(AbstractPropagationMetadataCarrier<?> carrier, TupleState tupleState) {
         carrier.setState(tupleState);
         carrier.positionInDirtyList = -1;
@@ -154,12 +171,14 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
         if (insertAndRetractQueue == null) { // Iterate over the entire list more efficiently.
             for (int i = 0; i < dirtyListSize; i++) {
                 // Not using enhanced for loop in order not to create so many iterators in the hot path.
-                propagateInsertOrUpdate(dirtyList.get(i), updatePropagator);
+                nextNodesTupleLifecycle.update(prepareInsertOrUpdate(dirtyList.get(i)));
             }
+            updateCount += dirtyListSize;
         } else { // The gaps in the queue are the updates.
             int i = insertAndRetractQueue.nextClearBit(0);
             while (i != -1 && i < dirtyListSize) {
-                propagateInsertOrUpdate(dirtyList.get(i), updatePropagator);
+                nextNodesTupleLifecycle.update(prepareInsertOrUpdate(dirtyList.get(i)));
+                updateCount++;
                 i = insertAndRetractQueue.nextClearBit(i + 1);
             }
         }
@@ -187,26 +206,44 @@ final class DynamicPropagationQueue<Tuple_ extends AbstractTuple, Carrier_ exten
         if (!insertQueue.isEmpty()) {
             int i = insertQueue.nextSetBit(0);
             while (i != -1) {
-                propagateInsertOrUpdate(dirtyList.get(i), insertPropagator);
+                nextNodesTupleLifecycle.insert(prepareInsertOrUpdate(dirtyList.get(i)));
+                insertCount++;
                 i = insertQueue.nextSetBit(i + 1);
             }
             insertQueue.clear();
         }
         retractQueue.clear();
         dirtyList.clear();
+        dirty = false;
+    }
+
+    @Override
+    public long getInsertCount() {
+        return insertCount;
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    @Override
+    public long getRetractCount() {
+        return retractCount;
     }
 
     /**
      * Exists so that implementations can customize the update/insert propagation.
      *
      * @param carrier never null
-     * @param propagator never null
+     * @return never null, the tuple to propagate
      */
-    private void propagateInsertOrUpdate(Carrier_ carrier, Consumer<Tuple_> propagator) {
+    private Tuple_ prepareInsertOrUpdate(Carrier_ carrier) {
         if (preprocessor != null) {
             preprocessor.accept(carrier);
         }
-        propagate(carrier, propagator, TupleState.OK);
+        clean(carrier, TupleState.OK); // Hide original state from the next node by doing this before propagation.
+        return carrier.getTuple();
     }
 
 }
@@ -3,39 +3,63 @@ package ai.timefold.solver.constraint.streams.bavet.common;
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleState;
 
+/**
+ * The group key and the result container are stored inline,
+ * as is the hash used by {@link GroupTable},
+ * so that a new group only allocates this instance, its tuple and its result container.
+ * A group of a node without a group key or without a collector marks the missing field as {@link #ABSENT},
+ * since null is a valid group key and a valid result container.
+ *
+ * @param <OutTuple_>
+ * @param <ResultContainer_>
+ */
 final class Group<OutTuple_ extends AbstractTuple, ResultContainer_>
         extends AbstractPropagationMetadataCarrier<OutTuple_> {
 
     public static <OutTuple_ extends AbstractTuple, ResultContainer_> Group<OutTuple_, ResultContainer_>
             createWithoutAccumulate(Object groupKey, OutTuple_ outTuple) {
-        return new Group<>(new GroupDataWithKey<>(groupKey), outTuple);
+        return new Group<>(groupKey, ABSENT, outTuple);
     }
 
     public static <OutTuple_ extends AbstractTuple, ResultContainer_> Group<OutTuple_, ResultContainer_>
             createWithoutGroupKey(ResultContainer_ resultContainer, OutTuple_ outTuple) {
-        return new Group<>(new GroupDataWithAccumulate<>(resultContainer), outTuple);
+        return new Group<>(ABSENT, resultContainer, outTuple);
     }
 
     public static <OutTuple_ extends AbstractTuple, ResultContainer_> Group<OutTuple_, ResultContainer_> create(Object groupKey,
             ResultContainer_ resultContainer, OutTuple_ outTuple) {
-        return new Group<>(new GroupDataWithKeyAndAccumulate<>(groupKey, resultContainer), outTuple);
+        return new Group<>(groupKey, resultContainer, outTuple);
     }
 
-    private final GroupData<ResultContainer_> groupData;
+    private static final Object ABSENT = new Object();
+
+    private final Object groupKey;
+    private final Object resultContainer;
     private final OutTuple_ outTuple;
     public int parentCount = 1;
+    /**
+     * Only used by {@link GroupTable}, which sets it before the group is put into the table.
+     */
+    int groupKeyHash;
 
-    private Group(GroupData<ResultContainer_> groupData, OutTuple_ outTuple) {
-        this.groupData = groupData;
+    private Group(Object groupKey, Object resultContainer, OutTuple_ outTuple) {
+        this.groupKey = groupKey;
+        this.resultContainer = resultContainer;
         this.outTuple = outTuple;
     }
 
     public Object getGroupKey() {
-        return groupData.groupKey();
+        if (groupKey == ABSENT) {
+            throw new UnsupportedOperationException("Impossible state: no group key.");
+        }
+        return groupKey;
     }
 
     public ResultContainer_ getResultContainer() {
-        return groupData.resultContainer();
+        if (resultContainer == ABSENT) {
+            throw new UnsupportedOperationException("Impossible state: no result container for group (" + groupKey + ").");
+        }
+        return (ResultContainer_) resultContainer;
     }
 
     @Override
@@ -53,41 +77,4 @@ final class Group<OutTuple_ extends AbstractTuple, ResultContainer_>
         outTuple.state = state;
     }
 
-    /**
-     * Save memory by allowing to not store the group key or the result container.
-     *
-     * @param <ResultContainer_>
-     */
-    private sealed interface GroupData<ResultContainer_> {
-
-        Object groupKey();
-
-        ResultContainer_ resultContainer();
-
-    }
-
-    private record GroupDataWithKey<ResultContainer_>(Object groupKey) implements GroupData<ResultContainer_> {
-
-        @Override
-        public ResultContainer_ resultContainer() {
-            throw new UnsupportedOperationException("Impossible state: no result container for group (" + groupKey + ").");
-        }
-
-    }
-
-    private record GroupDataWithAccumulate<ResultContainer_>(
-            ResultContainer_ resultContainer) implements GroupData<ResultContainer_> {
-
-        @Override
-        public Object groupKey() {
-            throw new UnsupportedOperationException("Impossible state: no group key.");
-        }
-
-    }
-
-    private record GroupDataWithKeyAndAccumulate<ResultContainer_>(Object groupKey,
-            ResultContainer_ resultContainer) implements GroupData<ResultContainer_> {
-
-    }
-
 }
@@ -0,0 +1,131 @@
+package ai.timefold.solver.constraint.streams.bavet.common;
+
+import java.util.Objects;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
+
+/**
+ * Maps group keys to their {@link Group groups}, like a {@link java.util.HashMap} would,
+ * but stores the groups directly in an open-addressing table with linear probing.
+ * Unlike {@link java.util.HashMap}, it does not allocate an entry for every group,
+ * and a lookup does not have to follow a pointer to an entry before it reaches the group.
+ * <p>
+ * Removal uses backward shift deletion instead of tombstones,
+ * so that the table does not degrade as groups come and go while solving.
+ *
+ * @param <OutTuple_>
+ * @param <ResultContainer_>
+ */
+final class GroupTable<OutTuple_ extends AbstractTuple, ResultContainer_> {
+
+    // Small, as the number of groups can be very small, and that situation is not unlikely.
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Group<OutTuple_, ResultContainer_>[] table = new Group[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size = 0;
+
+    private static int hash(Object groupKey) {
+        // Spreads the bits of poor hash codes, such as those of consecutive integers, over the whole table.
+        var hash = Objects.hashCode(groupKey) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @param groupKey may be null
+     * @return null if there is no group for that key
+     */
+    public Group<OutTuple_, ResultContainer_> get(Object groupKey) {
+        var hash = hash(groupKey);
+        var index = hash & mask;
+        while (true) {
+            var group = table[index];
+            if (group == null) {
+                return null;
+            } else if (group.groupKeyHash == hash && Objects.equals(group.getGroupKey(), groupKey)) {
+                return group;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @param group never null, its key must not be in the table yet
+     */
+    public void put(Group<OutTuple_, ResultContainer_> group) {
+        if (size >= (table.length >> 1)) { // Linear probing degrades quickly beyond a load factor of 0.5.
+            resize(table.length << 1);
+        }
+        group.groupKeyHash = hash(group.getGroupKey());
+        insert(group);
+        size++;
+    }
+
+    private void insert(Group<OutTuple_, ResultContainer_> group) {
+        var index = group.groupKeyHash & mask;
+        while (table[index] != null) {
+            index = (index + 1) & mask;
+        }
+        table[index] = group;
+    }
+
+    private void resize(int newCapacity) {
+        var oldTable = table;
+        table = new Group[newCapacity];
+        mask = newCapacity - 1;
+        for (var group : oldTable) {
+            if (group != null) {
+                insert(group);
+            }
+        }
+    }
+
+    /**
+     * @param groupKey may be null
+     * @return null if there was no group for that key
+     */
+    public Group<OutTuple_, ResultContainer_> remove(Object groupKey) {
+        var hash = hash(groupKey);
+        var index = hash & mask;
+        while (true) {
+            var group = table[index];
+            if (group == null) {
+                return null;
+            } else if (group.groupKeyHash == hash && Objects.equals(group.getGroupKey(), groupKey)) {
+                shiftBackFrom(index);
+                size--;
+                return group;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Empties the slot at the given index,
+     * moving back the groups after it which would otherwise no longer be reachable from their home slot.
+     */
+    private void shiftBackFrom(int emptiedIndex) {
+        var index = emptiedIndex;
+        while (true) {
+            index = (index + 1) & mask;
+            var group = table[index];
+            if (group == null) {
+                table[emptiedIndex] = null;
+                return;
+            }
+            var homeIndex = group.groupKeyHash & mask;
+            // The group may only move back if its home slot is not in between the emptied slot and its current slot.
+            var distanceToCurrent = (index - homeIndex) & mask;
+            var distanceToEmptied = (emptiedIndex - homeIndex) & mask;
+            if (distanceToEmptied < distanceToCurrent) {
+                table[emptiedIndex] = group;
+                emptiedIndex = index;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
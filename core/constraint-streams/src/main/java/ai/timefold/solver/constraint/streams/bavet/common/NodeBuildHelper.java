@@ -26,6 +26,7 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
     private final Map<AbstractNode, BavetAbstractConstraintStream<?>> nodeCreatorMap;
     private final Map<ConstraintStream, TupleLifecycle<? extends AbstractTuple>> tupleLifecycleMap;
     private final Map<ConstraintStream, Integer> storeIndexMap;
+    private final List<AbstractScorer<?>> scorerList;
 
     private List<AbstractNode> reversedNodeList;
 
@@ -37,6 +38,7 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
         this.tupleLifecycleMap = new HashMap<>(Math.max(16, activeStreamSetSize));
         this.storeIndexMap = new HashMap<>(Math.max(16, activeStreamSetSize / 2));
         this.reversedNodeList = new ArrayList<>(activeStreamSetSize);
+        this.scorerList = new ArrayList<>();
     }
 
     public boolean isStreamActive(ConstraintStream stream) {
@@ -76,6 +78,15 @@ public final class NodeBuildHelper<Score_ extends Score<Score_>> {
         tupleLifecycleMap.put(stream, tupleLifecycle);
     }
 
+    public <Tuple_ extends AbstractTuple> void putScorer(ConstraintStream stream, AbstractScorer<Tuple_> scorer) {
+        putInsertUpdateRetract(stream, scorer);
+        scorerList.add(scorer);
+    }
+
+    public List<AbstractScorer<?>> getScorerList() {
+        return scorerList;
+    }
+
     public <Tuple_ extends AbstractTuple> void putInsertUpdateRetract(ConstraintStream stream,
             List<? extends AbstractConstraintStream<?>> childStreamList,
             Function<TupleLifecycle<Tuple_>, AbstractConditionalTupleLifecycle<Tuple_>> tupleLifecycleFunction) {
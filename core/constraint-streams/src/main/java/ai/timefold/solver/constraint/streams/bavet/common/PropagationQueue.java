@@ -1,5 +1,6 @@
 package ai.timefold.solver.constraint.streams.bavet.common;
 
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleLifecycle;
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleState;
 
 /**
@@ -27,6 +28,10 @@ import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleState;
  * The reason why these operations are not combined into a single method is the fact
  * that multiple nodes may need to execute their retracts first,
  * and only when all of those are propagated, the rest of the phases can start.
+ * <p>
+ * Implementations call the {@link TupleLifecycle}
+ * of the next nodes directly.
+ * Going through a method reference instead would add a second megamorphic call for every propagated tuple.
  *
  * @see Propagator Even more information about propagation.
  * @param <T>
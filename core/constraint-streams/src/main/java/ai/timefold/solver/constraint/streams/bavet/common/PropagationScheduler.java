@@ -0,0 +1,121 @@
+package ai.timefold.solver.constraint.streams.bavet.common;
+
+import java.util.BitSet;
+
+import ai.timefold.solver.constraint.streams.bavet.BavetConstraintSession;
+
+/**
+ * Propagates the layers of a {@link BavetConstraintSession} in order,
+ * but only calls the {@link Propagator}s which actually have something to propagate.
+ * <p>
+ * Every propagator is {@link Propagator#attachScheduler(PropagationScheduler, int) attached} to the scheduler
+ * under its position in the layer order.
+ * The first time a propagator receives a tuple after its last propagation,
+ * it {@link #markDirty(int) marks itself dirty} in a bitset shared by the entire session.
+ * Propagating a layer then only visits the set bits in the range of that layer.
+ * When a move only touches a few entities, most propagators stay clean
+ * and are never called at all.
+ * <p>
+ * Propagating a layer never makes another propagator in the same layer dirty,
+ * as nodes only ever send tuples to nodes in higher layers.
+ * Therefore the bits of a layer can be cleared before its propagation starts.
+ * If the propagation of a layer fails, for example because a user-provided filter throws an exception,
+ * the bits are set again, so that the propagators which did not finish are not skipped from then on;
+ * they only mark themselves dirty when they receive their first tuple after a completed propagation.
+ *
+ * @see Propagator Description of the order of propagation.
+ */
+public final class PropagationScheduler {
+
+    private final Propagator[] propagators;
+    private final int[] layerStartIndexes;
+    private final BitSet dirtyPropagatorSet;
+    private final int[] dirtyPropagatorIndexesInLayer;
+
+    /**
+     * @param layeredPropagators never null; first level is the layer, second determines iteration order
+     */
+    public PropagationScheduler(Propagator[][] layeredPropagators) {
+        var layerCount = layeredPropagators.length;
+        this.layerStartIndexes = new int[layerCount + 1];
+        var propagatorCount = 0;
+        var maxLayerSize = 0;
+        for (var layerIndex = 0; layerIndex < layerCount; layerIndex++) {
+            layerStartIndexes[layerIndex] = propagatorCount;
+            var layerSize = layeredPropagators[layerIndex].length;
+            propagatorCount += layerSize;
+            maxLayerSize = Math.max(maxLayerSize, layerSize);
+        }
+        layerStartIndexes[layerCount] = propagatorCount;
+        this.propagators = new Propagator[propagatorCount];
+        for (var layerIndex = 0; layerIndex < layerCount; layerIndex++) {
+            var layer = layeredPropagators[layerIndex];
+            System.arraycopy(layer, 0, propagators, layerStartIndexes[layerIndex], layer.length);
+        }
+        this.dirtyPropagatorSet = new BitSet(propagatorCount);
+        this.dirtyPropagatorIndexesInLayer = new int[maxLayerSize];
+        for (var propagatorIndex = 0; propagatorIndex < propagatorCount; propagatorIndex++) {
+            propagators[propagatorIndex].attachScheduler(this, propagatorIndex);
+        }
+    }
+
+    /**
+     * Called by the propagator when it receives its first tuple since it was last propagated.
+     *
+     * @param propagatorIndex the index under which the propagator was attached
+     */
+    void markDirty(int propagatorIndex) {
+        dirtyPropagatorSet.set(propagatorIndex);
+    }
+
+    /**
+     * Propagates all dirty propagators, layer by layer.
+     * All propagators are clean afterwards.
+     */
+    public void propagate() {
+        var layerCount = layerStartIndexes.length - 1;
+        for (var layerIndex = 0; layerIndex < layerCount; layerIndex++) {
+            if (dirtyPropagatorSet.isEmpty()) { // Nothing left to do in any of the higher layers either.
+                return;
+            }
+            propagateLayer(layerIndex);
+        }
+    }
+
+    private void propagateLayer(int layerIndex) {
+        var layerStartIndex = layerStartIndexes[layerIndex];
+        var layerEndIndex = layerStartIndexes[layerIndex + 1];
+        var dirtyCount = 0;
+        var propagatorIndex = dirtyPropagatorSet.nextSetBit(layerStartIndex);
+        while (propagatorIndex >= 0 && propagatorIndex < layerEndIndex) {
+            dirtyPropagatorIndexesInLayer[dirtyCount++] = propagatorIndex;
+            propagatorIndex = dirtyPropagatorSet.nextSetBit(propagatorIndex + 1);
+        }
+        if (dirtyCount == 0) {
+            return;
+        }
+        dirtyPropagatorSet.clear(layerStartIndex, layerEndIndex);
+        try {
+            if (dirtyCount == 1) {
+                propagators[dirtyPropagatorIndexesInLayer[0]].propagateEverything();
+            } else {
+                for (var i = 0; i < dirtyCount; i++) {
+                    propagators[dirtyPropagatorIndexesInLayer[i]].propagateRetracts();
+                }
+                for (var i = 0; i < dirtyCount; i++) {
+                    propagators[dirtyPropagatorIndexesInLayer[i]].propagateUpdates();
+                }
+                for (var i = 0; i < dirtyCount; i++) {
+                    propagators[dirtyPropagatorIndexesInLayer[i]].propagateInserts();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // Propagators which already finished are visited once more for nothing, which is harmless.
+            for (var i = 0; i < dirtyCount; i++) {
+                dirtyPropagatorSet.set(dirtyPropagatorIndexesInLayer[i]);
+            }
+            throw e;
+        }
+    }
+
+}
@@ -13,7 +13,8 @@ import ai.timefold.solver.constraint.streams.bavet.BavetConstraintSession;
  * Layer N+1 only starts propagating after layer N has completed its propagation,
  * that is after {@link #propagateRetracts()},
  * {@link #propagateUpdates()} and {@link #propagateInserts()} have been called on every node in the layer.
- * This happens in and is guaranteed by {@link BavetConstraintSession#calculateScore(int)}.
+ * This happens in and is guaranteed by {@link BavetConstraintSession#calculateScore(int)},
+ * through the {@link PropagationScheduler}, which skips the nodes which have nothing to propagate.
  * <p>
  * Nodes in a layer do not propagate entirely independently.
  * In fact, we first call {@link #propagateRetracts()} on all nodes in the layer,
@@ -35,10 +36,18 @@ import ai.timefold.solver.constraint.streams.bavet.BavetConstraintSession;
  * <p>
  * As this is critical to the correctness of Bavet,
  * there is specific test coverage for these corner cases.
+ * <p>
+ * Nodes in a layer are propagated on a single thread, even if they belong to different constraints.
+ * Propagation is not free of side effects outside the propagating node:
+ * two nodes in the same layer may feed the same child (both inputs of a join, for example),
+ * and every scorer writes into the shared running totals of the score inliner.
+ * Splitting a layer over multiple threads would therefore require the node graph
+ * to be partitioned into subgraphs with disjoint children,
+ * and each partition to accumulate its score separately.
  *
  * @see PropagationQueue More information about propagation.
  */
-public sealed interface Propagator permits PropagationQueue {
+public sealed interface Propagator permits PropagationQueue, ProfilingPropagator {
 
     /**
      * Starts the propagation event. Must be followed by {@link #propagateUpdates()}.
@@ -56,6 +65,17 @@ public sealed interface Propagator permits PropagationQueue {
      */
     void propagateInserts();
 
+    /**
+     * Called once, when the session is built.
+     * From then on, the propagator must {@link PropagationScheduler#markDirty(int) mark itself dirty}
+     * whenever it receives a tuple while it has nothing to propagate,
+     * as a propagator which is not dirty will not be called.
+     *
+     * @param scheduler never null
+     * @param propagatorIndex the index to mark dirty
+     */
+    void attachScheduler(PropagationScheduler scheduler, int propagatorIndex);
+
     /**
      * Convenience method for cases where the node layer only contains a single node,
      * and therefore it can be propagated all at once.
@@ -66,4 +86,34 @@ public sealed interface Propagator permits PropagationQueue {
         propagateInserts();
     }
 
+    /**
+     * For diagnostic purposes only.
+     *
+     * @return number of tuples inserted into the next nodes since the session was created
+     */
+    long getInsertCount();
+
+    /**
+     * For diagnostic purposes only.
+     *
+     * @return number of tuples updated in the next nodes since the session was created
+     */
+    long getUpdateCount();
+
+    /**
+     * For diagnostic purposes only.
+     *
+     * @return number of tuples retracted from the next nodes since the session was created
+     */
+    long getRetractCount();
+
+    /**
+     * For diagnostic purposes only.
+     *
+     * @return number of tuples which were inserted into the next nodes and not yet retracted from them
+     */
+    default int getPropagatedTupleCount() {
+        return (int) (getInsertCount() - getRetractCount());
+    }
+
 }
@@ -2,7 +2,7 @@ package ai.timefold.solver.constraint.streams.bavet.common;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.function.Consumer;
+import java.util.Iterator;
 
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleLifecycle;
@@ -22,23 +22,63 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
     private final Deque<Tuple_> retractQueue;
     private final Deque<Tuple_> updateQueue;
     private final Deque<Tuple_> insertQueue;
-    private final Consumer<Tuple_> retractPropagator;
-    private final Consumer<Tuple_> updatePropagator;
-    private final Consumer<Tuple_> insertPropagator;
+    private final TupleLifecycle<Tuple_> nextNodesTupleLifecycle;
+    private final Runnable deferredWorkRunner;
+    private long insertCount = 0L;
+    private long updateCount = 0L;
+    private long retractCount = 0L;
+    private PropagationScheduler scheduler = null;
+    private int propagatorIndex = -1;
+    private boolean dirty = false;
 
     public StaticPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle, int size) {
+        this(nextNodesTupleLifecycle, size, null);
+    }
+
+    public StaticPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle) {
+        this(nextNodesTupleLifecycle, 1000);
+    }
+
+    /**
+     * @param nextNodesTupleLifecycle never null
+     * @param deferredWorkRunner null if the owning node never defers work;
+     *        otherwise called at the start of every propagation, before anything is propagated,
+     *        so that the node can turn the work it deferred since {@link #scheduleDeferredWork()} into tuples
+     */
+    StaticPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle, Runnable deferredWorkRunner) {
+        this(nextNodesTupleLifecycle, 1000, deferredWorkRunner);
+    }
+
+    private StaticPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle, int size, Runnable deferredWorkRunner) {
         // Guesstimate that updates are dominant.
         this.retractQueue = new ArrayDeque<>(size / 20);
         this.updateQueue = new ArrayDeque<>((size / 20) * 18);
         this.insertQueue = new ArrayDeque<>(size / 20);
-        // Don't create these lambdas over and over again.
-        this.retractPropagator = nextNodesTupleLifecycle::retract;
-        this.updatePropagator = nextNodesTupleLifecycle::update;
-        this.insertPropagator = nextNodesTupleLifecycle::insert;
+        this.nextNodesTupleLifecycle = nextNodesTupleLifecycle;
+        this.deferredWorkRunner = deferredWorkRunner;
     }
 
-    public StaticPropagationQueue(TupleLifecycle<Tuple_> nextNodesTupleLifecycle) {
-        this(nextNodesTupleLifecycle, 1000);
+    @Override
+    public void attachScheduler(PropagationScheduler scheduler, int propagatorIndex) {
+        this.scheduler = scheduler;
+        this.propagatorIndex = propagatorIndex;
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            if (scheduler != null) {
+                scheduler.markDirty(propagatorIndex);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that this queue will be propagated, even if no tuple is put into it before then,
+     * so that the work deferred by the owning node is done.
+     */
+    void scheduleDeferredWork() {
+        markDirty();
     }
 
     @Override
@@ -48,6 +88,7 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
         }
         carrier.state = TupleState.CREATING;
         insertQueue.add(carrier);
+        markDirty();
     }
 
     @Override
@@ -57,6 +98,7 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
         }
         carrier.state = TupleState.UPDATING;
         updateQueue.add(carrier);
+        markDirty();
     }
 
     @Override
@@ -71,38 +113,37 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
         }
         carrier.state = state;
         retractQueue.add(carrier);
+        markDirty();
     }
 
     @Override
     public void propagateRetracts() {
+        if (deferredWorkRunner != null) {
+            deferredWorkRunner.run();
+        }
         if (retractQueue.isEmpty()) {
             return;
         }
         for (Tuple_ tuple : retractQueue) {
             switch (tuple.state) {
-                case DYING -> propagate(tuple, retractPropagator, TupleState.DEAD);
+                case DYING -> {
+                    // Change state before propagation, so that the next node can't make decisions on the original state.
+                    tuple.state = TupleState.DEAD;
+                    nextNodesTupleLifecycle.retract(tuple);
+                    retractCount++;
+                }
                 case ABORTING -> tuple.state = TupleState.DEAD;
             }
         }
         retractQueue.clear();
     }
 
-    private void propagate(Tuple_ tuple, Consumer<Tuple_> propagator, TupleState tupleState) {
-        // Change state before propagation, so that the next node can't make decisions on the original state.
-        tuple.state = tupleState;
-        propagator.accept(tuple);
-    }
-
     @Override
     public void propagateUpdates() {
-        processAndClear(updateQueue, updatePropagator);
-    }
-
-    private void processAndClear(Deque<Tuple_> dirtyQueue, Consumer<Tuple_> propagator) {
-        if (dirtyQueue.isEmpty()) {
+        if (updateQueue.isEmpty()) {
             return;
         }
-        for (Tuple_ tuple : dirtyQueue) {
+        for (Tuple_ tuple : updateQueue) {
             if (tuple.state == TupleState.DEAD) {
                 /*
                  * DEAD signifies the tuple was both in insert/update and retract queues.
@@ -113,14 +154,47 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
                  */
                 continue;
             }
-            propagate(tuple, propagator, TupleState.OK);
+            tuple.state = TupleState.OK;
+            nextNodesTupleLifecycle.update(tuple);
+            updateCount++;
+        }
+        updateQueue.clear();
+    }
+
+    /**
+     * Inserts tend to come in large bursts, for example when the working solution is set.
+     * They are therefore propagated as a single batch; see {@link TupleLifecycle#insertAll(java.util.Collection)}.
+     *
+     * @return the number of tuples propagated
+     */
+    private int propagateInsertBatchAndClear() {
+        if (insertQueue.isEmpty()) {
+            return 0;
+        }
+        Iterator<Tuple_> iterator = insertQueue.iterator();
+        while (iterator.hasNext()) {
+            Tuple_ tuple = iterator.next();
+            if (tuple.state == TupleState.DEAD) { // Retracted before it was ever propagated; see propagateUpdates().
+                iterator.remove();
+            } else {
+                // Change state before propagation, so that the next node can't make decisions on the original state.
+                tuple.state = TupleState.OK;
+            }
+        }
+        int propagatedCount = insertQueue.size();
+        if (propagatedCount == 1) {
+            nextNodesTupleLifecycle.insert(insertQueue.peekFirst());
+        } else if (propagatedCount > 1) {
+            nextNodesTupleLifecycle.insertAll(insertQueue);
         }
-        dirtyQueue.clear();
+        insertQueue.clear();
+        return propagatedCount;
     }
 
     @Override
     public void propagateInserts() {
-        processAndClear(insertQueue, insertPropagator);
+        insertCount += propagateInsertBatchAndClear();
+        dirty = false;
         if (!retractQueue.isEmpty()) {
             throw new IllegalStateException("Impossible state: The retract queue (" + retractQueue + ") is not empty.");
         } else if (!updateQueue.isEmpty()) {
@@ -128,4 +202,19 @@ public final class StaticPropagationQueue<Tuple_ extends AbstractTuple>
         }
     }
 
+    @Override
+    public long getInsertCount() {
+        return insertCount;
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    @Override
+    public long getRetractCount() {
+        return retractCount;
+    }
+
 }
@@ -1,23 +1,41 @@
 package ai.timefold.solver.constraint.streams.bavet.common.index;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import ai.timefold.solver.core.impl.score.stream.JoinerType;
 import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
 
+/**
+ * Keeps its keys in a sorted array, with the downstream indexers in a parallel array.
+ * A lookup finds the boundary of the matching range with a single binary search,
+ * and then visits every downstream indexer before the boundary without comparing any more keys.
+ * Inserting or removing a key shifts the tail of the arrays, which is linear in the number of distinct keys.
+ * So is a lookup, which visits on average half of the downstream indexers,
+ * and a join does a lookup on one side for every put or remove on the other side.
+ * A tree would therefore not lower the cost of a join, even for many distinct keys such as timestamps,
+ * while it would make every lookup slower.
+ * <p>
+ * Both sides of {@link ai.timefold.solver.core.api.score.stream.Joiners#overlapping overlapping joins}
+ * (a LESS_THAN followed by a GREATER_THAN joiner) are served by two chained instances of this indexer.
+ *
+ * @param <T>
+ * @param <Key_>
+ */
 final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Indexer<T> {
 
+    private static final int INITIAL_CAPACITY = 8;
+
     private final int propertyIndex;
     private final Supplier<Indexer<T>> downstreamIndexerSupplier;
     private final Comparator<Key_> keyComparator;
     private final boolean hasOrEquals;
-    private final NavigableMap<Key_, Indexer<T>> comparisonMap;
+    private Key_[] keys;
+    private Indexer<T>[] downstreamIndexers;
+    private int keyCount = 0;
 
     public ComparisonIndexer(JoinerType comparisonJoinerType, Supplier<Indexer<T>> downstreamIndexerSupplier) {
         this(comparisonJoinerType, 0, downstreamIndexerSupplier);
@@ -29,8 +47,7 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
         this.downstreamIndexerSupplier = Objects.requireNonNull(downstreamIndexerSupplier);
         /*
          * For GT/GTE, the iteration order is reversed.
-         * This allows us to iterate over the entire map, stopping when the threshold is reached.
-         * This is done so that we can avoid using head/tail sub maps, which are expensive.
+         * This allows us to always iterate from the start of the array, stopping when the boundary is reached.
          */
         this.keyComparator =
                 (comparisonJoinerType == JoinerType.GREATER_THAN || comparisonJoinerType == JoinerType.GREATER_THAN_OR_EQUAL)
@@ -38,120 +55,135 @@ final class ComparisonIndexer<T, Key_ extends Comparable<Key_>> implements Index
                         : Comparator.naturalOrder();
         this.hasOrEquals = comparisonJoinerType == JoinerType.GREATER_THAN_OR_EQUAL
                 || comparisonJoinerType == JoinerType.LESS_THAN_OR_EQUAL;
-        this.comparisonMap = new TreeMap<>(keyComparator);
+        this.keys = (Key_[]) new Comparable[INITIAL_CAPACITY];
+        this.downstreamIndexers = new Indexer[INITIAL_CAPACITY];
     }
 
     @Override
     public ElementAwareListEntry<T> put(IndexProperties indexProperties, T tuple) {
         Key_ indexKey = indexProperties.toKey(propertyIndex);
-        // Avoids computeIfAbsent in order to not create lambdas on the hot path.
-        Indexer<T> downstreamIndexer = comparisonMap.get(indexKey);
-        if (downstreamIndexer == null) {
+        int position = binarySearch(indexKey);
+        Indexer<T> downstreamIndexer;
+        if (position >= 0) {
+            downstreamIndexer = downstreamIndexers[position];
+        } else {
             downstreamIndexer = downstreamIndexerSupplier.get();
-            comparisonMap.put(indexKey, downstreamIndexer);
+            insertAt(-(position + 1), indexKey, downstreamIndexer);
         }
         return downstreamIndexer.put(indexProperties, tuple);
     }
 
+    private void insertAt(int position, Key_ indexKey, Indexer<T> downstreamIndexer) {
+        if (keyCount == keys.length) {
+            int newCapacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, newCapacity);
+            downstreamIndexers = Arrays.copyOf(downstreamIndexers, newCapacity);
+        }
+        int tailLength = keyCount - position;
+        if (tailLength > 0) {
+            System.arraycopy(keys, position, keys, position + 1, tailLength);
+            System.arraycopy(downstreamIndexers, position, downstreamIndexers, position + 1, tailLength);
+        }
+        keys[position] = indexKey;
+        downstreamIndexers[position] = downstreamIndexer;
+        keyCount++;
+    }
+
     @Override
     public void remove(IndexProperties indexProperties, ElementAwareListEntry<T> entry) {
         Key_ indexKey = indexProperties.toKey(propertyIndex);
-        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties, indexKey, entry);
+        int position = binarySearch(indexKey);
+        if (position < 0) {
+            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
+                    + ") with indexProperties (" + indexProperties
+                    + ") doesn't exist in the indexer " + this + ".");
+        }
+        Indexer<T> downstreamIndexer = downstreamIndexers[position];
         downstreamIndexer.remove(indexProperties, entry);
         if (downstreamIndexer.isEmpty()) {
-            comparisonMap.remove(indexKey);
+            removeAt(position);
         }
     }
 
-    private Indexer<T> getDownstreamIndexer(IndexProperties indexProperties, Key_ indexerKey,
-            ElementAwareListEntry<T> entry) {
-        Indexer<T> downstreamIndexer = comparisonMap.get(indexerKey);
-        if (downstreamIndexer == null) {
-            throw new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
-                    + ") with indexProperties (" + indexProperties
-                    + ") doesn't exist in the indexer " + this + ".");
+    private void removeAt(int position) {
+        int tailLength = keyCount - position - 1;
+        if (tailLength > 0) {
+            System.arraycopy(keys, position + 1, keys, position, tailLength);
+            System.arraycopy(downstreamIndexers, position + 1, downstreamIndexers, position, tailLength);
+        }
+        keyCount--;
+        keys[keyCount] = null; // Allow GC.
+        downstreamIndexers[keyCount] = null;
+    }
+
+    /**
+     * @param indexKey never null
+     * @return same contract as {@link Arrays#binarySearch(Object[], int, int, Object, Comparator)}
+     */
+    private int binarySearch(Key_ indexKey) {
+        int low = 0;
+        int high = keyCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = keyComparator.compare(keys[middle], indexKey);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Comparator matches the order of the array, so every key before the boundary is in range.
+     *
+     * @param indexProperties never null
+     * @return the position of the first key which is out of range, or {@link #keyCount} if all of them are in range
+     */
+    private int findBoundary(IndexProperties indexProperties) {
+        Key_ indexKey = indexProperties.toKey(propertyIndex);
+        int position = binarySearch(indexKey);
+        if (position >= 0) { // The key itself is only in range for GTE/LTE.
+            return hasOrEquals ? position + 1 : position;
         }
-        return downstreamIndexer;
+        return -(position + 1);
     }
 
-    // TODO clean up DRY
     @Override
     public int size(IndexProperties indexProperties) {
-        int mapSize = comparisonMap.size();
-        if (mapSize == 0) {
+        if (keyCount == 0) {
             return 0;
         }
-        Key_ indexKey = indexProperties.toKey(propertyIndex);
-        if (mapSize == 1) { // Avoid creation of the entry set and iterator.
-            Map.Entry<Key_, Indexer<T>> entry = comparisonMap.firstEntry();
-            int comparison = keyComparator.compare(entry.getKey(), indexKey);
-            if (comparison >= 0) { // Possibility of reaching the boundary condition.
-                if (comparison > 0 || !hasOrEquals) {
-                    // Boundary condition reached when we're out of bounds entirely, or when GTE/LTE is not allowed.
-                    return 0;
-                }
-            }
-            return entry.getValue().size(indexProperties);
-        } else {
-            int size = 0;
-            for (Map.Entry<Key_, Indexer<T>> entry : comparisonMap.entrySet()) {
-                int comparison = keyComparator.compare(entry.getKey(), indexKey);
-                if (comparison >= 0) { // Possibility of reaching the boundary condition.
-                    if (comparison > 0 || !hasOrEquals) {
-                        // Boundary condition reached when we're out of bounds entirely, or when GTE/LTE is not allowed.
-                        break;
-                    }
-                }
-                // Boundary condition not yet reached; include the indexer in the range.
-                size += entry.getValue().size(indexProperties);
-            }
-            return size;
+        int boundary = findBoundary(indexProperties);
+        int size = 0;
+        for (int i = 0; i < boundary; i++) {
+            size += downstreamIndexers[i].size(indexProperties);
         }
+        return size;
     }
 
     @Override
     public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
-        int size = comparisonMap.size();
-        if (size == 0) {
+        if (keyCount == 0) {
             return;
         }
-        Key_ indexKey = indexProperties.toKey(propertyIndex);
-        if (size == 1) { // Avoid creation of the entry set and iterator.
-            Map.Entry<Key_, Indexer<T>> entry = comparisonMap.firstEntry();
-            visitEntry(indexProperties, tupleConsumer, indexKey, entry);
-        } else {
-            for (Map.Entry<Key_, Indexer<T>> entry : comparisonMap.entrySet()) {
-                boolean boundaryReached = visitEntry(indexProperties, tupleConsumer, indexKey, entry);
-                if (boundaryReached) {
-                    return;
-                }
-            }
-        }
-    }
-
-    private boolean visitEntry(IndexProperties indexProperties, Consumer<T> tupleConsumer,
-            Key_ indexKey, Map.Entry<Key_, Indexer<T>> entry) {
-        // Comparator matches the order of iteration of the map, so the boundary is always found from the bottom up.
-        int comparison = keyComparator.compare(entry.getKey(), indexKey);
-        if (comparison >= 0) { // Possibility of reaching the boundary condition.
-            if (comparison > 0 || !hasOrEquals) {
-                // Boundary condition reached when we're out of bounds entirely, or when GTE/LTE is not allowed.
-                return true;
-            }
+        int boundary = findBoundary(indexProperties);
+        for (int i = 0; i < boundary; i++) {
+            downstreamIndexers[i].forEach(indexProperties, tupleConsumer);
         }
-        // Boundary condition not yet reached; include the indexer in the range.
-        entry.getValue().forEach(indexProperties, tupleConsumer);
-        return false;
     }
 
     @Override
     public boolean isEmpty() {
-        return comparisonMap.isEmpty();
+        return keyCount == 0;
     }
 
     @Override
     public String toString() {
-        return "size = " + comparisonMap.size();
+        return "size = " + keyCount;
     }
 
 }
@@ -8,7 +8,6 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import ai.timefold.solver.constraint.streams.bavet.common.tuple.AbstractTuple;
-import ai.timefold.solver.constraint.streams.bavet.common.tuple.TriTuple;
 import ai.timefold.solver.constraint.streams.common.AbstractJoiner;
 import ai.timefold.solver.constraint.streams.common.bi.DefaultBiJoiner;
 import ai.timefold.solver.constraint.streams.common.penta.DefaultPentaJoiner;
@@ -31,6 +30,10 @@ import ai.timefold.solver.core.impl.util.Triple;
  * <p>
  * Example 1: EQUAL+LESS_THAN joiner will become EqualsIndexer -> ComparisonIndexer -> NoneIndexer.
  * <p>
+ * Equal joiners with a simple (non-composite) key use {@link PrimitiveKeyEqualsIndexer},
+ * which stores {@link Integer} and {@link Long} keys unboxed.
+ * Composite keys use {@link EqualsIndexer}.
+ * <p>
  * Indexers have an id, which is the position of the indexer in the chain.
  * Top-most indexer has id 0, and the id increases as we go down the hierarchy.
  * Each {@link AbstractTuple tuple} is assigned an {@link IndexProperties} instance,
@@ -42,21 +45,23 @@ import ai.timefold.solver.core.impl.util.Triple;
  * each keyFunction in {@link IndexProperties} is associated with a single indexer.
  * <p>
  * Comparison joiners result in a single indexer each,
- * whereas equal joiners will be merged into a single indexer if they are consecutive.
- * In the latter case,
- * a composite keyFunction is created of type {@link Pair}, {@link TriTuple},
+ * whereas all equal joiners are merged into a single indexer at the top of the hierarchy,
+ * regardless of where they appear between the comparison joiners.
+ * The equal joiners are therefore resolved by a single hash lookup
+ * on a composite keyFunction of type {@link Pair}, {@link Triple},
  * {@link Quadruple} or {@link IndexerKey},
- * based on the length of the composite keyFunction (number of equals joiners in sequence).
+ * based on the length of the composite keyFunction (number of equals joiners).
+ * Only the comparison joiners, which need a sorted structure each, remain nested below it.
  *
  * <ul>
  * <li>Example 2: For an EQUAL+LESS_THAN joiner,
  * there are two indexers in the chain with keyFunction length of 1 each.</li>
  * <li>Example 3: For an LESS_THAN+EQUAL+EQUAL joiner,
  * there are still two indexers,
- * but the second indexer's keyFunction length is 2.</li>
- * <li>Example 4: For an LESS_THAN+EQUAL+EQUAL+LESS_THAN joiner,
+ * but the first indexer's keyFunction length is 2.</li>
+ * <li>Example 4: For an EQUAL+LESS_THAN+EQUAL+LESS_THAN joiner,
  * there are three indexers in the chain,
- * and the middle one's keyFunction length is 2.</li>
+ * the first one with a keyFunction length of 2, followed by one for each LESS_THAN.</li>
  * </ul>
  *
  * @param <Right_>
@@ -64,18 +69,34 @@ import ai.timefold.solver.core.impl.util.Triple;
 public class IndexerFactory<Right_> {
 
     private final AbstractJoiner<Right_> joiner;
+    /**
+     * The indexes of the joiners in the order in which they are indexed: all equal joiners first.
+     */
+    private final int[] joinerIndexes;
     private final NavigableMap<Integer, JoinerType> joinerTypeMap;
 
     public IndexerFactory(AbstractJoiner<Right_> joiner) {
         this.joiner = joiner;
         var joinerCount = joiner.getJoinerCount();
+        this.joinerIndexes = new int[joinerCount];
+        var indexedJoinerCount = 0;
+        for (var i = 0; i < joinerCount; i++) {
+            if (joiner.getJoinerType(i) == JoinerType.EQUAL) {
+                joinerIndexes[indexedJoinerCount++] = i;
+            }
+        }
+        for (var i = 0; i < joinerCount; i++) {
+            if (joiner.getJoinerType(i) != JoinerType.EQUAL) {
+                joinerIndexes[indexedJoinerCount++] = i;
+            }
+        }
         if (joinerCount < 2) {
             joinerTypeMap = null;
         } else {
             joinerTypeMap = new TreeMap<>();
             for (var i = 1; i <= joinerCount; i++) {
-                var joinerType = i < joinerCount ? joiner.getJoinerType(i) : null;
-                var previousJoinerType = joiner.getJoinerType(i - 1);
+                var joinerType = i < joinerCount ? joiner.getJoinerType(joinerIndexes[i]) : null;
+                var previousJoinerType = joiner.getJoinerType(joinerIndexes[i - 1]);
                 if (joinerType != JoinerType.EQUAL || previousJoinerType != joinerType) {
                     /*
                      * Equal joiner is building a composite key with preceding equal joiner(s).
@@ -108,30 +129,30 @@ public class IndexerFactory<Right_> {
                     var keyFunctionLength = endIndexExclusive - startIndexInclusive;
                     // Consecutive EQUAL joiners are merged into a single composite keyFunction.
                     Function<A, Object> keyFunction = switch (keyFunctionLength) {
-                        case 1 -> castJoiner.getLeftMapping(startIndexInclusive);
+                        case 1 -> castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
                         case 2 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
                             yield a -> new Pair<>(mapping1.apply(a), mapping2.apply(a));
                         }
                         case 3 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
                             yield a -> new Triple<>(mapping1.apply(a), mapping2.apply(a), mapping3.apply(a));
                         }
                         case 4 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
-                            var mapping4 = castJoiner.getLeftMapping(startIndexInclusive + 3);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
+                            var mapping4 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 3]);
                             yield a -> new Quadruple<>(mapping1.apply(a), mapping2.apply(a), mapping3.apply(a),
                                     mapping4.apply(a));
                         }
                         default -> {
-                            Function<A, Object>[] mappings = new Function[joinerCount];
-                            for (var i = 0; i < joinerCount; i++) {
-                                var mapping = castJoiner.getLeftMapping(i);
+                            Function<A, Object>[] mappings = new Function[keyFunctionLength];
+                            for (var i = 0; i < keyFunctionLength; i++) {
+                                var mapping = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + i]);
                                 mappings[i] = mapping;
                             }
                             yield a -> {
@@ -196,30 +217,30 @@ public class IndexerFactory<Right_> {
                     var keyFunctionLength = endIndexExclusive - startIndexInclusive;
                     // Consecutive EQUAL joiners are merged into a single composite keyFunction.
                     BiFunction<A, B, Object> keyFunction = switch (keyFunctionLength) {
-                        case 1 -> castJoiner.getLeftMapping(startIndexInclusive);
+                        case 1 -> castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
                         case 2 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
                             yield (a, b) -> new Pair<>(mapping1.apply(a, b), mapping2.apply(a, b));
                         }
                         case 3 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
                             yield (a, b) -> new Triple<>(mapping1.apply(a, b), mapping2.apply(a, b), mapping3.apply(a, b));
                         }
                         case 4 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
-                            var mapping4 = castJoiner.getLeftMapping(startIndexInclusive + 3);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
+                            var mapping4 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 3]);
                             yield (a, b) -> new Quadruple<>(mapping1.apply(a, b), mapping2.apply(a, b), mapping3.apply(a, b),
                                     mapping4.apply(a, b));
                         }
                         default -> {
-                            BiFunction<A, B, Object>[] mappings = new BiFunction[joinerCount];
-                            for (var i = 0; i < joinerCount; i++) {
-                                var mapping = castJoiner.getLeftMapping(i);
+                            BiFunction<A, B, Object>[] mappings = new BiFunction[keyFunctionLength];
+                            for (var i = 0; i < keyFunctionLength; i++) {
+                                var mapping = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + i]);
                                 mappings[i] = mapping;
                             }
                             yield (a, b) -> {
@@ -284,31 +305,31 @@ public class IndexerFactory<Right_> {
                     var keyFunctionLength = endIndexExclusive - startIndexInclusive;
                     // Consecutive EQUAL joiners are merged into a single composite keyFunction.
                     TriFunction<A, B, C, Object> keyFunction = switch (keyFunctionLength) {
-                        case 1 -> castJoiner.getLeftMapping(startIndexInclusive);
+                        case 1 -> castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
                         case 2 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
                             yield (a, b, c) -> new Pair<>(mapping1.apply(a, b, c), mapping2.apply(a, b, c));
                         }
                         case 3 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
                             yield (a, b, c) -> new Triple<>(mapping1.apply(a, b, c), mapping2.apply(a, b, c),
                                     mapping3.apply(a, b, c));
                         }
                         case 4 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
-                            var mapping4 = castJoiner.getLeftMapping(startIndexInclusive + 3);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
+                            var mapping4 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 3]);
                             yield (a, b, c) -> new Quadruple<>(mapping1.apply(a, b, c), mapping2.apply(a, b, c),
                                     mapping3.apply(a, b, c), mapping4.apply(a, b, c));
                         }
                         default -> {
-                            TriFunction<A, B, C, Object>[] mappings = new TriFunction[joinerCount];
-                            for (var i = 0; i < joinerCount; i++) {
-                                var mapping = castJoiner.getLeftMapping(i);
+                            TriFunction<A, B, C, Object>[] mappings = new TriFunction[keyFunctionLength];
+                            for (var i = 0; i < keyFunctionLength; i++) {
+                                var mapping = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + i]);
                                 mappings[i] = mapping;
                             }
                             yield (a, b, c) -> {
@@ -373,31 +394,31 @@ public class IndexerFactory<Right_> {
                     var keyFunctionLength = endIndexExclusive - startIndexInclusive;
                     // Consecutive EQUAL joiners are merged into a single composite keyFunction.
                     QuadFunction<A, B, C, D, Object> keyFunction = switch (keyFunctionLength) {
-                        case 1 -> castJoiner.getLeftMapping(startIndexInclusive);
+                        case 1 -> castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
                         case 2 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
                             yield (a, b, c, d) -> new Pair<>(mapping1.apply(a, b, c, d), mapping2.apply(a, b, c, d));
                         }
                         case 3 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
                             yield (a, b, c, d) -> new Triple<>(mapping1.apply(a, b, c, d), mapping2.apply(a, b, c, d),
                                     mapping3.apply(a, b, c, d));
                         }
                         case 4 -> {
-                            var mapping1 = castJoiner.getLeftMapping(startIndexInclusive);
-                            var mapping2 = castJoiner.getLeftMapping(startIndexInclusive + 1);
-                            var mapping3 = castJoiner.getLeftMapping(startIndexInclusive + 2);
-                            var mapping4 = castJoiner.getLeftMapping(startIndexInclusive + 3);
+                            var mapping1 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 2]);
+                            var mapping4 = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + 3]);
                             yield (a, b, c, d) -> new Quadruple<>(mapping1.apply(a, b, c, d), mapping2.apply(a, b, c, d),
                                     mapping3.apply(a, b, c, d), mapping4.apply(a, b, c, d));
                         }
                         default -> {
-                            QuadFunction<A, B, C, D, Object>[] mappings = new QuadFunction[joinerCount];
-                            for (var i = 0; i < joinerCount; i++) {
-                                var mapping = castJoiner.getLeftMapping(i);
+                            QuadFunction<A, B, C, D, Object>[] mappings = new QuadFunction[keyFunctionLength];
+                            for (var i = 0; i < keyFunctionLength; i++) {
+                                var mapping = castJoiner.getLeftMapping(joinerIndexes[startIndexInclusive + i]);
                                 mappings[i] = mapping;
                             }
                             yield (a, b, c, d) -> {
@@ -463,30 +484,30 @@ public class IndexerFactory<Right_> {
                     var keyFunctionLength = endIndexExclusive - startIndexInclusive;
                     // Consecutive EQUAL joiners are merged into a single composite keyFunction.
                     Function<Right_, Object> keyFunction = switch (keyFunctionLength) {
-                        case 1 -> joiner.getRightMapping(startIndexInclusive);
+                        case 1 -> joiner.getRightMapping(joinerIndexes[startIndexInclusive]);
                         case 2 -> {
-                            var mapping1 = joiner.getRightMapping(startIndexInclusive);
-                            var mapping2 = joiner.getRightMapping(startIndexInclusive + 1);
+                            var mapping1 = joiner.getRightMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 1]);
                             yield a -> new Pair<>(mapping1.apply(a), mapping2.apply(a));
                         }
                         case 3 -> {
-                            var mapping1 = joiner.getRightMapping(startIndexInclusive);
-                            var mapping2 = joiner.getRightMapping(startIndexInclusive + 1);
-                            var mapping3 = joiner.getRightMapping(startIndexInclusive + 2);
+                            var mapping1 = joiner.getRightMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 2]);
                             yield a -> new Triple<>(mapping1.apply(a), mapping2.apply(a), mapping3.apply(a));
                         }
                         case 4 -> {
-                            var mapping1 = joiner.getRightMapping(startIndexInclusive);
-                            var mapping2 = joiner.getRightMapping(startIndexInclusive + 1);
-                            var mapping3 = joiner.getRightMapping(startIndexInclusive + 2);
-                            var mapping4 = joiner.getRightMapping(startIndexInclusive + 3);
+                            var mapping1 = joiner.getRightMapping(joinerIndexes[startIndexInclusive]);
+                            var mapping2 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 1]);
+                            var mapping3 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 2]);
+                            var mapping4 = joiner.getRightMapping(joinerIndexes[startIndexInclusive + 3]);
                             yield a -> new Quadruple<>(mapping1.apply(a), mapping2.apply(a), mapping3.apply(a),
                                     mapping4.apply(a));
                         }
                         default -> {
-                            Function<Right_, Object>[] mappings = new Function[joinerCount];
-                            for (var i = 0; i < joinerCount; i++) {
-                                var mapping = joiner.getRightMapping(i);
+                            Function<Right_, Object>[] mappings = new Function[keyFunctionLength];
+                            for (var i = 0; i < keyFunctionLength; i++) {
+                                var mapping = joiner.getRightMapping(joinerIndexes[startIndexInclusive + i]);
                                 mappings[i] = mapping;
                             }
                             yield a -> {
@@ -544,7 +565,7 @@ public class IndexerFactory<Right_> {
         } else if (joiner.getJoinerCount() == 1) { // Single joiner maps directly to EqualsIndexer or ComparisonIndexer.
             var joinerType = joiner.getJoinerType(0);
             if (joinerType == JoinerType.EQUAL) {
-                return new EqualsIndexer<>(NoneIndexer::new);
+                return new PrimitiveKeyEqualsIndexer<>(NoneIndexer::new);
             } else {
                 return new ComparisonIndexer<>(isLeftBridge ? joinerType : joinerType.flip(), NoneIndexer::new);
             }
@@ -558,8 +579,14 @@ public class IndexerFactory<Right_> {
             var actualDownstreamIndexerSupplier = downstreamIndexerSupplier;
             var effectivelyFinalIndexPropertyId = indexPropertyId;
             if (joinerType == JoinerType.EQUAL) {
-                downstreamIndexerSupplier =
-                        () -> new EqualsIndexer<>(effectivelyFinalIndexPropertyId, actualDownstreamIndexerSupplier);
+                if (isCompositeKey(entry.getKey())) {
+                    downstreamIndexerSupplier =
+                            () -> new EqualsIndexer<>(effectivelyFinalIndexPropertyId, actualDownstreamIndexerSupplier);
+                } else {
+                    downstreamIndexerSupplier =
+                            () -> new PrimitiveKeyEqualsIndexer<>(effectivelyFinalIndexPropertyId,
+                                    actualDownstreamIndexerSupplier);
+                }
             } else {
                 var actualJoinerType = isLeftBridge ? joinerType : joinerType.flip();
                 downstreamIndexerSupplier = () -> new ComparisonIndexer<>(actualJoinerType, effectivelyFinalIndexPropertyId,
@@ -570,4 +597,9 @@ public class IndexerFactory<Right_> {
         return downstreamIndexerSupplier.get();
     }
 
+    private boolean isCompositeKey(int endIndexExclusive) {
+        var startIndexInclusive = joinerTypeMap.lowerKey(endIndexExclusive);
+        return endIndexExclusive - (startIndexInclusive == null ? 0 : startIndexInclusive) > 1;
+    }
+
 }
@@ -0,0 +1,222 @@
+package ai.timefold.solver.constraint.streams.bavet.common.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
+
+/**
+ * Specialization of {@link EqualsIndexer} for keys which are typically {@link Integer} or {@link Long},
+ * such as IDs and day indexes.
+ * Those keys are stored unboxed in an open-addressing table with linear probing,
+ * avoiding {@link HashMap} nodes and the virtual {@link Object#hashCode()} and {@link Object#equals(Object)} calls.
+ * <p>
+ * The mapping functions of the joiners are generic, so the type of the key is only known at runtime.
+ * The first {@link Integer} or {@link Long} key determines which of the two classes is stored in the table;
+ * keys of any other class (including null) are stored in a fallback {@link HashMap}.
+ * Keys of different classes are never equal, so this split preserves the semantics of {@link EqualsIndexer}.
+ *
+ * @param <T>
+ */
+final class PrimitiveKeyEqualsIndexer<T> implements Indexer<T> {
+
+    private static final int INITIAL_CAPACITY = 16; // Must be a power of 2.
+
+    private final int propertyIndex;
+    private final Supplier<Indexer<T>> downstreamIndexerSupplier;
+    private Class<?> primitiveKeyClass = null;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Indexer<T>[] downstreamIndexers = new Indexer[INITIAL_CAPACITY];
+    private int primitiveKeyCount = 0;
+    private Map<Object, Indexer<T>> fallbackIndexerMap = null;
+
+    public PrimitiveKeyEqualsIndexer(Supplier<Indexer<T>> downstreamIndexerSupplier) {
+        this(0, downstreamIndexerSupplier);
+    }
+
+    public PrimitiveKeyEqualsIndexer(int propertyIndex, Supplier<Indexer<T>> downstreamIndexerSupplier) {
+        this.propertyIndex = propertyIndex;
+        this.downstreamIndexerSupplier = Objects.requireNonNull(downstreamIndexerSupplier);
+    }
+
+    @Override
+    public ElementAwareListEntry<T> put(IndexProperties indexProperties, T tuple) {
+        Object indexKey = indexProperties.toKey(propertyIndex);
+        Indexer<T> downstreamIndexer;
+        if (isPrimitiveKey(indexKey)) {
+            long key = ((Number) indexKey).longValue();
+            int slot = findSlot(key);
+            downstreamIndexer = downstreamIndexers[slot];
+            if (downstreamIndexer == null) {
+                downstreamIndexer = downstreamIndexerSupplier.get();
+                keys[slot] = key;
+                downstreamIndexers[slot] = downstreamIndexer;
+                primitiveKeyCount++;
+                if (primitiveKeyCount * 2 > keys.length) {
+                    grow();
+                }
+            }
+        } else {
+            if (fallbackIndexerMap == null) {
+                fallbackIndexerMap = new HashMap<>();
+            }
+            // Avoids computeIfAbsent in order to not create lambdas on the hot path.
+            downstreamIndexer = fallbackIndexerMap.get(indexKey);
+            if (downstreamIndexer == null) {
+                downstreamIndexer = downstreamIndexerSupplier.get();
+                fallbackIndexerMap.put(indexKey, downstreamIndexer);
+            }
+        }
+        return downstreamIndexer.put(indexProperties, tuple);
+    }
+
+    @Override
+    public void remove(IndexProperties indexProperties, ElementAwareListEntry<T> entry) {
+        Object indexKey = indexProperties.toKey(propertyIndex);
+        if (isPrimitiveKey(indexKey)) {
+            int slot = findSlot(((Number) indexKey).longValue());
+            Indexer<T> downstreamIndexer = downstreamIndexers[slot];
+            if (downstreamIndexer == null) {
+                throw createMissingTupleException(indexProperties, entry);
+            }
+            downstreamIndexer.remove(indexProperties, entry);
+            if (downstreamIndexer.isEmpty()) {
+                removeSlot(slot);
+            }
+        } else {
+            Indexer<T> downstreamIndexer = fallbackIndexerMap == null ? null : fallbackIndexerMap.get(indexKey);
+            if (downstreamIndexer == null) {
+                throw createMissingTupleException(indexProperties, entry);
+            }
+            downstreamIndexer.remove(indexProperties, entry);
+            if (downstreamIndexer.isEmpty()) {
+                fallbackIndexerMap.remove(indexKey);
+            }
+        }
+    }
+
+    private IllegalStateException createMissingTupleException(IndexProperties indexProperties,
+            ElementAwareListEntry<T> entry) {
+        return new IllegalStateException("Impossible state: the tuple (" + entry.getElement()
+                + ") with indexProperties (" + indexProperties
+                + ") doesn't exist in the indexer " + this + ".");
+    }
+
+    @Override
+    public int size(IndexProperties indexProperties) {
+        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties);
+        if (downstreamIndexer == null) {
+            return 0;
+        }
+        return downstreamIndexer.size(indexProperties);
+    }
+
+    @Override
+    public void forEach(IndexProperties indexProperties, Consumer<T> tupleConsumer) {
+        Indexer<T> downstreamIndexer = getDownstreamIndexer(indexProperties);
+        if (downstreamIndexer == null) {
+            return;
+        }
+        downstreamIndexer.forEach(indexProperties, tupleConsumer);
+    }
+
+    private Indexer<T> getDownstreamIndexer(IndexProperties indexProperties) {
+        Object indexKey = indexProperties.toKey(propertyIndex);
+        if (isPrimitiveKey(indexKey)) {
+            return downstreamIndexers[findSlot(((Number) indexKey).longValue())];
+        } else if (fallbackIndexerMap == null) {
+            return null;
+        } else {
+            return fallbackIndexerMap.get(indexKey);
+        }
+    }
+
+    private boolean isPrimitiveKey(Object indexKey) {
+        if (indexKey == null) {
+            return false;
+        }
+        Class<?> keyClass = indexKey.getClass();
+        if (keyClass == primitiveKeyClass) {
+            return true;
+        } else if (primitiveKeyClass == null && (keyClass == Integer.class || keyClass == Long.class)) {
+            // Once decided, never changes; otherwise keys would have to be moved between the table and the map.
+            primitiveKeyClass = keyClass;
+            return true;
+        }
+        return false;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads consecutive IDs over the table.
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * @param key the key to look for
+     * @return the slot which contains the key, or the empty slot where the key would be inserted
+     */
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (downstreamIndexers[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeSlot(int slot) {
+        // Backward-shift deletion keeps probe sequences intact without tombstones.
+        int mask = keys.length - 1;
+        int emptySlot = slot;
+        int currentSlot = slot;
+        while (true) {
+            currentSlot = (currentSlot + 1) & mask;
+            Indexer<T> currentIndexer = downstreamIndexers[currentSlot];
+            if (currentIndexer == null) {
+                break;
+            }
+            int idealSlot = hash(keys[currentSlot]) & mask;
+            // Only move the entry if its ideal slot does not lie cyclically within (emptySlot, currentSlot].
+            boolean canMove = (emptySlot <= currentSlot)
+                    ? (idealSlot <= emptySlot || idealSlot > currentSlot)
+                    : (idealSlot <= emptySlot && idealSlot > currentSlot);
+            if (canMove) {
+                keys[emptySlot] = keys[currentSlot];
+                downstreamIndexers[emptySlot] = currentIndexer;
+                emptySlot = currentSlot;
+            }
+        }
+        downstreamIndexers[emptySlot] = null;
+        primitiveKeyCount--;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Indexer<T>[] oldDownstreamIndexers = downstreamIndexers;
+        int newCapacity = oldKeys.length * 2;
+        keys = new long[newCapacity];
+        downstreamIndexers = new Indexer[newCapacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            Indexer<T> downstreamIndexer = oldDownstreamIndexers[i];
+            if (downstreamIndexer != null) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                downstreamIndexers[slot] = downstreamIndexer;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return primitiveKeyCount == 0 && (fallbackIndexerMap == null || fallbackIndexerMap.isEmpty());
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + (primitiveKeyCount + (fallbackIndexerMap == null ? 0 : fallbackIndexerMap.size()));
+    }
+
+}
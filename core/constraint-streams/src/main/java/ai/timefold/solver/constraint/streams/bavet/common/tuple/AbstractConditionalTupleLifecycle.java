@@ -1,11 +1,19 @@
 package ai.timefold.solver.constraint.streams.bavet.common.tuple;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public abstract class AbstractConditionalTupleLifecycle<Tuple_ extends AbstractTuple>
         implements TupleLifecycle<Tuple_> {
 
+    // Batches larger than this, such as the initial load, do not keep their capacity.
+    private static final int RETAINED_CAPACITY = 1024;
+
     private final TupleLifecycle<Tuple_> tupleLifecycle;
+    // Reused by every batch, to not allocate a new list for every propagation.
+    private List<Tuple_> acceptedTupleList = new ArrayList<>();
 
     protected AbstractConditionalTupleLifecycle(TupleLifecycle<Tuple_> tupleLifecycle) {
         this.tupleLifecycle = Objects.requireNonNull(tupleLifecycle);
@@ -18,6 +26,29 @@ public abstract class AbstractConditionalTupleLifecycle<Tuple_ extends AbstractT
         }
     }
 
+    /**
+     * Passes the accepted tuples on as a batch, so that the next nodes can process them as a batch too.
+     */
+    @Override
+    public final void insertAll(Collection<Tuple_> tuples) {
+        try {
+            for (Tuple_ tuple : tuples) {
+                if (test(tuple)) {
+                    acceptedTupleList.add(tuple);
+                }
+            }
+            if (!acceptedTupleList.isEmpty()) {
+                tupleLifecycle.insertAll(acceptedTupleList);
+            }
+        } finally { // Do not pass the tuples of a failed batch on with the next one.
+            if (acceptedTupleList.size() > RETAINED_CAPACITY) {
+                acceptedTupleList = new ArrayList<>();
+            } else {
+                acceptedTupleList.clear();
+            }
+        }
+    }
+
     @Override
     public final void update(Tuple_ tuple) {
         if (test(tuple)) {
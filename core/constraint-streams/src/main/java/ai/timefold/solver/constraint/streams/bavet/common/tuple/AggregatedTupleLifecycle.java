@@ -1,5 +1,7 @@
 package ai.timefold.solver.constraint.streams.bavet.common.tuple;
 
+import java.util.Collection;
+
 final class AggregatedTupleLifecycle<Tuple_ extends AbstractTuple> implements TupleLifecycle<Tuple_> {
     private final TupleLifecycle<Tuple_>[] lifecycles;
 
@@ -14,6 +16,13 @@ final class AggregatedTupleLifecycle<Tuple_ extends AbstractTuple> implements Tu
         }
     }
 
+    @Override
+    public void insertAll(Collection<Tuple_> tuples) {
+        for (TupleLifecycle<Tuple_> lifecycle : lifecycles) {
+            lifecycle.insertAll(tuples);
+        }
+    }
+
     @Override
     public void update(Tuple_ tuple) {
         for (TupleLifecycle<Tuple_> lifecycle : lifecycles) {
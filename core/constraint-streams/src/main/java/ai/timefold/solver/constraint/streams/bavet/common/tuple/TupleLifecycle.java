@@ -1,5 +1,7 @@
 package ai.timefold.solver.constraint.streams.bavet.common.tuple;
 
+import java.util.Collection;
+
 public interface TupleLifecycle<Tuple_ extends AbstractTuple> {
 
     static <Tuple_ extends AbstractTuple> TupleLifecycle<Tuple_> ofLeft(LeftTupleLifecycle<Tuple_> leftTupleLifecycle) {
@@ -16,6 +18,20 @@ public interface TupleLifecycle<Tuple_ extends AbstractTuple> {
 
     void insert(Tuple_ tuple);
 
+    /**
+     * Inserts many tuples at once, such as when the working solution is set.
+     * Implementations which fan out or filter override this,
+     * so that each downstream lifecycle processes the entire batch before the next one starts,
+     * instead of all of them taking turns on every single tuple.
+     *
+     * @param tuples never null, must not be modified
+     */
+    default void insertAll(Collection<Tuple_> tuples) {
+        for (Tuple_ tuple : tuples) {
+            insert(tuple);
+        }
+    }
+
     void update(Tuple_ tuple);
 
     void retract(Tuple_ tuple);
@@ -25,6 +25,7 @@ final class BavetIfExistsQuadConstraintStream<Solution_, A, B, C, D, E>
     private final boolean shouldExist;
     private final DefaultPentaJoiner<A, B, C, D, E> joiner;
     private final PentaPredicate<A, B, C, D, E> filtering;
+    private final IndexerFactory<E> indexerFactory;
 
     public BavetIfExistsQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractQuadConstraintStream<Solution_, A, B, C, D> parentABCD,
@@ -37,6 +38,7 @@ final class BavetIfExistsQuadConstraintStream<Solution_, A, B, C, D, E>
         this.shouldExist = shouldExist;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -63,7 +65,6 @@ final class BavetIfExistsQuadConstraintStream<Solution_, A, B, C, D, E>
     @Override
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<QuadTuple<A, B, C, D>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<E> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? (filtering == null ? new IndexedIfExistsQuadNode<>(shouldExist,
                         indexerFactory.buildQuadLeftMapping(), indexerFactory.buildRightMapping(),
@@ -25,6 +25,7 @@ public final class BavetJoinQuadConstraintStream<Solution_, A, B, C, D>
 
     private final DefaultQuadJoiner<A, B, C, D> joiner;
     private final QuadPredicate<A, B, C, D> filtering;
+    private final IndexerFactory<D> indexerFactory;
 
     public BavetJoinQuadConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetForeBridgeTriConstraintStream<Solution_, A, B, C> leftParent,
@@ -35,6 +36,7 @@ public final class BavetJoinQuadConstraintStream<Solution_, A, B, C, D>
         this.rightParent = rightParent;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -57,7 +59,6 @@ public final class BavetJoinQuadConstraintStream<Solution_, A, B, C, D>
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
         TupleLifecycle<QuadTuple<A, B, C, D>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<D> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? new IndexedJoinQuadNode<>(
                         indexerFactory.buildTriLeftMapping(), indexerFactory.buildRightMapping(),
@@ -25,6 +25,7 @@ final class BavetIfExistsTriConstraintStream<Solution_, A, B, C, D>
     private final boolean shouldExist;
     private final DefaultQuadJoiner<A, B, C, D> joiner;
     private final QuadPredicate<A, B, C, D> filtering;
+    private final IndexerFactory<D> indexerFactory;
 
     public BavetIfExistsTriConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractTriConstraintStream<Solution_, A, B, C> parentABC,
@@ -37,6 +38,7 @@ final class BavetIfExistsTriConstraintStream<Solution_, A, B, C, D>
         this.shouldExist = shouldExist;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -63,7 +65,6 @@ final class BavetIfExistsTriConstraintStream<Solution_, A, B, C, D>
     @Override
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<TriTuple<A, B, C>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<D> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? (filtering == null ? new IndexedIfExistsTriNode<>(shouldExist,
                         indexerFactory.buildTriLeftMapping(), indexerFactory.buildRightMapping(),
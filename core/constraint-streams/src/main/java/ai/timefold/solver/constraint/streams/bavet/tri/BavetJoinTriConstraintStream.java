@@ -25,6 +25,7 @@ public final class BavetJoinTriConstraintStream<Solution_, A, B, C>
 
     private final DefaultTriJoiner<A, B, C> joiner;
     private final TriPredicate<A, B, C> filtering;
+    private final IndexerFactory<C> indexerFactory;
 
     public BavetJoinTriConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetForeBridgeBiConstraintStream<Solution_, A, B> leftParent,
@@ -35,6 +36,7 @@ public final class BavetJoinTriConstraintStream<Solution_, A, B, C>
         this.rightParent = rightParent;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -57,7 +59,6 @@ public final class BavetJoinTriConstraintStream<Solution_, A, B, C>
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         int outputStoreSize = buildHelper.extractTupleStoreSize(this);
         TupleLifecycle<TriTuple<A, B, C>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<C> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? new IndexedJoinTriNode<>(
                         indexerFactory.buildBiLeftMapping(), indexerFactory.buildRightMapping(),
@@ -11,8 +11,9 @@ final class TriScorer<A, B, C> extends AbstractScorer<TriTuple<A, B, C>> {
     private final QuadFunction<WeightedScoreImpacter<?, ?>, A, B, C, UndoScoreImpacter> scoreImpacter;
 
     public TriScorer(WeightedScoreImpacter<?, ?> weightedScoreImpacter,
-            QuadFunction<WeightedScoreImpacter<?, ?>, A, B, C, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(weightedScoreImpacter, inputStoreIndex);
+            QuadFunction<WeightedScoreImpacter<?, ?>, A, B, C, UndoScoreImpacter> scoreImpacter, int inputStoreIndex,
+            int entryStoreIndex) {
+        super(weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
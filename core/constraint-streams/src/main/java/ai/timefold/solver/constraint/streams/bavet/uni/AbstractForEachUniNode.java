@@ -1,7 +1,6 @@
 package ai.timefold.solver.constraint.streams.bavet.uni;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import ai.timefold.solver.constraint.streams.bavet.common.AbstractNode;
 import ai.timefold.solver.constraint.streams.bavet.common.Propagator;
@@ -15,6 +14,11 @@ import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
  * Considering that most streams start with a nullity check on genuine planning variables,
  * it makes sense to create a specialized version of the node for this case ({@link ForEachExcludingNullVarsUniNode}),
  * as opposed to forcing an extra filter node on the generic case ({@link ForEachIncludingNullVarsUniNode}).
+ * <p>
+ * The session gives every fact a small integer handle,
+ * which is shared by all forEach nodes of the same declared class and reused after the fact is retracted.
+ * The tuple of a fact is therefore found by an array lookup instead of by identity hashing,
+ * which matters when a single planning entity feeds dozens of forEach nodes.
  *
  * @param <A>
  */
@@ -25,7 +29,7 @@ public abstract sealed class AbstractForEachUniNode<A>
     private final Class<A> forEachClass;
     private final int outputStoreSize;
     private final StaticPropagationQueue<UniTuple<A>> propagationQueue;
-    protected final Map<A, UniTuple<A>> tupleMap = new IdentityHashMap<>(1000);
+    private UniTuple<A>[] tuples = new UniTuple[0]; // Indexed by fact handle.
 
     public AbstractForEachUniNode(Class<A> forEachClass, TupleLifecycle<UniTuple<A>> nextNodesTupleLifecycle,
             int outputStoreSize) {
@@ -34,16 +38,27 @@ public abstract sealed class AbstractForEachUniNode<A>
         this.propagationQueue = new StaticPropagationQueue<>(nextNodesTupleLifecycle);
     }
 
-    public void insert(A a) {
-        UniTuple<A> tuple = new UniTuple<>(a, outputStoreSize);
-        UniTuple<A> old = tupleMap.put(a, tuple);
-        if (old != null) {
+    public void insert(A a, int handle) {
+        if (getTuple(handle) != null) {
             throw new IllegalStateException("The fact (" + a + ") was already inserted, so it cannot insert again.");
         }
+        UniTuple<A> tuple = new UniTuple<>(a, outputStoreSize);
+        if (handle >= tuples.length) {
+            tuples = Arrays.copyOf(tuples, Math.max(handle + 1, tuples.length * 2));
+        }
+        tuples[handle] = tuple;
         propagationQueue.insert(tuple);
     }
 
-    public abstract void update(A a);
+    /**
+     * @param handle negative if the session never assigned a handle to the fact
+     * @return null if no tuple for that handle
+     */
+    protected final UniTuple<A> getTuple(int handle) {
+        return handle >= 0 && handle < tuples.length ? tuples[handle] : null;
+    }
+
+    public abstract void update(A a, int handle);
 
     protected final void innerUpdate(A a, UniTuple<A> tuple) {
         TupleState state = tuple.state;
@@ -57,11 +72,12 @@ public abstract sealed class AbstractForEachUniNode<A>
         }
     }
 
-    public void retract(A a) {
-        UniTuple<A> tuple = tupleMap.remove(a);
+    public void retract(A a, int handle) {
+        UniTuple<A> tuple = getTuple(handle);
         if (tuple == null) {
             throw new IllegalStateException("The fact (" + a + ") was never inserted, so it cannot retract.");
         }
+        tuples[handle] = null;
         TupleState state = tuple.state;
         if (state.isDirty()) {
             if (state == TupleState.DYING || state == TupleState.ABORTING) {
@@ -73,6 +89,22 @@ public abstract sealed class AbstractForEachUniNode<A>
         }
     }
 
+    /**
+     * Forgets the tuple of a fact which was never inserted before {@link #update(Object, int)} inserted it,
+     * because another node rejected the same update.
+     * Unlike {@link #retract(Object, int)}, this does nothing if there is no such tuple.
+     *
+     * @param handle the handle which the rejected update was given
+     */
+    public final void abortInsert(int handle) {
+        UniTuple<A> tuple = getTuple(handle);
+        if (tuple == null) {
+            return;
+        }
+        tuples[handle] = null;
+        propagationQueue.retract(tuple, tuple.state == TupleState.CREATING ? TupleState.ABORTING : TupleState.DYING);
+    }
+
     @Override
     public Propagator getPropagator() {
         return propagationQueue;
@@ -24,6 +24,7 @@ final class BavetIfExistsUniConstraintStream<Solution_, A, B>
     private final boolean shouldExist;
     private final DefaultBiJoiner<A, B> joiner;
     private final BiPredicate<A, B> filtering;
+    private final IndexerFactory<B> indexerFactory;
 
     public BavetIfExistsUniConstraintStream(BavetConstraintFactory<Solution_> constraintFactory,
             BavetAbstractUniConstraintStream<Solution_, A> parentA,
@@ -36,6 +37,7 @@ final class BavetIfExistsUniConstraintStream<Solution_, A, B>
         this.shouldExist = shouldExist;
         this.joiner = joiner;
         this.filtering = filtering;
+        this.indexerFactory = new IndexerFactory<>(joiner);
     }
 
     @Override
@@ -62,7 +64,6 @@ final class BavetIfExistsUniConstraintStream<Solution_, A, B>
     @Override
     public <Score_ extends Score<Score_>> void buildNode(NodeBuildHelper<Score_> buildHelper) {
         TupleLifecycle<UniTuple<A>> downstream = buildHelper.getAggregatedTupleLifecycle(childStreamList);
-        IndexerFactory<B> indexerFactory = new IndexerFactory<>(joiner);
         var node = indexerFactory.hasJoiners()
                 ? (filtering == null ? new IndexedIfExistsUniNode<>(shouldExist,
                         indexerFactory.buildUniLeftMapping(), indexerFactory.buildRightMapping(),
@@ -17,31 +17,31 @@ public final class ForEachExcludingNullVarsUniNode<A> extends AbstractForEachUni
     }
 
     @Override
-    public void insert(A a) {
+    public void insert(A a, int handle) {
         if (!filter.test(a)) { // Skip inserting the tuple as it does not pass the filter.
             return;
         }
-        super.insert(a);
+        super.insert(a, handle);
     }
 
     @Override
-    public void update(A a) {
-        UniTuple<A> tuple = tupleMap.get(a);
+    public void update(A a, int handle) {
+        UniTuple<A> tuple = getTuple(handle);
         if (tuple == null) { // The tuple was never inserted because it did not pass the filter.
-            insert(a);
+            insert(a, handle);
         } else if (filter.test(a)) {
             innerUpdate(a, tuple);
         } else {
-            super.retract(a); // Call super.retract() to avoid testing the filter again.
+            super.retract(a, handle); // Call super.retract() to avoid testing the filter again.
         }
     }
 
     @Override
-    public void retract(A a) {
+    public void retract(A a, int handle) {
         if (!filter.test(a)) { // The tuple was never inserted because it did not pass the filter.
             return;
         }
-        super.retract(a);
+        super.retract(a, handle);
     }
 
 }
@@ -11,8 +11,8 @@ public final class ForEachIncludingNullVarsUniNode<A> extends AbstractForEachUni
     }
 
     @Override
-    public void update(A a) {
-        UniTuple<A> tuple = tupleMap.get(a);
+    public void update(A a, int handle) {
+        UniTuple<A> tuple = getTuple(handle);
         if (tuple == null) {
             throw new IllegalStateException("The fact (" + a + ") was never inserted, so it cannot update.");
         }
@@ -12,8 +12,9 @@ final class UniScorer<A> extends AbstractScorer<UniTuple<A>> {
     private final BiFunction<WeightedScoreImpacter<?, ?>, A, UndoScoreImpacter> scoreImpacter;
 
     public UniScorer(WeightedScoreImpacter<?, ?> weightedScoreImpacter,
-            BiFunction<WeightedScoreImpacter<?, ?>, A, UndoScoreImpacter> scoreImpacter, int inputStoreIndex) {
-        super(weightedScoreImpacter, inputStoreIndex);
+            BiFunction<WeightedScoreImpacter<?, ?>, A, UndoScoreImpacter> scoreImpacter, int inputStoreIndex,
+            int entryStoreIndex) {
+        super(weightedScoreImpacter, inputStoreIndex, entryStoreIndex);
         this.scoreImpacter = scoreImpacter;
     }
 
@@ -94,6 +94,14 @@ public abstract class AbstractConstraint<Solution_, Constraint_ extends Abstract
         return constraintRef;
     }
 
+    /**
+     * @return true if the constraint weight comes from the working solution,
+     *         and can therefore change while the solver is running
+     */
+    public final boolean isConstraintWeightConfigurable() {
+        return isConstraintWeightConfigurable;
+    }
+
     public final ScoreImpactType getScoreImpactType() {
         return scoreImpactType;
     }
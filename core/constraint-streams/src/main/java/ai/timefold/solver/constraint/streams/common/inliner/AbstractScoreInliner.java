@@ -1,6 +1,7 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -8,8 +9,10 @@ import java.util.function.Supplier;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
 import ai.timefold.solver.core.api.score.constraint.ConstraintMatch;
 import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
 import ai.timefold.solver.core.api.score.constraint.Indictment;
 import ai.timefold.solver.core.api.score.stream.Constraint;
 import ai.timefold.solver.core.impl.score.buildin.BendableBigDecimalScoreDefinition;
@@ -33,7 +36,8 @@ import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
 
 /**
  * Keeps track of the working score and constraint matches for a single constraint session.
- * Every time constraint weights change, a new instance needs to be created.
+ * Every time constraints are enabled or disabled, a new instance needs to be created.
+ * Other changes of constraint weights are applied through {@link #updateConstraintWeight(AbstractConstraint, Score)}.
  *
  * @param <Score_>
  */
@@ -113,7 +117,8 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
     protected AbstractScoreInliner(Map<Constraint, Score_> constraintWeightMap, boolean constraintMatchEnabled) {
         this.constraintMatchEnabled = constraintMatchEnabled;
         constraintWeightMap.forEach(this::validateConstraintWeight);
-        this.constraintWeightMap = constraintWeightMap;
+        // Copied, as it is modified when a constraint weight is updated.
+        this.constraintWeightMap = new LinkedHashMap<>(constraintWeightMap);
         this.constraintMatchMap =
                 constraintMatchEnabled ? CollectionUtils.newIdentityHashMap(constraintWeightMap.size()) : null;
         if (constraintMatchEnabled) {
@@ -132,6 +137,15 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
         }
     }
 
+    /**
+     * Scores are immutable, so inliners of primitive score types return the previously extracted instance
+     * if the score did not change since the previous extraction.
+     * This avoids creating a new score for every move which does not impact the score,
+     * which is common when the solver searches a plateau.
+     *
+     * @param initScore {@link Score#initScore()}
+     * @return never null
+     */
     public abstract Score_ extractScore(int initScore);
 
     /**
@@ -142,6 +156,29 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
      */
     public abstract WeightedScoreImpacter<Score_, ?> buildWeightedScoreImpacter(AbstractConstraint<?, ?, ?> constraint);
 
+    /**
+     * Changes the weight of a constraint which already has a {@link WeightedScoreImpacter}.
+     * The existing impacter keeps impacting with the old weight,
+     * so it is up to the caller to undo all of its impacts and redo them with the returned impacter.
+     *
+     * @param constraint never null, one of the constraints this inliner was created with
+     * @param constraintWeight never null, not zero
+     * @return never null, the impacter to use from now on
+     */
+    public final WeightedScoreImpacter<Score_, ?> updateConstraintWeight(AbstractConstraint<?, ?, ?> constraint,
+            Score_ constraintWeight) {
+        validateConstraintWeight(constraint, constraintWeight);
+        if (constraintWeightMap.replace(constraint, constraintWeight) == null) {
+            throw new IllegalStateException("Impossible state: Unknown constraint (%s)."
+                    .formatted(constraint.getConstraintRef()));
+        }
+        return buildWeightedScoreImpacter(constraint);
+    }
+
+    public final Map<Constraint, Score_> getConstraintWeightMap() {
+        return Collections.unmodifiableMap(constraintWeightMap);
+    }
+
     protected final UndoScoreImpacter addConstraintMatch(Constraint constraint, Score_ score,
             ConstraintMatchSupplier<Score_> constraintMatchSupplier, UndoScoreImpacter undoScoreImpact) {
         ElementAwareList<ConstraintMatchCarrier<Score_>> constraintMatchList = getConstraintMatchList(constraint);
@@ -179,7 +216,15 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
         return constraintMatchEnabled;
     }
 
+    private void assertConstraintMatchEnabled() {
+        if (!constraintMatchEnabled) {
+            throw new IllegalStateException("When constraintMatchEnabled (" + constraintMatchEnabled
+                    + ") is disabled in the constructor, this method should not be called.");
+        }
+    }
+
     public final Map<String, ConstraintMatchTotal<Score_>> getConstraintIdToConstraintMatchTotalMap() {
+        assertConstraintMatchEnabled();
         if (constraintIdToConstraintMatchTotalMap == null) {
             rebuildConstraintMatchTotals();
         }
@@ -202,7 +247,32 @@ public abstract class AbstractScoreInliner<Score_ extends Score<Score_>> {
         this.constraintIdToConstraintMatchTotalMap = constraintIdToConstraintMatchTotalMap;
     }
 
+    /**
+     * Sums up the score of each constraint from its constraint matches,
+     * without ever creating the {@link ConstraintMatch} instances or their justifications.
+     * Use when only the score per constraint is needed, such as in a shallow score analysis.
+     *
+     * @return never null; {@link ConstraintAnalysis#matches()} is always null
+     * @throws IllegalStateException if {@link #isConstraintMatchEnabled()} returns false
+     */
+    public final Map<ConstraintRef, ConstraintAnalysis<Score_>> getShallowConstraintAnalysisMap() {
+        assertConstraintMatchEnabled();
+        var constraintAnalysisMap = new TreeMap<ConstraintRef, ConstraintAnalysis<Score_>>();
+        for (var entry : constraintMatchMap.entrySet()) {
+            var constraint = entry.getKey();
+            var constraintWeight = constraintWeightMap.get(constraint);
+            var score = constraintWeight.zero();
+            for (var carrier : entry.getValue()) {
+                score = score.add(carrier.score);
+            }
+            var constraintRef = constraint.getConstraintRef();
+            constraintAnalysisMap.put(constraintRef, new ConstraintAnalysis<>(constraintRef, constraintWeight, score, null));
+        }
+        return constraintAnalysisMap;
+    }
+
     public final Map<Object, Indictment<Score_>> getIndictmentMap() {
+        assertConstraintMatchEnabled();
         if (indictmentMap == null) {
             rebuildIndictments();
         }
@@ -1,6 +1,8 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
@@ -11,6 +13,14 @@ final class BendableBigDecimalScoreContext extends ScoreContext<BendableBigDecim
     private final int softScoreLevelCount;
     private final int scoreLevel;
     private final BigDecimal scoreLevelWeight;
+    /**
+     * Only the levels in which the constraint weight is not zero, with their weights,
+     * so that the impact of a multi-level constraint weight neither visits nor allocates for the other levels.
+     */
+    private final int[] hardScoreLevels;
+    private final BigDecimal[] hardScoreLevelWeights;
+    private final int[] softScoreLevels;
+    private final BigDecimal[] softScoreLevelWeights;
 
     public BendableBigDecimalScoreContext(BendableBigDecimalScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
             BendableBigDecimalScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
@@ -20,6 +30,18 @@ final class BendableBigDecimalScoreContext extends ScoreContext<BendableBigDecim
         this.softScoreLevelCount = softScoreLevelCount;
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
+        this.hardScoreLevels = IntStream.range(0, hardScoreLevelCount)
+                .filter(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel).signum() != 0)
+                .toArray();
+        this.hardScoreLevelWeights = Arrays.stream(hardScoreLevels)
+                .mapToObj(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel))
+                .toArray(BigDecimal[]::new);
+        this.softScoreLevels = IntStream.range(0, softScoreLevelCount)
+                .filter(softScoreLevel -> constraintWeight.softScore(softScoreLevel).signum() != 0)
+                .toArray();
+        this.softScoreLevelWeights = Arrays.stream(softScoreLevels)
+                .mapToObj(softScoreLevel -> constraintWeight.softScore(softScoreLevel))
+                .toArray(BigDecimal[]::new);
     }
 
     public BendableBigDecimalScoreContext(BendableBigDecimalScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
@@ -57,30 +79,40 @@ final class BendableBigDecimalScoreContext extends ScoreContext<BendableBigDecim
 
     public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<BendableBigDecimalScore> constraintMatchSupplier) {
-        BigDecimal[] hardImpacts = new BigDecimal[hardScoreLevelCount];
-        BigDecimal[] softImpacts = new BigDecimal[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            BigDecimal hardImpact = constraintWeight.hardScore(hardScoreLevel).multiply(matchWeight);
-            hardImpacts[hardScoreLevel] = hardImpact;
-            parent.hardScores[hardScoreLevel] = parent.hardScores[hardScoreLevel].add(hardImpact);
+        BigDecimal[] hardImpacts = new BigDecimal[hardScoreLevels.length];
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            BigDecimal hardImpact = hardScoreLevelWeights[i].multiply(matchWeight);
+            hardImpacts[i] = hardImpact;
+            parent.hardScores[hardScoreLevels[i]] = parent.hardScores[hardScoreLevels[i]].add(hardImpact);
         }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            BigDecimal softImpact = constraintWeight.softScore(softScoreLevel).multiply(matchWeight);
-            softImpacts[softScoreLevel] = softImpact;
-            parent.softScores[softScoreLevel] = parent.softScores[softScoreLevel].add(softImpact);
+        BigDecimal[] softImpacts = new BigDecimal[softScoreLevels.length];
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            BigDecimal softImpact = softScoreLevelWeights[i].multiply(matchWeight);
+            softImpacts[i] = softImpact;
+            parent.softScores[softScoreLevels[i]] = parent.softScores[softScoreLevels[i]].add(softImpact);
         }
         UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                parent.hardScores[hardScoreLevel] = parent.hardScores[hardScoreLevel].subtract(hardImpacts[hardScoreLevel]);
+            for (int i = 0; i < hardScoreLevels.length; i++) {
+                parent.hardScores[hardScoreLevels[i]] = parent.hardScores[hardScoreLevels[i]].subtract(hardImpacts[i]);
             }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                parent.softScores[softScoreLevel] = parent.softScores[softScoreLevel].subtract(softImpacts[softScoreLevel]);
+            for (int i = 0; i < softScoreLevels.length; i++) {
+                parent.softScores[softScoreLevels[i]] = parent.softScores[softScoreLevels[i]].subtract(softImpacts[i]);
             }
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
-        return impactWithConstraintMatch(undoScoreImpact, BendableBigDecimalScore.of(hardImpacts, softImpacts),
+        BigDecimal[] allHardImpacts = new BigDecimal[hardScoreLevelCount];
+        Arrays.fill(allHardImpacts, BigDecimal.ZERO);
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            allHardImpacts[hardScoreLevels[i]] = hardImpacts[i];
+        }
+        BigDecimal[] allSoftImpacts = new BigDecimal[softScoreLevelCount];
+        Arrays.fill(allSoftImpacts, BigDecimal.ZERO);
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            allSoftImpacts[softScoreLevels[i]] = softImpacts[i];
+        }
+        return impactWithConstraintMatch(undoScoreImpact, BendableBigDecimalScore.of(allHardImpacts, allSoftImpacts),
                 constraintMatchSupplier);
     }
 
@@ -1,5 +1,8 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.core.api.score.buildin.bendablelong.BendableLongScore;
 
@@ -9,6 +12,14 @@ final class BendableLongScoreContext extends ScoreContext<BendableLongScore, Ben
     private final int softScoreLevelCount;
     private final int scoreLevel;
     private final long scoreLevelWeight;
+    /**
+     * Only the levels in which the constraint weight is not zero, with their weights,
+     * so that the impact of a multi-level constraint weight neither visits nor allocates for the other levels.
+     */
+    private final int[] hardScoreLevels;
+    private final long[] hardScoreLevelWeights;
+    private final int[] softScoreLevels;
+    private final long[] softScoreLevelWeights;
 
     public BendableLongScoreContext(BendableLongScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
             BendableLongScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
@@ -18,6 +29,18 @@ final class BendableLongScoreContext extends ScoreContext<BendableLongScore, Ben
         this.softScoreLevelCount = softScoreLevelCount;
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
+        this.hardScoreLevels = IntStream.range(0, hardScoreLevelCount)
+                .filter(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel) != 0)
+                .toArray();
+        this.hardScoreLevelWeights = Arrays.stream(hardScoreLevels)
+                .mapToLong(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel))
+                .toArray();
+        this.softScoreLevels = IntStream.range(0, softScoreLevelCount)
+                .filter(softScoreLevel -> constraintWeight.softScore(softScoreLevel) != 0)
+                .toArray();
+        this.softScoreLevelWeights = Arrays.stream(softScoreLevels)
+                .mapToLong(softScoreLevel -> constraintWeight.softScore(softScoreLevel))
+                .toArray();
     }
 
     public BendableLongScoreContext(BendableLongScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
@@ -30,7 +53,6 @@ final class BendableLongScoreContext extends ScoreContext<BendableLongScore, Ben
         long softImpact = scoreLevelWeight * matchWeight;
         parent.softScores[scoreLevel] += softImpact;
         UndoScoreImpacter undoScoreImpact = () -> parent.softScores[scoreLevel] -= softImpact;
-        ;
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
@@ -54,29 +76,32 @@ final class BendableLongScoreContext extends ScoreContext<BendableLongScore, Ben
 
     public UndoScoreImpacter changeScoreBy(long matchWeight,
             ConstraintMatchSupplier<BendableLongScore> constraintMatchSupplier) {
-        long[] hardImpacts = new long[hardScoreLevelCount];
-        long[] softImpacts = new long[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            long hardImpact = constraintWeight.hardScore(hardScoreLevel) * matchWeight;
-            hardImpacts[hardScoreLevel] = hardImpact;
-            parent.hardScores[hardScoreLevel] += hardImpact;
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            parent.hardScores[hardScoreLevels[i]] += hardScoreLevelWeights[i] * matchWeight;
         }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            long softImpact = constraintWeight.softScore(softScoreLevel) * matchWeight;
-            softImpacts[softScoreLevel] = softImpact;
-            parent.softScores[softScoreLevel] += softImpact;
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            parent.softScores[softScoreLevels[i]] += softScoreLevelWeights[i] * matchWeight;
         }
+        // The impacts are not kept, but recalculated from the match weight on undo.
         UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                parent.hardScores[hardScoreLevel] -= hardImpacts[hardScoreLevel];
+            for (int i = 0; i < hardScoreLevels.length; i++) {
+                parent.hardScores[hardScoreLevels[i]] -= hardScoreLevelWeights[i] * matchWeight;
             }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                parent.softScores[softScoreLevel] -= softImpacts[softScoreLevel];
+            for (int i = 0; i < softScoreLevels.length; i++) {
+                parent.softScores[softScoreLevels[i]] -= softScoreLevelWeights[i] * matchWeight;
             }
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
+        long[] hardImpacts = new long[hardScoreLevelCount];
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            hardImpacts[hardScoreLevels[i]] = hardScoreLevelWeights[i] * matchWeight;
+        }
+        long[] softImpacts = new long[softScoreLevelCount];
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            softImpacts[softScoreLevels[i]] = softScoreLevelWeights[i] * matchWeight;
+        }
         return impactWithConstraintMatch(undoScoreImpact, BendableLongScore.of(hardImpacts, softImpacts),
                 constraintMatchSupplier);
     }
@@ -12,6 +12,8 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
     final long[] hardScores;
     final long[] softScores;
 
+    private BendableLongScore lastExtractedScore = null;
+
     BendableLongScoreInliner(Map<Constraint, BendableLongScore> constraintWeightMap, boolean constraintMatchEnabled,
             int hardLevelsSize, int softLevelsSize) {
         super(constraintWeightMap, constraintMatchEnabled);
@@ -57,9 +59,26 @@ public final class BendableLongScoreInliner extends AbstractScoreInliner<Bendabl
 
     @Override
     public BendableLongScore extractScore(int initScore) {
-        return BendableLongScore.ofUninitialized(initScore,
-                Arrays.copyOf(hardScores, hardScores.length),
-                Arrays.copyOf(softScores, softScores.length));
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore || !isLastExtractedScore()) {
+            lastExtractedScore = BendableLongScore.ofUninitialized(initScore,
+                    Arrays.copyOf(hardScores, hardScores.length),
+                    Arrays.copyOf(softScores, softScores.length));
+        }
+        return lastExtractedScore;
+    }
+
+    private boolean isLastExtractedScore() {
+        for (int i = 0; i < hardScores.length; i++) {
+            if (lastExtractedScore.hardScore(i) != hardScores[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < softScores.length; i++) {
+            if (lastExtractedScore.softScore(i) != softScores[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
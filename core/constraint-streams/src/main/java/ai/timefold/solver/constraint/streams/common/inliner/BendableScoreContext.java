@@ -1,5 +1,8 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
 import ai.timefold.solver.core.api.score.buildin.bendable.BendableScore;
 
@@ -9,6 +12,14 @@ final class BendableScoreContext extends ScoreContext<BendableScore, BendableSco
     private final int softScoreLevelCount;
     private final int scoreLevel;
     private final int scoreLevelWeight;
+    /**
+     * Only the levels in which the constraint weight is not zero, with their weights,
+     * so that the impact of a multi-level constraint weight neither visits nor allocates for the other levels.
+     */
+    private final int[] hardScoreLevels;
+    private final int[] hardScoreLevelWeights;
+    private final int[] softScoreLevels;
+    private final int[] softScoreLevelWeights;
 
     public BendableScoreContext(BendableScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
             BendableScore constraintWeight, int hardScoreLevelCount, int softScoreLevelCount, int scoreLevel,
@@ -18,6 +29,18 @@ final class BendableScoreContext extends ScoreContext<BendableScore, BendableSco
         this.softScoreLevelCount = softScoreLevelCount;
         this.scoreLevel = scoreLevel;
         this.scoreLevelWeight = scoreLevelWeight;
+        this.hardScoreLevels = IntStream.range(0, hardScoreLevelCount)
+                .filter(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel) != 0)
+                .toArray();
+        this.hardScoreLevelWeights = Arrays.stream(hardScoreLevels)
+                .map(hardScoreLevel -> constraintWeight.hardScore(hardScoreLevel))
+                .toArray();
+        this.softScoreLevels = IntStream.range(0, softScoreLevelCount)
+                .filter(softScoreLevel -> constraintWeight.softScore(softScoreLevel) != 0)
+                .toArray();
+        this.softScoreLevelWeights = Arrays.stream(softScoreLevels)
+                .map(softScoreLevel -> constraintWeight.softScore(softScoreLevel))
+                .toArray();
     }
 
     public BendableScoreContext(BendableScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
@@ -52,29 +75,32 @@ final class BendableScoreContext extends ScoreContext<BendableScore, BendableSco
     }
 
     public UndoScoreImpacter changeScoreBy(int matchWeight, ConstraintMatchSupplier<BendableScore> constraintMatchSupplier) {
-        int[] hardImpacts = new int[hardScoreLevelCount];
-        int[] softImpacts = new int[softScoreLevelCount];
-        for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-            int hardImpact = constraintWeight.hardScore(hardScoreLevel) * matchWeight;
-            hardImpacts[hardScoreLevel] = hardImpact;
-            parent.hardScores[hardScoreLevel] += hardImpact;
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            parent.hardScores[hardScoreLevels[i]] += hardScoreLevelWeights[i] * matchWeight;
         }
-        for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-            int softImpact = constraintWeight.softScore(softScoreLevel) * matchWeight;
-            softImpacts[softScoreLevel] = softImpact;
-            parent.softScores[softScoreLevel] += softImpact;
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            parent.softScores[softScoreLevels[i]] += softScoreLevelWeights[i] * matchWeight;
         }
+        // The impacts are not kept, but recalculated from the match weight on undo.
         UndoScoreImpacter undoScoreImpact = () -> {
-            for (int hardScoreLevel = 0; hardScoreLevel < hardScoreLevelCount; hardScoreLevel++) {
-                parent.hardScores[hardScoreLevel] -= hardImpacts[hardScoreLevel];
+            for (int i = 0; i < hardScoreLevels.length; i++) {
+                parent.hardScores[hardScoreLevels[i]] -= hardScoreLevelWeights[i] * matchWeight;
             }
-            for (int softScoreLevel = 0; softScoreLevel < softScoreLevelCount; softScoreLevel++) {
-                parent.softScores[softScoreLevel] -= softImpacts[softScoreLevel];
+            for (int i = 0; i < softScoreLevels.length; i++) {
+                parent.softScores[softScoreLevels[i]] -= softScoreLevelWeights[i] * matchWeight;
             }
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
+        int[] hardImpacts = new int[hardScoreLevelCount];
+        for (int i = 0; i < hardScoreLevels.length; i++) {
+            hardImpacts[hardScoreLevels[i]] = hardScoreLevelWeights[i] * matchWeight;
+        }
+        int[] softImpacts = new int[softScoreLevelCount];
+        for (int i = 0; i < softScoreLevels.length; i++) {
+            softImpacts[softScoreLevels[i]] = softScoreLevelWeights[i] * matchWeight;
+        }
         return impactWithConstraintMatch(undoScoreImpact, BendableScore.of(hardImpacts, softImpacts), constraintMatchSupplier);
     }
 
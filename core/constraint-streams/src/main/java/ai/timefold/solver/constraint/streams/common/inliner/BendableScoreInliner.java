@@ -12,6 +12,8 @@ final class BendableScoreInliner extends AbstractScoreInliner<BendableScore> {
     final int[] hardScores;
     final int[] softScores;
 
+    private BendableScore lastExtractedScore = null;
+
     BendableScoreInliner(Map<Constraint, BendableScore> constraintWeightMap, boolean constraintMatchEnabled, int hardLevelsSize,
             int softLevelsSize) {
         super(constraintWeightMap, constraintMatchEnabled);
@@ -51,9 +53,26 @@ final class BendableScoreInliner extends AbstractScoreInliner<BendableScore> {
 
     @Override
     public BendableScore extractScore(int initScore) {
-        return BendableScore.ofUninitialized(initScore,
-                Arrays.copyOf(hardScores, hardScores.length),
-                Arrays.copyOf(softScores, softScores.length));
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore || !isLastExtractedScore()) {
+            lastExtractedScore = BendableScore.ofUninitialized(initScore,
+                    Arrays.copyOf(hardScores, hardScores.length),
+                    Arrays.copyOf(softScores, softScores.length));
+        }
+        return lastExtractedScore;
+    }
+
+    private boolean isLastExtractedScore() {
+        for (int i = 0; i < hardScores.length; i++) {
+            if (lastExtractedScore.hardScore(i) != hardScores[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < softScores.length; i++) {
+            if (lastExtractedScore.softScore(i) != softScores[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
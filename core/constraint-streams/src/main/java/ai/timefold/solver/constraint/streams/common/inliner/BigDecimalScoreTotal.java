@@ -0,0 +1,114 @@
+package ai.timefold.solver.constraint.streams.common.inliner;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+
+/**
+ * The running total of a single level of a {@link BigDecimal}-based score.
+ * <p>
+ * Impacts with an int or long match weight are accumulated in a long, as a fixed-point number.
+ * Its scale is the highest scale of all constraint weights of the level,
+ * so that every such impact is represented exactly.
+ * Only impacts with a {@link BigDecimal} match weight use {@link BigDecimal} arithmetic,
+ * as do the impacts which would overflow the long;
+ * the two parts are only added together when the score is extracted.
+ * The result is exactly the same, including its scale,
+ * as if all impacts had been added up in {@link BigDecimal}.
+ */
+final class BigDecimalScoreTotal {
+
+    private final int scale;
+    private long unscaledTotal = 0L;
+    /**
+     * The highest scale of all impacts which were ever added to {@link #unscaledTotal},
+     * as that is the scale that the {@link BigDecimal} sum of those impacts would have.
+     */
+    private int unscaledTotalScale = 0;
+    private BigDecimal total = BigDecimal.ZERO;
+
+    BigDecimalScoreTotal(Collection<BigDecimal> constraintWeights) {
+        this.scale = constraintWeights.stream()
+                .mapToInt(BigDecimal::scale)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * @param constraintWeight never null, one of the constraint weights given to the constructor
+     * @return null if the weight times an int or long match weight can not be represented as a long
+     *         at the scale of this total, for example because the weight itself is too large
+     */
+    ScaledWeight scale(BigDecimal constraintWeight) {
+        try {
+            long unscaledWeight = constraintWeight.setScale(scale, RoundingMode.UNNECESSARY)
+                    .unscaledValue()
+                    .longValueExact();
+            return new ScaledWeight(constraintWeight, unscaledWeight, Math.max(0, constraintWeight.scale()));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    UndoScoreImpacter add(ScaledWeight weight, long matchWeight) {
+        long unscaledImpact;
+        try {
+            unscaledImpact = Math.multiplyExact(weight.unscaledWeight(), matchWeight);
+        } catch (ArithmeticException e) {
+            BigDecimal impact = weight.weight().multiply(BigDecimal.valueOf(matchWeight));
+            add(impact);
+            return () -> subtract(impact);
+        }
+        if (weight.scale() > unscaledTotalScale) {
+            unscaledTotalScale = weight.scale();
+        }
+        addUnscaled(unscaledImpact);
+        return () -> subtractUnscaled(unscaledImpact);
+    }
+
+    private void addUnscaled(long unscaledImpact) {
+        long sum = unscaledTotal + unscaledImpact;
+        if (((unscaledTotal ^ sum) & (unscaledImpact ^ sum)) < 0) { // Overflow; move the long total into the BigDecimal.
+            total = total.add(unscaledTotalToBigDecimal());
+            sum = unscaledImpact;
+        }
+        unscaledTotal = sum;
+    }
+
+    private void subtractUnscaled(long unscaledImpact) {
+        long difference = unscaledTotal - unscaledImpact;
+        if (((unscaledTotal ^ unscaledImpact) & (unscaledTotal ^ difference)) < 0) { // Overflow.
+            total = total.add(unscaledTotalToBigDecimal())
+                    .subtract(BigDecimal.valueOf(unscaledImpact, scale).setScale(unscaledTotalScale, RoundingMode.UNNECESSARY));
+            difference = 0L;
+        }
+        unscaledTotal = difference;
+    }
+
+    void add(BigDecimal impact) {
+        total = total.add(impact);
+    }
+
+    void subtract(BigDecimal impact) {
+        total = total.subtract(impact);
+    }
+
+    private BigDecimal unscaledTotalToBigDecimal() {
+        // Exact, as none of the impacts had a higher scale.
+        return BigDecimal.valueOf(unscaledTotal, scale).setScale(unscaledTotalScale, RoundingMode.UNNECESSARY);
+    }
+
+    BigDecimal get() {
+        return total.add(unscaledTotalToBigDecimal());
+    }
+
+    /**
+     * @param weight never null, the original constraint weight
+     * @param unscaledWeight the weight at the scale of the total
+     * @param scale the scale of an impact of the weight, at least 0
+     */
+    record ScaledWeight(BigDecimal weight, long unscaledWeight, int scale) {
+
+    }
+
+}
@@ -8,11 +8,24 @@ import ai.timefold.solver.core.api.score.Score;
 final class BigDecimalWeightedScoreImpacter<Score_ extends Score<Score_>, Context_ extends ScoreContext<Score_, ?>>
         implements WeightedScoreImpacter<Score_, Context_> {
 
+    private final LongImpactFunction<Score_, Context_> longImpactFunction;
     private final BigDecimalImpactFunction<Score_, Context_> impactFunction;
     private final Context_ context;
 
     public BigDecimalWeightedScoreImpacter(BigDecimalImpactFunction<Score_, Context_> impactFunction,
             Context_ context) {
+        this(null, impactFunction, context);
+    }
+
+    /**
+     * @param longImpactFunction null if int and long match weights should be converted to {@link BigDecimal}
+     *        and passed to the impactFunction
+     * @param impactFunction never null
+     * @param context never null
+     */
+    public BigDecimalWeightedScoreImpacter(LongImpactFunction<Score_, Context_> longImpactFunction,
+            BigDecimalImpactFunction<Score_, Context_> impactFunction, Context_ context) {
+        this.longImpactFunction = longImpactFunction;
         this.impactFunction = Objects.requireNonNull(impactFunction);
         this.context = context;
     }
@@ -20,12 +33,18 @@ final class BigDecimalWeightedScoreImpacter<Score_ extends Score<Score_>, Contex
     @Override
     public UndoScoreImpacter impactScore(int matchWeight, ConstraintMatchSupplier<Score_> constraintMatchSupplier) {
         context.getConstraint().assertCorrectImpact(matchWeight);
+        if (longImpactFunction != null) {
+            return longImpactFunction.impact(context, matchWeight, constraintMatchSupplier);
+        }
         return impactFunction.impact(context, BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
     }
 
     @Override
     public UndoScoreImpacter impactScore(long matchWeight, ConstraintMatchSupplier<Score_> constraintMatchSupplier) {
         context.getConstraint().assertCorrectImpact(matchWeight);
+        if (longImpactFunction != null) {
+            return longImpactFunction.impact(context, matchWeight, constraintMatchSupplier);
+        }
         return impactFunction.impact(context, BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
     }
 
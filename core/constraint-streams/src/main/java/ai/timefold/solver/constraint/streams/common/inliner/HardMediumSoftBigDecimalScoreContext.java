@@ -3,21 +3,43 @@ package ai.timefold.solver.constraint.streams.common.inliner;
 import java.math.BigDecimal;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
+import ai.timefold.solver.constraint.streams.common.inliner.BigDecimalScoreTotal.ScaledWeight;
 import ai.timefold.solver.core.api.score.buildin.hardmediumsoftbigdecimal.HardMediumSoftBigDecimalScore;
 
 final class HardMediumSoftBigDecimalScoreContext
         extends ScoreContext<HardMediumSoftBigDecimalScore, HardMediumSoftBigDecimalScoreInliner> {
 
+    private final ScaledWeight hardScaledWeight;
+    private final ScaledWeight mediumScaledWeight;
+    private final ScaledWeight softScaledWeight;
+
     public HardMediumSoftBigDecimalScoreContext(HardMediumSoftBigDecimalScoreInliner parent,
             AbstractConstraint<?, ?, ?> constraint, HardMediumSoftBigDecimalScore constraintWeight) {
         super(parent, constraint, constraintWeight);
+        this.hardScaledWeight = parent.hardScore.scale(constraintWeight.hardScore());
+        this.mediumScaledWeight = parent.mediumScore.scale(constraintWeight.mediumScore());
+        this.softScaledWeight = parent.softScore.scale(constraintWeight.softScore());
+    }
+
+    public UndoScoreImpacter changeSoftScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
+        if (softScaledWeight == null) {
+            return changeSoftScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.softScore.add(softScaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal softImpact = constraintWeight.softScore().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, HardMediumSoftBigDecimalScore.ofSoft(softImpact),
+                constraintMatchSupplier);
     }
 
     public UndoScoreImpacter changeSoftScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal softImpact = constraintWeight.softScore().multiply(matchWeight);
-        parent.softScore = parent.softScore.add(softImpact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.softScore = parent.softScore.subtract(softImpact);
+        parent.softScore.add(softImpact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.softScore.subtract(softImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
@@ -25,11 +47,25 @@ final class HardMediumSoftBigDecimalScoreContext
                 constraintMatchSupplier);
     }
 
+    public UndoScoreImpacter changeMediumScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
+        if (mediumScaledWeight == null) {
+            return changeMediumScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.mediumScore.add(mediumScaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal mediumImpact = constraintWeight.mediumScore().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, HardMediumSoftBigDecimalScore.ofMedium(mediumImpact),
+                constraintMatchSupplier);
+    }
+
     public UndoScoreImpacter changeMediumScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal mediumImpact = constraintWeight.mediumScore().multiply(matchWeight);
-        parent.mediumScore = parent.mediumScore.add(mediumImpact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.mediumScore = parent.mediumScore.subtract(mediumImpact);
+        parent.mediumScore.add(mediumImpact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.mediumScore.subtract(mediumImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
@@ -37,11 +73,25 @@ final class HardMediumSoftBigDecimalScoreContext
                 constraintMatchSupplier);
     }
 
+    public UndoScoreImpacter changeHardScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
+        if (hardScaledWeight == null) {
+            return changeHardScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.hardScore.add(hardScaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal hardImpact = constraintWeight.hardScore().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, HardMediumSoftBigDecimalScore.ofHard(hardImpact),
+                constraintMatchSupplier);
+    }
+
     public UndoScoreImpacter changeHardScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal hardImpact = constraintWeight.hardScore().multiply(matchWeight);
-        parent.hardScore = parent.hardScore.add(hardImpact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.hardScore = parent.hardScore.subtract(hardImpact);
+        parent.hardScore.add(hardImpact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.hardScore.subtract(hardImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
@@ -49,18 +99,42 @@ final class HardMediumSoftBigDecimalScoreContext
                 constraintMatchSupplier);
     }
 
+    public UndoScoreImpacter changeScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
+        if (hardScaledWeight == null || mediumScaledWeight == null || softScaledWeight == null) {
+            return changeScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoHardScoreImpact = parent.hardScore.add(hardScaledWeight, matchWeight);
+        UndoScoreImpacter undoMediumScoreImpact = parent.mediumScore.add(mediumScaledWeight, matchWeight);
+        UndoScoreImpacter undoSoftScoreImpact = parent.softScore.add(softScaledWeight, matchWeight);
+        UndoScoreImpacter undoScoreImpact = () -> {
+            undoHardScoreImpact.run();
+            undoMediumScoreImpact.run();
+            undoSoftScoreImpact.run();
+        };
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal bigDecimalMatchWeight = BigDecimal.valueOf(matchWeight);
+        return impactWithConstraintMatch(undoScoreImpact,
+                HardMediumSoftBigDecimalScore.of(constraintWeight.hardScore().multiply(bigDecimalMatchWeight),
+                        constraintWeight.mediumScore().multiply(bigDecimalMatchWeight),
+                        constraintWeight.softScore().multiply(bigDecimalMatchWeight)),
+                constraintMatchSupplier);
+    }
+
     public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardMediumSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal hardImpact = constraintWeight.hardScore().multiply(matchWeight);
         BigDecimal mediumImpact = constraintWeight.mediumScore().multiply(matchWeight);
         BigDecimal softImpact = constraintWeight.softScore().multiply(matchWeight);
-        parent.hardScore = parent.hardScore.add(hardImpact);
-        parent.mediumScore = parent.mediumScore.add(mediumImpact);
-        parent.softScore = parent.softScore.add(softImpact);
+        parent.hardScore.add(hardImpact);
+        parent.mediumScore.add(mediumImpact);
+        parent.softScore.add(softImpact);
         UndoScoreImpacter undoScoreImpact = () -> {
-            parent.hardScore = parent.hardScore.subtract(hardImpact);
-            parent.mediumScore = parent.mediumScore.subtract(mediumImpact);
-            parent.softScore = parent.softScore.subtract(softImpact);
+            parent.hardScore.subtract(hardImpact);
+            parent.mediumScore.subtract(mediumImpact);
+            parent.softScore.subtract(softImpact);
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
@@ -9,13 +9,22 @@ import ai.timefold.solver.core.api.score.stream.Constraint;
 
 final class HardMediumSoftBigDecimalScoreInliner extends AbstractScoreInliner<HardMediumSoftBigDecimalScore> {
 
-    BigDecimal hardScore = BigDecimal.ZERO;
-    BigDecimal mediumScore = BigDecimal.ZERO;
-    BigDecimal softScore = BigDecimal.ZERO;
+    final BigDecimalScoreTotal hardScore;
+    final BigDecimalScoreTotal mediumScore;
+    final BigDecimalScoreTotal softScore;
 
     HardMediumSoftBigDecimalScoreInliner(Map<Constraint, HardMediumSoftBigDecimalScore> constraintWeightMap,
             boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
+        this.hardScore = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(HardMediumSoftBigDecimalScore::hardScore)
+                .toList());
+        this.mediumScore = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(HardMediumSoftBigDecimalScore::mediumScore)
+                .toList());
+        this.softScore = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(HardMediumSoftBigDecimalScore::softScore)
+                .toList());
     }
 
     @Override
@@ -28,19 +37,23 @@ final class HardMediumSoftBigDecimalScoreInliner extends AbstractScoreInliner<Ha
         HardMediumSoftBigDecimalScoreContext context =
                 new HardMediumSoftBigDecimalScoreContext(this, constraint, constraintWeight);
         if (mediumConstraintWeight.equals(BigDecimal.ZERO) && softConstraintWeight.equals(BigDecimal.ZERO)) {
-            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeHardScoreBy);
+            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeHardScoreBy,
+                    HardMediumSoftBigDecimalScoreContext::changeHardScoreBy);
         } else if (hardConstraintWeight.equals(BigDecimal.ZERO) && softConstraintWeight.equals(BigDecimal.ZERO)) {
-            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeMediumScoreBy);
+            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeMediumScoreBy,
+                    HardMediumSoftBigDecimalScoreContext::changeMediumScoreBy);
         } else if (hardConstraintWeight.equals(BigDecimal.ZERO) && mediumConstraintWeight.equals(BigDecimal.ZERO)) {
-            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeSoftScoreBy);
+            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeSoftScoreBy,
+                    HardMediumSoftBigDecimalScoreContext::changeSoftScoreBy);
         } else {
-            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeScoreBy);
+            return WeightedScoreImpacter.of(context, HardMediumSoftBigDecimalScoreContext::changeScoreBy,
+                    HardMediumSoftBigDecimalScoreContext::changeScoreBy);
         }
     }
 
     @Override
     public HardMediumSoftBigDecimalScore extractScore(int initScore) {
-        return HardMediumSoftBigDecimalScore.ofUninitialized(initScore, hardScore, mediumScore, softScore);
+        return HardMediumSoftBigDecimalScore.ofUninitialized(initScore, hardScore.get(), mediumScore.get(), softScore.get());
     }
 
     @Override
@@ -12,6 +12,8 @@ final class HardMediumSoftLongScoreInliner extends AbstractScoreInliner<HardMedi
     long mediumScore;
     long softScore;
 
+    private HardMediumSoftLongScore lastExtractedScore = null;
+
     HardMediumSoftLongScoreInliner(Map<Constraint, HardMediumSoftLongScore> constraintWeightMap,
             boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
@@ -50,7 +52,13 @@ final class HardMediumSoftLongScoreInliner extends AbstractScoreInliner<HardMedi
 
     @Override
     public HardMediumSoftLongScore extractScore(int initScore) {
-        return HardMediumSoftLongScore.ofUninitialized(initScore, hardScore, mediumScore, softScore);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.hardScore() != hardScore
+                || lastExtractedScore.mediumScore() != mediumScore
+                || lastExtractedScore.softScore() != softScore) {
+            lastExtractedScore = HardMediumSoftLongScore.ofUninitialized(initScore, hardScore, mediumScore, softScore);
+        }
+        return lastExtractedScore;
     }
 
     @Override
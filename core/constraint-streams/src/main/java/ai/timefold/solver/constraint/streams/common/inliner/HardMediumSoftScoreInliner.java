@@ -12,6 +12,8 @@ final class HardMediumSoftScoreInliner extends AbstractScoreInliner<HardMediumSo
     int mediumScore;
     int softScore;
 
+    private HardMediumSoftScore lastExtractedScore = null;
+
     HardMediumSoftScoreInliner(Map<Constraint, HardMediumSoftScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
     }
@@ -37,7 +39,13 @@ final class HardMediumSoftScoreInliner extends AbstractScoreInliner<HardMediumSo
 
     @Override
     public HardMediumSoftScore extractScore(int initScore) {
-        return HardMediumSoftScore.ofUninitialized(initScore, hardScore, mediumScore, softScore);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.hardScore() != hardScore
+                || lastExtractedScore.mediumScore() != mediumScore
+                || lastExtractedScore.softScore() != softScore) {
+            lastExtractedScore = HardMediumSoftScore.ofUninitialized(initScore, hardScore, mediumScore, softScore);
+        }
+        return lastExtractedScore;
     }
 
     @Override
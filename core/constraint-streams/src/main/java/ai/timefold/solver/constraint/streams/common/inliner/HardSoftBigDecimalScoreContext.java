@@ -3,46 +3,99 @@ package ai.timefold.solver.constraint.streams.common.inliner;
 import java.math.BigDecimal;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
+import ai.timefold.solver.constraint.streams.common.inliner.BigDecimalScoreTotal.ScaledWeight;
 import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
 
 final class HardSoftBigDecimalScoreContext extends ScoreContext<HardSoftBigDecimalScore, HardSoftBigDecimalScoreInliner> {
 
+    private final ScaledWeight hardScaledWeight;
+    private final ScaledWeight softScaledWeight;
+
     public HardSoftBigDecimalScoreContext(HardSoftBigDecimalScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
             HardSoftBigDecimalScore constraintWeight) {
         super(parent, constraint, constraintWeight);
+        this.hardScaledWeight = parent.hardScore.scale(constraintWeight.hardScore());
+        this.softScaledWeight = parent.softScore.scale(constraintWeight.softScore());
+    }
+
+    public UndoScoreImpacter changeSoftScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
+        if (softScaledWeight == null) {
+            return changeSoftScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.softScore.add(softScaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal softImpact = constraintWeight.softScore().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, HardSoftBigDecimalScore.ofSoft(softImpact), constraintMatchSupplier);
     }
 
     public UndoScoreImpacter changeSoftScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal softImpact = constraintWeight.softScore().multiply(matchWeight);
-        parent.softScore = parent.softScore.add(softImpact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.softScore = parent.softScore.subtract(softImpact);
+        parent.softScore.add(softImpact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.softScore.subtract(softImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact, HardSoftBigDecimalScore.ofSoft(softImpact), constraintMatchSupplier);
     }
 
+    public UndoScoreImpacter changeHardScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
+        if (hardScaledWeight == null) {
+            return changeHardScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.hardScore.add(hardScaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal hardImpact = constraintWeight.hardScore().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, HardSoftBigDecimalScore.ofHard(hardImpact), constraintMatchSupplier);
+    }
+
     public UndoScoreImpacter changeHardScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal hardImpact = constraintWeight.hardScore().multiply(matchWeight);
-        parent.hardScore = parent.hardScore.add(hardImpact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.hardScore = parent.hardScore.subtract(hardImpact);
+        parent.hardScore.add(hardImpact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.hardScore.subtract(hardImpact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
         return impactWithConstraintMatch(undoScoreImpact, HardSoftBigDecimalScore.ofHard(hardImpact), constraintMatchSupplier);
     }
 
+    public UndoScoreImpacter changeScoreBy(long matchWeight,
+            ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
+        if (hardScaledWeight == null || softScaledWeight == null) {
+            return changeScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoHardScoreImpact = parent.hardScore.add(hardScaledWeight, matchWeight);
+        UndoScoreImpacter undoSoftScoreImpact = parent.softScore.add(softScaledWeight, matchWeight);
+        UndoScoreImpacter undoScoreImpact = () -> {
+            undoHardScoreImpact.run();
+            undoSoftScoreImpact.run();
+        };
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal bigDecimalMatchWeight = BigDecimal.valueOf(matchWeight);
+        return impactWithConstraintMatch(undoScoreImpact,
+                HardSoftBigDecimalScore.of(constraintWeight.hardScore().multiply(bigDecimalMatchWeight),
+                        constraintWeight.softScore().multiply(bigDecimalMatchWeight)),
+                constraintMatchSupplier);
+    }
+
     public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<HardSoftBigDecimalScore> constraintMatchSupplier) {
         BigDecimal hardImpact = constraintWeight.hardScore().multiply(matchWeight);
         BigDecimal softImpact = constraintWeight.softScore().multiply(matchWeight);
-        parent.hardScore = parent.hardScore.add(hardImpact);
-        parent.softScore = parent.softScore.add(softImpact);
+        parent.hardScore.add(hardImpact);
+        parent.softScore.add(softImpact);
         UndoScoreImpacter undoScoreImpact = () -> {
-            parent.hardScore = parent.hardScore.subtract(hardImpact);
-            parent.softScore = parent.softScore.subtract(softImpact);
+            parent.hardScore.subtract(hardImpact);
+            parent.softScore.subtract(softImpact);
         };
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
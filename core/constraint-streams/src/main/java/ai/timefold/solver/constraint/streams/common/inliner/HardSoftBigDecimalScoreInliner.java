@@ -9,12 +9,18 @@ import ai.timefold.solver.core.api.score.stream.Constraint;
 
 final class HardSoftBigDecimalScoreInliner extends AbstractScoreInliner<HardSoftBigDecimalScore> {
 
-    BigDecimal hardScore = BigDecimal.ZERO;
-    BigDecimal softScore = BigDecimal.ZERO;
+    final BigDecimalScoreTotal hardScore;
+    final BigDecimalScoreTotal softScore;
 
     HardSoftBigDecimalScoreInliner(Map<Constraint, HardSoftBigDecimalScore> constraintWeightMap,
             boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
+        this.hardScore = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(HardSoftBigDecimalScore::hardScore)
+                .toList());
+        this.softScore = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(HardSoftBigDecimalScore::softScore)
+                .toList());
     }
 
     @Override
@@ -23,17 +29,20 @@ final class HardSoftBigDecimalScoreInliner extends AbstractScoreInliner<HardSoft
         HardSoftBigDecimalScore constraintWeight = constraintWeightMap.get(constraint);
         HardSoftBigDecimalScoreContext context = new HardSoftBigDecimalScoreContext(this, constraint, constraintWeight);
         if (constraintWeight.softScore().equals(BigDecimal.ZERO)) {
-            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeHardScoreBy);
+            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeHardScoreBy,
+                    HardSoftBigDecimalScoreContext::changeHardScoreBy);
         } else if (constraintWeight.hardScore().equals(BigDecimal.ZERO)) {
-            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeSoftScoreBy);
+            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeSoftScoreBy,
+                    HardSoftBigDecimalScoreContext::changeSoftScoreBy);
         } else {
-            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeScoreBy);
+            return WeightedScoreImpacter.of(context, HardSoftBigDecimalScoreContext::changeScoreBy,
+                    HardSoftBigDecimalScoreContext::changeScoreBy);
         }
     }
 
     @Override
     public HardSoftBigDecimalScore extractScore(int initScore) {
-        return HardSoftBigDecimalScore.ofUninitialized(initScore, hardScore, softScore);
+        return HardSoftBigDecimalScore.ofUninitialized(initScore, hardScore.get(), softScore.get());
     }
 
     @Override
@@ -11,6 +11,8 @@ final class HardSoftLongScoreInliner extends AbstractScoreInliner<HardSoftLongSc
     long hardScore;
     long softScore;
 
+    private HardSoftLongScore lastExtractedScore = null;
+
     HardSoftLongScoreInliner(Map<Constraint, HardSoftLongScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
     }
@@ -39,7 +41,11 @@ final class HardSoftLongScoreInliner extends AbstractScoreInliner<HardSoftLongSc
 
     @Override
     public HardSoftLongScore extractScore(int initScore) {
-        return HardSoftLongScore.ofUninitialized(initScore, hardScore, softScore);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.hardScore() != hardScore || lastExtractedScore.softScore() != softScore) {
+            lastExtractedScore = HardSoftLongScore.ofUninitialized(initScore, hardScore, softScore);
+        }
+        return lastExtractedScore;
     }
 
     @Override
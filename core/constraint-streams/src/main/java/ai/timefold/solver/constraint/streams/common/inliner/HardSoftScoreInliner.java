@@ -11,6 +11,8 @@ final class HardSoftScoreInliner extends AbstractScoreInliner<HardSoftScore> {
     int hardScore;
     int softScore;
 
+    private HardSoftScore lastExtractedScore = null;
+
     HardSoftScoreInliner(Map<Constraint, HardSoftScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
     }
@@ -31,7 +33,11 @@ final class HardSoftScoreInliner extends AbstractScoreInliner<HardSoftScore> {
 
     @Override
     public HardSoftScore extractScore(int initScore) {
-        return HardSoftScore.ofUninitialized(initScore, hardScore, softScore);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.hardScore() != hardScore || lastExtractedScore.softScore() != softScore) {
+            lastExtractedScore = HardSoftScore.ofUninitialized(initScore, hardScore, softScore);
+        }
+        return lastExtractedScore;
     }
 
     @Override
@@ -3,20 +3,37 @@ package ai.timefold.solver.constraint.streams.common.inliner;
 import java.math.BigDecimal;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
+import ai.timefold.solver.constraint.streams.common.inliner.BigDecimalScoreTotal.ScaledWeight;
 import ai.timefold.solver.core.api.score.buildin.simplebigdecimal.SimpleBigDecimalScore;
 
 final class SimpleBigDecimalScoreContext extends ScoreContext<SimpleBigDecimalScore, SimpleBigDecimalScoreInliner> {
 
+    private final ScaledWeight scaledWeight;
+
     public SimpleBigDecimalScoreContext(SimpleBigDecimalScoreInliner parent, AbstractConstraint<?, ?, ?> constraint,
             SimpleBigDecimalScore constraintWeight) {
         super(parent, constraint, constraintWeight);
+        this.scaledWeight = parent.score.scale(constraintWeight.score());
+    }
+
+    public UndoScoreImpacter changeScoreBy(long matchWeight,
+            ConstraintMatchSupplier<SimpleBigDecimalScore> constraintMatchSupplier) {
+        if (scaledWeight == null) {
+            return changeScoreBy(BigDecimal.valueOf(matchWeight), constraintMatchSupplier);
+        }
+        UndoScoreImpacter undoScoreImpact = parent.score.add(scaledWeight, matchWeight);
+        if (!constraintMatchEnabled) {
+            return undoScoreImpact;
+        }
+        BigDecimal impact = constraintWeight.score().multiply(BigDecimal.valueOf(matchWeight));
+        return impactWithConstraintMatch(undoScoreImpact, SimpleBigDecimalScore.of(impact), constraintMatchSupplier);
     }
 
     public UndoScoreImpacter changeScoreBy(BigDecimal matchWeight,
             ConstraintMatchSupplier<SimpleBigDecimalScore> constraintMatchSupplier) {
         BigDecimal impact = constraintWeight.score().multiply(matchWeight);
-        parent.score = parent.score.add(impact);
-        UndoScoreImpacter undoScoreImpact = () -> parent.score = parent.score.subtract(impact);
+        parent.score.add(impact);
+        UndoScoreImpacter undoScoreImpact = () -> parent.score.subtract(impact);
         if (!constraintMatchEnabled) {
             return undoScoreImpact;
         }
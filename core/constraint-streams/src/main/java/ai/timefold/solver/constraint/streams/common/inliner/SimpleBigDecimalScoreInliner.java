@@ -1,6 +1,5 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
-import java.math.BigDecimal;
 import java.util.Map;
 
 import ai.timefold.solver.constraint.streams.common.AbstractConstraint;
@@ -9,10 +8,13 @@ import ai.timefold.solver.core.api.score.stream.Constraint;
 
 final class SimpleBigDecimalScoreInliner extends AbstractScoreInliner<SimpleBigDecimalScore> {
 
-    BigDecimal score = BigDecimal.ZERO;
+    final BigDecimalScoreTotal score;
 
     SimpleBigDecimalScoreInliner(Map<Constraint, SimpleBigDecimalScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
+        this.score = new BigDecimalScoreTotal(constraintWeightMap.values().stream()
+                .map(SimpleBigDecimalScore::score)
+                .toList());
     }
 
     @Override
@@ -20,12 +22,13 @@ final class SimpleBigDecimalScoreInliner extends AbstractScoreInliner<SimpleBigD
             buildWeightedScoreImpacter(AbstractConstraint<?, ?, ?> constraint) {
         SimpleBigDecimalScore constraintWeight = constraintWeightMap.get(constraint);
         SimpleBigDecimalScoreContext context = new SimpleBigDecimalScoreContext(this, constraint, constraintWeight);
-        return WeightedScoreImpacter.of(context, SimpleBigDecimalScoreContext::changeScoreBy);
+        return WeightedScoreImpacter.of(context, SimpleBigDecimalScoreContext::changeScoreBy,
+                SimpleBigDecimalScoreContext::changeScoreBy);
     }
 
     @Override
     public SimpleBigDecimalScore extractScore(int initScore) {
-        return SimpleBigDecimalScore.ofUninitialized(initScore, score);
+        return SimpleBigDecimalScore.ofUninitialized(initScore, score.get());
     }
 
     @Override
@@ -10,6 +10,8 @@ final class SimpleLongScoreInliner extends AbstractScoreInliner<SimpleLongScore>
 
     long score;
 
+    private SimpleLongScore lastExtractedScore = null;
+
     SimpleLongScoreInliner(Map<Constraint, SimpleLongScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
     }
@@ -27,7 +29,11 @@ final class SimpleLongScoreInliner extends AbstractScoreInliner<SimpleLongScore>
 
     @Override
     public SimpleLongScore extractScore(int initScore) {
-        return SimpleLongScore.ofUninitialized(initScore, score);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.score() != score) {
+            lastExtractedScore = SimpleLongScore.ofUninitialized(initScore, score);
+        }
+        return lastExtractedScore;
     }
 
     @Override
@@ -10,6 +10,8 @@ final class SimpleScoreInliner extends AbstractScoreInliner<SimpleScore> {
 
     int score;
 
+    private SimpleScore lastExtractedScore = null;
+
     SimpleScoreInliner(Map<Constraint, SimpleScore> constraintWeightMap, boolean constraintMatchEnabled) {
         super(constraintWeightMap, constraintMatchEnabled);
     }
@@ -24,7 +26,11 @@ final class SimpleScoreInliner extends AbstractScoreInliner<SimpleScore> {
 
     @Override
     public SimpleScore extractScore(int initScore) {
-        return SimpleScore.ofUninitialized(initScore, score);
+        if (lastExtractedScore == null || lastExtractedScore.initScore() != initScore
+                || lastExtractedScore.score() != score) {
+            lastExtractedScore = SimpleScore.ofUninitialized(initScore, score);
+        }
+        return lastExtractedScore;
     }
 
     @Override
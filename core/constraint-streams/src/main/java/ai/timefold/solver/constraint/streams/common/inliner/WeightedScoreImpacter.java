@@ -38,6 +38,15 @@ public interface WeightedScoreImpacter<Score_ extends Score<Score_>, Context_ ex
         return new BigDecimalWeightedScoreImpacter<>(impactFunction, context);
     }
 
+    /**
+     * For {@link BigDecimal}-based scores which handle int and long match weights without {@link BigDecimal} arithmetic.
+     */
+    static <Score_ extends Score<Score_>, Context_ extends ScoreContext<Score_, ?>> WeightedScoreImpacter<Score_, Context_>
+            of(Context_ context, LongImpactFunction<Score_, Context_> longImpactFunction,
+                    BigDecimalImpactFunction<Score_, Context_> impactFunction) {
+        return new BigDecimalWeightedScoreImpacter<>(longImpactFunction, impactFunction, context);
+    }
+
     /**
      * @param matchWeight never null
      * @param constraintMatchSupplier ignored unless constraint match enableds
@@ -0,0 +1,263 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.api.score.buildin.simple.SimpleScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataEntity;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataSolution;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataValue;
+import ai.timefold.solver.core.impl.testdata.domain.constraintconfiguration.TestdataConstraintConfigurationSolution;
+import ai.timefold.solver.core.impl.testdata.domain.constraintconfiguration.TestdataConstraintWeightConstraintProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BavetConstraintSessionTest {
+
+    private static BavetConstraintSession<SimpleScore> buildSession(TestdataSolution solution) {
+        return buildSession(solution, factory -> new Constraint[] {
+                factory.forEach(TestdataEntity.class)
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Assigned entities"),
+                factory.forEachIncludingNullVars(TestdataEntity.class)
+                        .penalize(SimpleScore.ofUninitialized(0, 10))
+                        .asConstraint("All entities")
+        });
+    }
+
+    private static BavetConstraintSession<SimpleScore> buildSession(TestdataSolution solution,
+            ConstraintProvider constraintProvider) {
+        var scoreDirectorFactory = new BavetConstraintStreamScoreDirectorFactory<TestdataSolution, SimpleScore>(
+                TestdataSolution.buildSolutionDescriptor(), constraintProvider, EnvironmentMode.REPRODUCIBLE);
+        return scoreDirectorFactory.newSession(false, solution);
+    }
+
+    @Test
+    void handlesAreReusedAfterRetract() {
+        var solution = TestdataSolution.generateSolution(2, 3);
+        var entityList = solution.getEntityList();
+        var session = buildSession(solution);
+        entityList.forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+
+        // The new entity takes over the handle of the retracted one.
+        var retractedEntity = entityList.get(1);
+        session.retract(retractedEntity);
+        var newEntity = new TestdataEntity("New", entityList.get(0).getValue());
+        session.insert(newEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+
+        // Unassigning the new entity only affects the new entity, not the others.
+        newEntity.setValue(null);
+        session.update(newEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-32));
+        session.retract(newEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-22));
+
+        session.insert(retractedEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+    }
+
+    @Test
+    void batchedJoinInserts() {
+        var solution = TestdataSolution.generateSolution(2, 6);
+        var session = buildSession(solution, factory -> new Constraint[] {
+                factory.forEachUniquePair(TestdataEntity.class, Joiners.equal(TestdataEntity::getValue))
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Shared values"),
+                factory.forEach(TestdataEntity.class)
+                        .join(TestdataValue.class, Joiners.equal(TestdataEntity::getValue, value -> value))
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Valued entities")
+        });
+        // Both sides of both joins receive all of their inserts in a single batch.
+        solution.getValueList().forEach(session::insert);
+        solution.getEntityList().forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-12));
+
+        // An update and an insert in the same batch.
+        var valueList = solution.getValueList();
+        var updatedEntity = solution.getEntityList().get(0);
+        updatedEntity.setValue(valueList.get(1));
+        session.update(updatedEntity);
+        session.insert(new TestdataEntity("New", valueList.get(0)));
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-16));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 40, 2_000 }) // Grouped by index key, and large enough not to keep the batch structures.
+    void largeBatchedJoinInserts(int entityCount) {
+        var solution = TestdataSolution.generateSolution(3, entityCount);
+        var session = buildSession(solution, factory -> new Constraint[] {
+                factory.forEachUniquePair(TestdataEntity.class, Joiners.equal(TestdataEntity::getValue))
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Shared values"),
+                factory.forEach(TestdataValue.class)
+                        .join(TestdataEntity.class, Joiners.equal(value -> value, TestdataEntity::getValue))
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Valued entities")
+        });
+        solution.getValueList().forEach(session::insert);
+        solution.getEntityList().forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-countMatches(solution)));
+
+        // A small batch after a large one.
+        var entity = solution.getEntityList().get(0);
+        entity.setValue(solution.getValueList().get(1));
+        session.update(entity);
+        var newEntity = new TestdataEntity("New", solution.getValueList().get(2));
+        session.insert(newEntity);
+        solution.getEntityList().add(newEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-countMatches(solution)));
+    }
+
+    private static int countMatches(TestdataSolution solution) {
+        var entityCountMap = solution.getEntityList().stream()
+                .collect(Collectors.groupingBy(TestdataEntity::getValue, Collectors.counting()));
+        return entityCountMap.values().stream()
+                .mapToInt(count -> (int) (count * (count - 1) / 2 + count))
+                .sum();
+    }
+
+    @Test
+    void sessionsOfTheSameFactoryAreIndependent() {
+        var scoreDirectorFactory = new BavetConstraintStreamScoreDirectorFactory<TestdataSolution, SimpleScore>(
+                TestdataSolution.buildSolutionDescriptor(), factory -> new Constraint[] {
+                        factory.forEach(TestdataEntity.class)
+                                .join(TestdataValue.class, Joiners.equal(TestdataEntity::getValue, value -> value))
+                                .penalize(SimpleScore.ONE)
+                                .asConstraint("Valued entities")
+                }, EnvironmentMode.REPRODUCIBLE);
+        var solution = TestdataSolution.generateSolution(2, 4);
+        var firstSession = scoreDirectorFactory.newSession(false, solution);
+        solution.getValueList().forEach(firstSession::insert);
+        solution.getEntityList().forEach(firstSession::insert);
+        assertThat(firstSession.calculateScore(0)).isEqualTo(SimpleScore.of(-4));
+
+        // The second session reuses the node network blueprint, but none of the tuples of the first session.
+        var secondSession = scoreDirectorFactory.newSession(false, solution);
+        solution.getValueList().forEach(secondSession::insert);
+        secondSession.insert(solution.getEntityList().get(0));
+        assertThat(secondSession.calculateScore(0)).isEqualTo(SimpleScore.of(-1));
+        assertThat(firstSession.calculateScore(0)).isEqualTo(SimpleScore.of(-4));
+        assertThat(secondSession.describeNodeNetwork().getNodeDescriptorList())
+                .extracting(BavetNodeDescriptor::id, BavetNodeDescriptor::layerIndex)
+                .containsExactlyElementsOf(firstSession.describeNodeNetwork().getNodeDescriptorList().stream()
+                        .map(node -> tuple(node.id(), node.layerIndex()))
+                        .toList());
+    }
+
+    @Test
+    void constraintWeightsAreUpdatedInPlace() {
+        var scoreDirectorFactory =
+                new BavetConstraintStreamScoreDirectorFactory<TestdataConstraintConfigurationSolution, SimpleScore>(
+                        TestdataConstraintConfigurationSolution.buildSolutionDescriptor(),
+                        new TestdataConstraintWeightConstraintProvider(), EnvironmentMode.REPRODUCIBLE);
+        var solution = TestdataConstraintConfigurationSolution.generateSolution(1, 3);
+        var session = scoreDirectorFactory.newSession(true, solution);
+        solution.getEntityList().forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(3));
+
+        var constraintConfiguration = solution.getConstraintConfiguration();
+        constraintConfiguration.setFirstWeight(SimpleScore.of(5));
+        assertThat(scoreDirectorFactory.updateConstraintWeights(session, solution)).isTrue();
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(15));
+        assertThat(session.getConstraintMatchTotalMap().values())
+                .singleElement()
+                .satisfies(constraintMatchTotal -> assertThat(constraintMatchTotal.getScore()).isEqualTo(SimpleScore.of(15)));
+
+        // Matches scored before the update are undone with the new weight.
+        session.retract(solution.getEntityList().get(0));
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(10));
+
+        // Disabling the constraint changes the node network.
+        constraintConfiguration.setFirstWeight(SimpleScore.ZERO);
+        assertThat(scoreDirectorFactory.updateConstraintWeights(session, solution)).isFalse();
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(10));
+    }
+
+    @Test
+    void constraintWeightsAreUpdatedThroughScoreDirector() {
+        var scoreDirectorFactory =
+                new BavetConstraintStreamScoreDirectorFactory<TestdataConstraintConfigurationSolution, SimpleScore>(
+                        TestdataConstraintConfigurationSolution.buildSolutionDescriptor(),
+                        new TestdataConstraintWeightConstraintProvider(), EnvironmentMode.REPRODUCIBLE);
+        var solution = TestdataConstraintConfigurationSolution.generateSolution(1, 3);
+        try (var scoreDirector = scoreDirectorFactory.buildScoreDirector(false, true, true)) {
+            scoreDirector.setWorkingSolution(solution);
+            assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(3));
+            var session = scoreDirector.getSession();
+
+            var constraintConfiguration = solution.getConstraintConfiguration();
+            scoreDirector.beforeProblemPropertyChanged(constraintConfiguration);
+            constraintConfiguration.setFirstWeight(SimpleScore.of(5));
+            scoreDirector.afterProblemPropertyChanged(constraintConfiguration);
+            assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.of(15));
+            assertThat(scoreDirector.getSession()).isSameAs(session);
+            assertThat(scoreDirector.getConstraintMatchTotalMap().values())
+                    .singleElement()
+                    .satisfies(constraintMatchTotal -> assertThat(constraintMatchTotal.getConstraintMatchCount())
+                            .isEqualTo(3));
+
+            var entity = solution.getEntityList().get(0);
+            scoreDirector.beforeVariableChanged(entity, "value");
+            entity.setValue(null);
+            scoreDirector.afterVariableChanged(entity, "value");
+            assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.ofUninitialized(-1, 10));
+
+            // Disabling the constraint rebuilds the session from the working solution.
+            scoreDirector.beforeProblemPropertyChanged(constraintConfiguration);
+            constraintConfiguration.setFirstWeight(SimpleScore.ZERO);
+            scoreDirector.afterProblemPropertyChanged(constraintConfiguration);
+            assertThat(scoreDirector.calculateScore()).isEqualTo(SimpleScore.ofUninitialized(-1, 0));
+        }
+    }
+
+    @Test
+    void insertTwiceOrRetractUnknownFact() {
+        var solution = TestdataSolution.generateSolution(2, 3);
+        var entity = solution.getEntityList().get(0);
+        var session = buildSession(solution);
+        session.insert(entity);
+        assertThatThrownBy(() -> session.insert(entity))
+                .hasMessageContaining("already inserted");
+
+        var unknownEntity = new TestdataEntity("Unknown", entity.getValue());
+        assertThatThrownBy(() -> session.retract(unknownEntity))
+                .hasMessageContaining("never inserted");
+    }
+
+    @Test
+    void rejectedUpdateOfUnknownFactKeepsNoHandle() {
+        var solution = TestdataSolution.generateSolution(2, 3);
+        var entityList = solution.getEntityList();
+        var session = buildSession(solution);
+        entityList.forEach(session::insert);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+
+        // The forEach node would insert the assigned entity, but the forEachIncludingNullVars node rejects the update.
+        var unknownEntity = new TestdataEntity("Unknown", entityList.get(0).getValue());
+        assertThatThrownBy(() -> session.update(unknownEntity))
+                .hasMessageContaining("never inserted");
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+
+        // Neither the fact nor its handle were left behind.
+        session.insert(unknownEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-44));
+        session.retract(unknownEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-33));
+        var newEntity = new TestdataEntity("New", entityList.get(0).getValue());
+        session.insert(newEntity);
+        assertThat(session.calculateScore(0)).isEqualTo(SimpleScore.of(-44));
+    }
+
+}
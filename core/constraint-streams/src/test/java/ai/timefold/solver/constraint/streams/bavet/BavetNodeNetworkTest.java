@@ -0,0 +1,166 @@
+package ai.timefold.solver.constraint.streams.bavet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.simple.SimpleScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintRef;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataEntity;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataSolution;
+import ai.timefold.solver.core.impl.testdata.domain.TestdataValue;
+
+import org.junit.jupiter.api.Test;
+
+class BavetNodeNetworkTest {
+
+    @Test
+    void describeNodeNetwork() {
+        var scoreDirectorFactory = new BavetConstraintStreamScoreDirectorFactory<TestdataSolution, SimpleScore>(
+                TestdataSolution.buildSolutionDescriptor(),
+                factory -> new Constraint[] {
+                        // Identical joiner code, but different lambda instances; the join nodes can not be shared.
+                        factory.forEach(TestdataEntity.class)
+                                .join(TestdataEntity.class, Joiners.equal(TestdataEntity::getValue))
+                                .penalize(SimpleScore.ONE)
+                                .asConstraint("First"),
+                        factory.forEach(TestdataEntity.class)
+                                .join(TestdataEntity.class, Joiners.equal(e -> e.getValue()))
+                                .penalize(SimpleScore.ONE)
+                                .asConstraint("Second")
+                },
+                EnvironmentMode.REPRODUCIBLE);
+        var solution = TestdataSolution.generateSolution(2, 4);
+        var session = scoreDirectorFactory.newSession(false, solution);
+        solution.getEntityList().forEach(session::insert);
+        session.calculateScore(0);
+
+        var nodeNetwork = session.describeNodeNetwork();
+        var nodeDescriptorList = nodeNetwork.getNodeDescriptorList();
+        assertThat(nodeDescriptorList)
+                .extracting(BavetNodeDescriptor::nodeType)
+                .containsExactly("ForEachExcludingNullVarsUniNode", "IndexedJoinBiNode", "IndexedJoinBiNode");
+
+        var forEachNode = nodeDescriptorList.get(0);
+        assertThat(forEachNode.parentNodeIdList()).isEmpty();
+        assertThat(forEachNode.sharingCount()).isEqualTo(2);
+        assertThat(forEachNode.tupleCount()).isEqualTo(4);
+        // Each join takes the forEach node as both its left and its right parent.
+        assertThat(forEachNode.childNodeCount()).isEqualTo(4);
+        assertThat(forEachNode.estimatedCost()).isEqualTo(16);
+
+        var firstJoinNode = nodeDescriptorList.get(1);
+        assertThat(firstJoinNode.parentNodeIdList()).containsExactly(forEachNode.id(), forEachNode.id());
+        assertThat(firstJoinNode.sharingCount()).isEqualTo(1);
+        // 4 entities over 2 values, so each entity joins with itself and one other entity.
+        assertThat(firstJoinNode.tupleCount()).isEqualTo(8);
+
+        // 4 tuples of 32 bytes.
+        assertThat(forEachNode.estimatedRetainedBytes()).isEqualTo(128);
+        assertThat(forEachNode.estimatedIndexBytes()).isZero();
+        // 8 input tuples in the indexers, each with a list of out tuples; 8 out tuples, each in 2 of those lists.
+        assertThat(firstJoinNode.estimatedIndexBytes()).isEqualTo(8 * 32);
+        assertThat(firstJoinNode.estimatedRetainedBytes()).isEqualTo(8 * 32 + 8 * 32 + 8 * (32 + 2 * 32));
+        assertThat(nodeNetwork.getEstimatedRetainedBytes()).isEqualTo(128 + 2 * 1280);
+        assertThat(nodeNetwork.getConstraintProfileList())
+                .extracting(BavetConstraintProfile::estimatedRetainedBytes)
+                .containsExactly(128L + 1280, 128L + 1280);
+
+        var unsharedNodeGroupList = nodeNetwork.findUnsharedNodeGroupList();
+        assertThat(unsharedNodeGroupList).hasSize(1);
+        assertThat(unsharedNodeGroupList.get(0))
+                .flatExtracting(BavetNodeDescriptor::constraintRefList)
+                .extracting(ConstraintRef::constraintName)
+                .containsExactlyInAnyOrder("First", "Second");
+        assertThat(nodeNetwork.toString()).contains("IndexedJoinBiNode", "not shared");
+
+        // Retracts are reflected in the tuple counts.
+        session.retract(solution.getEntityList().get(0));
+        session.calculateScore(0);
+        assertThat(session.describeNodeNetwork().getNodeDescriptorList())
+                .extracting(BavetNodeDescriptor::tupleCount)
+                .isEqualTo(List.of(3, 5, 5));
+    }
+
+    @Test
+    void profileConstraints() {
+        var solutionDescriptor = TestdataSolution.buildSolutionDescriptor();
+        var constraintFactory = new BavetConstraintFactory<>(solutionDescriptor, EnvironmentMode.REPRODUCIBLE);
+        var constraintList = constraintFactory.buildConstraints(factory -> new Constraint[] {
+                factory.forEach(TestdataEntity.class)
+                        .join(TestdataEntity.class)
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Cross product"),
+                factory.forEach(TestdataEntity.class)
+                        .penalize(SimpleScore.ONE)
+                        .asConstraint("Entity count")
+        });
+        var sessionFactory =
+                new BavetConstraintSessionFactory<TestdataSolution, SimpleScore>(solutionDescriptor, constraintList, true);
+        var solution = TestdataSolution.generateSolution(2, 3);
+        var session = sessionFactory.buildSession(false, solution);
+        solution.getEntityList().forEach(session::insert);
+        session.calculateScore(0);
+        session.update(solution.getEntityList().get(0));
+        session.calculateScore(0);
+
+        var nodeNetwork = session.describeNodeNetwork();
+        var forEachNode = nodeNetwork.getNodeDescriptorList().get(0);
+        assertThat(forEachNode.insertCount()).isEqualTo(3);
+        assertThat(forEachNode.updateCount()).isEqualTo(1);
+        assertThat(forEachNode.retractCount()).isZero();
+        assertThat(forEachNode.propagationNanos()).isPositive();
+
+        var constraintProfileList = nodeNetwork.getConstraintProfileList();
+        assertThat(constraintProfileList)
+                .extracting(profile -> profile.constraintRef().constraintName())
+                .containsExactlyInAnyOrder("Cross product", "Entity count");
+        var crossProductProfile = constraintProfileList.stream()
+                .filter(profile -> profile.constraintRef().constraintName().equals("Cross product"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(crossProductProfile.nodeCount()).isEqualTo(2);
+        assertThat(crossProductProfile.sharedNodeCount()).isEqualTo(1);
+        // 3 entities inserted into the forEach node, 9 pairs inserted into the join node.
+        assertThat(crossProductProfile.insertCount()).isEqualTo(12);
+        // The updated entity, and the 5 pairs it is a part of.
+        assertThat(crossProductProfile.updateCount()).isEqualTo(6);
+        assertThat(crossProductProfile.propagationNanos()).isPositive();
+    }
+
+    @Test
+    void findIntermediateJoins() {
+        var scoreDirectorFactory = new BavetConstraintStreamScoreDirectorFactory<TestdataSolution, SimpleScore>(
+                TestdataSolution.buildSolutionDescriptor(),
+                factory -> new Constraint[] {
+                        factory.forEach(TestdataEntity.class)
+                                .join(TestdataEntity.class)
+                                .join(TestdataValue.class,
+                                        Joiners.equal((a, b) -> a.getValue(), value -> value),
+                                        Joiners.equal((a, b) -> b.getValue(), value -> value),
+                                        Joiners.filtering((a, b, value) -> a != b))
+                                .penalize(SimpleScore.ONE)
+                                .asConstraint("Different entities with the same value")
+                },
+                EnvironmentMode.REPRODUCIBLE);
+        var solution = TestdataSolution.generateSolution(2, 4);
+        var session = scoreDirectorFactory.newSession(false, solution);
+        solution.getEntityList().forEach(session::insert);
+        solution.getValueList().forEach(session::insert);
+        session.calculateScore(0);
+
+        var nodeNetwork = session.describeNodeNetwork();
+        var intermediateJoinList = nodeNetwork.findIntermediateJoinList();
+        assertThat(intermediateJoinList).hasSize(1);
+        var intermediateJoin = intermediateJoinList.get(0);
+        // The cross product of 4 entities, of which only the 4 ordered pairs of different entities with equal values remain.
+        assertThat(intermediateJoin.intermediateJoin().tupleCount()).isEqualTo(16);
+        assertThat(intermediateJoin.nextJoin().tupleCount()).isEqualTo(4);
+        assertThat(intermediateJoin.reductionFactor()).isEqualTo(4.0);
+        assertThat(nodeNetwork.toString()).contains("Joins which hold more tuples than the next join produces");
+    }
+
+}
@@ -0,0 +1,72 @@
+package ai.timefold.solver.constraint.streams.bavet.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
+
+import org.junit.jupiter.api.Test;
+
+class GroupTableTest {
+
+    private static Group<UniTuple<Object>, Void> createGroup(Object groupKey) {
+        return Group.createWithoutAccumulate(groupKey, new UniTuple<>(groupKey, 0));
+    }
+
+    @Test
+    void putGetRemove() {
+        var groupTable = new GroupTable<UniTuple<Object>, Void>();
+        var nullGroup = createGroup(null);
+        groupTable.put(nullGroup);
+        var group = createGroup("A");
+        groupTable.put(group);
+        assertThat(groupTable.get(null)).isSameAs(nullGroup);
+        assertThat(groupTable.get("A")).isSameAs(group);
+        assertThat(groupTable.get("B")).isNull();
+        assertThat(groupTable.size()).isEqualTo(2);
+
+        assertThat(groupTable.remove("A")).isSameAs(group);
+        assertThat(groupTable.remove("A")).isNull();
+        assertThat(groupTable.get("A")).isNull();
+        assertThat(groupTable.get(null)).isSameAs(nullGroup);
+        assertThat(groupTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sameResultAsHashMap() {
+        var groupTable = new GroupTable<UniTuple<Object>, Void>();
+        Map<Object, Group<UniTuple<Object>, Void>> groupMap = new HashMap<>();
+        var random = new Random(37);
+        for (var i = 0; i < 100_000; i++) {
+            // Few distinct keys, many of which share a hash code, so that the probe sequences collide and shift.
+            var groupKey = new CollidingKey(random.nextInt(500));
+            if (random.nextBoolean()) {
+                if (!groupMap.containsKey(groupKey)) {
+                    var group = createGroup(groupKey);
+                    groupMap.put(groupKey, group);
+                    groupTable.put(group);
+                }
+            } else {
+                assertThat(groupTable.remove(groupKey)).isSameAs(groupMap.remove(groupKey));
+            }
+        }
+        assertThat(groupTable.size()).isEqualTo(groupMap.size());
+        for (var i = 0; i < 500; i++) {
+            var groupKey = new CollidingKey(i);
+            assertThat(groupTable.get(groupKey)).isSameAs(groupMap.get(groupKey));
+        }
+    }
+
+    private record CollidingKey(int id) {
+
+        @Override
+        public int hashCode() {
+            return id / 10;
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package ai.timefold.solver.constraint.streams.bavet.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleLifecycle;
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleState;
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
+
+import org.junit.jupiter.api.Test;
+
+class PropagationSchedulerTest {
+
+    @Test
+    void propagatesOnlyDirtyPropagatorsLayerByLayer() {
+        var received = new ArrayList<String>();
+        var childQueue = new StaticPropagationQueue<>(new RecordingTupleLifecycle("child", received));
+        var parentQueue = new StaticPropagationQueue<>(new TupleLifecycle<UniTuple<String>>() {
+
+            @Override
+            public void insert(UniTuple<String> tuple) {
+                childQueue.insert(new UniTuple<>(tuple.factA, 0));
+            }
+
+            @Override
+            public void update(UniTuple<String> tuple) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void retract(UniTuple<String> tuple) {
+                throw new UnsupportedOperationException();
+            }
+
+        });
+        var otherQueue = new StaticPropagationQueue<>(new RecordingTupleLifecycle("other", received));
+        var scheduler = new PropagationScheduler(new Propagator[][] {
+                { parentQueue, otherQueue },
+                { childQueue }
+        });
+
+        // The parent makes the child dirty, and the child is then propagated in the next layer.
+        parentQueue.insert(new UniTuple<>("A", 0));
+        scheduler.propagate();
+        assertThat(received).containsExactly("child insert A");
+        assertThat(parentQueue.getInsertCount()).isEqualTo(1);
+        assertThat(otherQueue.getInsertCount()).isZero();
+
+        // Only the other propagator is dirty now.
+        received.clear();
+        var tuple = new UniTuple<>("B", 0);
+        otherQueue.insert(tuple);
+        scheduler.propagate();
+        assertThat(received).containsExactly("other insert B");
+
+        // A propagator is dirty again after it has been propagated.
+        received.clear();
+        otherQueue.update(tuple);
+        scheduler.propagate();
+        otherQueue.retract(tuple, TupleState.DYING);
+        scheduler.propagate();
+        assertThat(received).containsExactly("other update B", "other retract B");
+
+        // Nothing is dirty.
+        received.clear();
+        scheduler.propagate();
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void propagatesAgainAfterFailedPropagation() {
+        var received = new ArrayList<String>();
+        var failing = new AtomicBoolean(true);
+        var failingQueue = new StaticPropagationQueue<>(new RecordingTupleLifecycle("failing", received) {
+
+            @Override
+            public void insert(UniTuple<String> tuple) {
+                if (failing.get()) {
+                    throw new IllegalStateException("Filter failed on tuple (" + tuple + ").");
+                }
+                super.insert(tuple);
+            }
+
+        });
+        var otherQueue = new StaticPropagationQueue<>(new RecordingTupleLifecycle("other", received));
+        var scheduler = new PropagationScheduler(new Propagator[][] {
+                { failingQueue, otherQueue }
+        });
+
+        failingQueue.insert(new UniTuple<>("A", 0));
+        otherQueue.insert(new UniTuple<>("B", 0));
+        assertThatIllegalStateException().isThrownBy(scheduler::propagate);
+        assertThat(received).isEmpty();
+
+        // Neither queue is skipped, even though the failing queue is still dirty and therefore does not mark itself again.
+        failing.set(false);
+        failingQueue.insert(new UniTuple<>("C", 0));
+        scheduler.propagate();
+        assertThat(received).containsExactly("failing insert A", "failing insert C", "other insert B");
+
+        received.clear();
+        failingQueue.insert(new UniTuple<>("D", 0));
+        scheduler.propagate();
+        assertThat(received).containsExactly("failing insert D");
+    }
+
+    private static class RecordingTupleLifecycle implements TupleLifecycle<UniTuple<String>> {
+
+        private final String name;
+        private final List<String> received;
+
+        RecordingTupleLifecycle(String name, List<String> received) {
+            this.name = name;
+            this.received = received;
+        }
+
+        @Override
+        public void insert(UniTuple<String> tuple) {
+            received.add(name + " insert " + tuple.factA);
+        }
+
+        @Override
+        public void update(UniTuple<String> tuple) {
+            received.add(name + " update " + tuple.factA);
+        }
+
+        @Override
+        public void retract(UniTuple<String> tuple) {
+            received.add(name + " retract " + tuple.factA);
+        }
+
+    }
+
+}
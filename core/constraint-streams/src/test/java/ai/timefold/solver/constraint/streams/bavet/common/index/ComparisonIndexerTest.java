@@ -0,0 +1,144 @@
+package ai.timefold.solver.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
+import ai.timefold.solver.core.impl.score.stream.JoinerType;
+import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
+
+import org.junit.jupiter.api.Test;
+
+class ComparisonIndexerTest extends AbstractIndexerTest {
+
+    @Test
+    void removeTwice() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.LESS_THAN, NoneIndexer::new);
+        UniTuple<String> annTuple = newTuple("Ann-40");
+        ElementAwareListEntry<UniTuple<String>> annEntry = indexer.put(new SingleIndexProperties<>(40), annTuple);
+
+        indexer.remove(new SingleIndexProperties<>(40), annEntry);
+        assertThat(indexer.isEmpty()).isTrue();
+        assertThatThrownBy(() -> indexer.remove(new SingleIndexProperties<>(40), annEntry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void visitLessThan() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.LESS_THAN, NoneIndexer::new);
+        UniTuple<String> annTuple = put(indexer, "Ann", 40);
+        UniTuple<String> bethTuple = put(indexer, "Beth", 30);
+        UniTuple<String> carlTuple = put(indexer, "Carl", 20);
+
+        assertThat(getTuples(indexer, 50)).containsOnly(annTuple, bethTuple, carlTuple);
+        assertThat(getTuples(indexer, 40)).containsOnly(bethTuple, carlTuple);
+        assertThat(getTuples(indexer, 35)).containsOnly(bethTuple, carlTuple);
+        assertThat(getTuples(indexer, 20)).isEmpty();
+        assertThat(indexer.size(new SingleIndexProperties<>(40))).isEqualTo(2);
+    }
+
+    @Test
+    void visitLessThanOrEqual() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.LESS_THAN_OR_EQUAL, NoneIndexer::new);
+        UniTuple<String> annTuple = put(indexer, "Ann", 40);
+        UniTuple<String> bethTuple = put(indexer, "Beth", 30);
+        UniTuple<String> carlTuple = put(indexer, "Carl", 20);
+
+        assertThat(getTuples(indexer, 40)).containsOnly(annTuple, bethTuple, carlTuple);
+        assertThat(getTuples(indexer, 30)).containsOnly(bethTuple, carlTuple);
+        assertThat(getTuples(indexer, 19)).isEmpty();
+    }
+
+    @Test
+    void visitGreaterThan() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.GREATER_THAN, NoneIndexer::new);
+        UniTuple<String> annTuple = put(indexer, "Ann", 40);
+        UniTuple<String> bethTuple = put(indexer, "Beth", 30);
+        put(indexer, "Carl", 20);
+
+        assertThat(getTuples(indexer, 30)).containsOnly(annTuple);
+        assertThat(getTuples(indexer, 25)).containsOnly(annTuple, bethTuple);
+        assertThat(getTuples(indexer, 40)).isEmpty();
+    }
+
+    @Test
+    void visitGreaterThanOrEqual() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.GREATER_THAN_OR_EQUAL, NoneIndexer::new);
+        UniTuple<String> annTuple = put(indexer, "Ann", 40);
+        UniTuple<String> bethTuple = put(indexer, "Beth", 30);
+        put(indexer, "Carl", 20);
+
+        assertThat(getTuples(indexer, 30)).containsOnly(annTuple, bethTuple);
+        assertThat(getTuples(indexer, 41)).isEmpty();
+    }
+
+    @Test
+    void putAndRemoveManyInRandomOrder() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.LESS_THAN, NoneIndexer::new);
+        int keyCount = 500;
+        List<Integer> keyList = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keyList.add(i);
+        }
+        Collections.shuffle(keyList, new Random(37));
+        List<ElementAwareListEntry<UniTuple<String>>> entryList = new ArrayList<>(keyCount);
+        for (int key : keyList) {
+            entryList.add(indexer.put(new SingleIndexProperties<>(key), newTuple("Tuple-" + key)));
+        }
+        for (int i = 0; i <= keyCount; i += 50) {
+            assertThat(indexer.size(new SingleIndexProperties<>(i))).isEqualTo(i);
+        }
+        // Remove the even keys.
+        for (int i = 0; i < keyCount; i++) {
+            int key = keyList.get(i);
+            if (key % 2 == 0) {
+                indexer.remove(new SingleIndexProperties<>(key), entryList.get(i));
+            }
+        }
+        for (int i = 0; i <= keyCount; i += 50) {
+            assertThat(indexer.size(new SingleIndexProperties<>(i))).isEqualTo(i / 2);
+        }
+        assertThat(getTuples(indexer, 4)).extracting(tuple -> tuple.factA)
+                .containsOnly("Tuple-1", "Tuple-3");
+    }
+
+    @Test
+    void manyDistinctKeys() {
+        Indexer<UniTuple<String>> indexer = new ComparisonIndexer<>(JoinerType.GREATER_THAN_OR_EQUAL, NoneIndexer::new);
+        int keyCount = 1000; // Grows the arrays several times.
+        List<ElementAwareListEntry<UniTuple<String>>> entryList = new ArrayList<>(keyCount);
+        for (int key = 0; key < keyCount; key++) {
+            entryList.add(indexer.put(new SingleIndexProperties<>(key), newTuple("Tuple-" + key)));
+            // Every key which was put so far is greater than or equal to 0.
+            assertThat(indexer.size(new SingleIndexProperties<>(0))).isEqualTo(key + 1);
+            assertThat(indexer.size(new SingleIndexProperties<>(key))).isEqualTo(1);
+        }
+        assertThat(getTuples(indexer, keyCount - 2)).extracting(tuple -> tuple.factA)
+                .containsExactly("Tuple-" + (keyCount - 1), "Tuple-" + (keyCount - 2));
+        for (int key = keyCount - 1; key >= 0; key--) {
+            indexer.remove(new SingleIndexProperties<>(key), entryList.get(key));
+            assertThat(indexer.size(new SingleIndexProperties<>(0))).isEqualTo(key);
+            if (key > 1) {
+                assertThat(getTuples(indexer, key - 2)).extracting(tuple -> tuple.factA)
+                        .containsExactly("Tuple-" + (key - 1), "Tuple-" + (key - 2));
+            }
+        }
+        assertThat(indexer.isEmpty()).isTrue();
+    }
+
+    private static UniTuple<String> put(Indexer<UniTuple<String>> indexer, String name, int age) {
+        UniTuple<String> tuple = newTuple(name + "-" + age);
+        indexer.put(new SingleIndexProperties<>(age), tuple);
+        return tuple;
+    }
+
+    private static UniTuple<String> newTuple(String factA) {
+        return new UniTuple<>(factA, 0);
+    }
+
+}
@@ -0,0 +1,43 @@
+package ai.timefold.solver.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.timefold.solver.constraint.streams.common.bi.DefaultBiJoiner;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.impl.util.Pair;
+
+import org.junit.jupiter.api.Test;
+
+class IndexerFactoryTest extends AbstractIndexerTest {
+
+    @Test
+    void equalJoinersAreMergedAheadOfComparisonJoiners() {
+        var joiner = (DefaultBiJoiner<Person, Person>) Joiners.lessThanOrEqual((Person p) -> p.age)
+                .and(Joiners.equal(p -> p.gender))
+                .and(Joiners.equal(p -> p.age % 2));
+        var indexerFactory = new IndexerFactory<>(joiner);
+        var leftMapping = indexerFactory.<Person> buildUniLeftMapping();
+        var rightMapping = indexerFactory.buildRightMapping();
+        assertThat(rightMapping.apply(new Person("F", 40)))
+                .isEqualTo(new TwoIndexProperties<>(new Pair<>("F", 0), 40));
+
+        // The indexer of the right side, queried by a left tuple.
+        Indexer<Person> indexer = indexerFactory.buildIndexer(false);
+        assertThat(indexer).isInstanceOf(EqualsIndexer.class);
+        for (var person : List.of(new Person("F", 40), new Person("F", 20), new Person("F", 41), new Person("M", 40))) {
+            indexer.put(rightMapping.apply(person), person);
+        }
+        List<Person> result = new ArrayList<>();
+        indexer.forEach(leftMapping.apply(new Person("F", 30)), result::add);
+        assertThat(result)
+                .singleElement()
+                .satisfies(person -> {
+                    assertThat(person.gender).isEqualTo("F");
+                    assertThat(person.age).isEqualTo(40);
+                });
+    }
+
+}
@@ -0,0 +1,120 @@
+package ai.timefold.solver.constraint.streams.bavet.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
+import ai.timefold.solver.constraint.streams.common.bi.DefaultBiJoiner;
+import ai.timefold.solver.core.api.score.stream.Joiners;
+import ai.timefold.solver.core.impl.util.ElementAwareListEntry;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveKeyEqualsIndexerTest extends AbstractIndexerTest {
+
+    private final DefaultBiJoiner<Person, Person> joiner =
+            (DefaultBiJoiner<Person, Person>) Joiners.equal((Person p) -> p.age);
+
+    @Test
+    void buildIndexer() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        assertThat(indexer).isInstanceOf(PrimitiveKeyEqualsIndexer.class);
+    }
+
+    @Test
+    void isEmpty() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        assertThat(indexer.isEmpty()).isTrue();
+        assertThat(getTuples(indexer, 40)).isEmpty();
+    }
+
+    @Test
+    void put() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        UniTuple<String> annTuple = newTuple("Ann-F-40");
+        assertThat(indexer.size(new SingleIndexProperties<>(40))).isEqualTo(0);
+        indexer.put(new SingleIndexProperties<>(40), annTuple);
+        assertThat(indexer.size(new SingleIndexProperties<>(40))).isEqualTo(1);
+        assertThat(indexer.isEmpty()).isFalse();
+    }
+
+    @Test
+    void removeTwice() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        UniTuple<String> annTuple = newTuple("Ann-F-40");
+        ElementAwareListEntry<UniTuple<String>> annEntry = indexer.put(new SingleIndexProperties<>(40), annTuple);
+
+        indexer.remove(new SingleIndexProperties<>(40), annEntry);
+        assertThat(indexer.isEmpty()).isTrue();
+        assertThatThrownBy(() -> indexer.remove(new SingleIndexProperties<>(40), annEntry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void visit() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+
+        UniTuple<String> annTuple = newTuple("Ann-F-40");
+        indexer.put(new SingleIndexProperties<>(40), annTuple);
+        UniTuple<String> bethTuple = newTuple("Beth-F-30");
+        indexer.put(new SingleIndexProperties<>(30), bethTuple);
+        UniTuple<String> carlTuple = newTuple("Carl-M-40");
+        indexer.put(new SingleIndexProperties<>(40), carlTuple);
+
+        assertThat(getTuples(indexer, 40)).containsOnly(annTuple, carlTuple);
+        assertThat(getTuples(indexer, 30)).containsOnly(bethTuple);
+        assertThat(getTuples(indexer, 20)).isEmpty();
+    }
+
+    @Test
+    void visitMixedKeyTypes() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+
+        UniTuple<String> intTuple = newTuple("int-40");
+        indexer.put(new SingleIndexProperties<>(40), intTuple);
+        UniTuple<String> longTuple = newTuple("long-40");
+        indexer.put(new SingleIndexProperties<>(40L), longTuple);
+        UniTuple<String> stringTuple = newTuple("string-40");
+        indexer.put(new SingleIndexProperties<>("40"), stringTuple);
+        UniTuple<String> nullTuple = newTuple("null");
+        indexer.put(new SingleIndexProperties<>(null), nullTuple);
+
+        // Integer and Long keys are never equal, even if they have the same value.
+        assertThat(getTuples(indexer, 40)).containsOnly(intTuple);
+        assertThat(getTuples(indexer, 40L)).containsOnly(longTuple);
+        assertThat(getTuples(indexer, "40")).containsOnly(stringTuple);
+        assertThat(getTuples(indexer, (Object) null)).containsOnly(nullTuple);
+    }
+
+    @Test
+    void putAndRemoveMany() {
+        Indexer<UniTuple<String>> indexer = new IndexerFactory(joiner).buildIndexer(true);
+        int keyCount = 1000;
+        List<ElementAwareListEntry<UniTuple<String>>> entryList = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) { // Forces the table to grow several times.
+            entryList.add(indexer.put(new SingleIndexProperties<>(i * 16), newTuple("Tuple-" + i)));
+        }
+        for (int i = 0; i < keyCount; i++) {
+            assertThat(indexer.size(new SingleIndexProperties<>(i * 16))).isEqualTo(1);
+        }
+        // Remove every other key, so that the remaining probe sequences have holes in them.
+        for (int i = 0; i < keyCount; i += 2) {
+            indexer.remove(new SingleIndexProperties<>(i * 16), entryList.get(i));
+        }
+        for (int i = 0; i < keyCount; i++) {
+            assertThat(indexer.size(new SingleIndexProperties<>(i * 16))).isEqualTo(i % 2);
+        }
+        for (int i = 1; i < keyCount; i += 2) {
+            indexer.remove(new SingleIndexProperties<>(i * 16), entryList.get(i));
+        }
+        assertThat(indexer.isEmpty()).isTrue();
+    }
+
+    private static UniTuple<String> newTuple(String factA) {
+        return new UniTuple<>(factA, 0);
+    }
+
+}
@@ -0,0 +1,113 @@
+package ai.timefold.solver.constraint.streams.bavet.uni;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.TupleLifecycle;
+import ai.timefold.solver.constraint.streams.bavet.common.tuple.UniTuple;
+
+import org.junit.jupiter.api.Test;
+
+class ConditionalUniTupleLifecycleTest {
+
+    private static UniTuple<String> createTuple(String fact) {
+        return new UniTuple<>(fact, 0);
+    }
+
+    @Test
+    void insertAllPassesOnlyAcceptedTuples() {
+        var downstream = new RecordingTupleLifecycle();
+        var lifecycle = new ConditionalUniTupleLifecycle<String>(fact -> fact.startsWith("A"), downstream);
+        var a1 = createTuple("A1");
+        var b1 = createTuple("B1");
+        var a2 = createTuple("A2");
+        var b2 = createTuple("B2");
+
+        lifecycle.insertAll(List.of(a1, b1, a2, b2));
+        assertThat(downstream.insertedBatchList).containsExactly(List.of(a1, a2));
+
+        // A batch which accepts nothing is not passed on at all.
+        lifecycle.insertAll(List.of(createTuple("B3")));
+        assertThat(downstream.insertedBatchList).hasSize(1);
+
+        // Accepted tuples which are no longer accepted are retracted, rejected tuples which are now accepted are updated.
+        a1.factA = "B1";
+        lifecycle.update(a1);
+        b1.factA = "A1";
+        lifecycle.update(b1);
+        lifecycle.update(a2);
+        assertThat(downstream.retractedList).containsExactly(a1);
+        assertThat(downstream.updatedList).containsExactly(b1, a2);
+    }
+
+    @Test
+    void failedBatchIsNotPassedOnAgain() {
+        var downstream = new RecordingTupleLifecycle();
+        var lifecycle = new ConditionalUniTupleLifecycle<String>(fact -> fact.startsWith("A"), downstream);
+        var a1 = createTuple("A1");
+        downstream.failing = true;
+        assertThatIllegalStateException()
+                .isThrownBy(() -> lifecycle.insertAll(List.of(a1, createTuple("B1"))));
+
+        downstream.failing = false;
+        var a2 = createTuple("A2");
+        lifecycle.insertAll(List.of(createTuple("B2"), a2));
+        assertThat(downstream.insertedBatchList).containsExactly(List.of(a2));
+    }
+
+    @Test
+    void batchWithFailingPredicateIsNotPassedOnAgain() {
+        var downstream = new RecordingTupleLifecycle();
+        var lifecycle = new ConditionalUniTupleLifecycle<String>(fact -> {
+            if (fact.equals("Fail")) {
+                throw new IllegalStateException("The predicate fails on the fact (" + fact + ").");
+            }
+            return fact.startsWith("A");
+        }, downstream);
+        assertThatIllegalStateException()
+                .isThrownBy(() -> lifecycle.insertAll(List.of(createTuple("A1"), createTuple("Fail"))));
+        assertThat(downstream.insertedBatchList).isEmpty();
+
+        var a2 = createTuple("A2");
+        lifecycle.insertAll(List.of(createTuple("B2"), a2));
+        assertThat(downstream.insertedBatchList).containsExactly(List.of(a2));
+    }
+
+    private static final class RecordingTupleLifecycle implements TupleLifecycle<UniTuple<String>> {
+
+        // The batches are copied, as the conditional lifecycle reuses its list.
+        private final List<List<UniTuple<String>>> insertedBatchList = new ArrayList<>();
+        private final List<UniTuple<String>> updatedList = new ArrayList<>();
+        private final List<UniTuple<String>> retractedList = new ArrayList<>();
+        private boolean failing = false;
+
+        @Override
+        public void insert(UniTuple<String> tuple) {
+            insertAll(List.of(tuple));
+        }
+
+        @Override
+        public void insertAll(Collection<UniTuple<String>> tuples) {
+            if (failing) {
+                throw new IllegalStateException("Impossible state: the downstream rejects the batch (" + tuples + ").");
+            }
+            insertedBatchList.add(List.copyOf(tuples));
+        }
+
+        @Override
+        public void update(UniTuple<String> tuple) {
+            updatedList.add(tuple);
+        }
+
+        @Override
+        public void retract(UniTuple<String> tuple) {
+            retractedList.add(tuple);
+        }
+
+    }
+
+}
@@ -110,6 +110,28 @@ class BendableBigDecimalScoreInlinerTest
                 .isEqualTo(buildScore(0, 0, 0));
     }
 
+    @Test
+    void impactSomeLevels() {
+        var impacter = buildScoreImpacter(buildScore(10, 0, 1_000));
+        var scoreInliner = (AbstractScoreInliner<BendableBigDecimalScore>) impacter.getContext().parent;
+
+        var undo1 = impacter.impactScore(BigDecimal.TEN, ConstraintMatchSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(100, 0, 10_000));
+
+        var undo2 = impacter.impactScore(BigDecimal.valueOf(20), ConstraintMatchSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(300, 0, 30_000));
+
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(200, 0, 20_000));
+
+        undo2.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(0, 0, 0));
+    }
+
     @Override
     protected SolutionDescriptor<TestdataBendableBigDecimalScoreSolution> buildSolutionDescriptor() {
         return TestdataBendableBigDecimalScoreSolution.buildSolutionDescriptor();
@@ -112,6 +112,46 @@ class BendableScoreInlinerTest extends AbstractScoreInlinerTest<TestdataBendable
                 .isEqualTo(buildScore(0, 0, 0));
     }
 
+    @Test
+    void impactSomeLevels() {
+        var impacter = buildScoreImpacter(buildScore(10, 0, 1_000));
+        var scoreInliner = (AbstractScoreInliner<BendableScore>) impacter.getContext().parent;
+
+        var undo1 = impacter.impactScore(10, ConstraintMatchSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(100, 0, 10_000));
+
+        var undo2 = impacter.impactScore(20, ConstraintMatchSupplier.empty());
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(300, 0, 30_000));
+
+        undo1.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(200, 0, 20_000));
+
+        undo2.run();
+        assertThat(scoreInliner.extractScore(0))
+                .isEqualTo(buildScore(0, 0, 0));
+    }
+
+    @Test
+    void unchangedScoreIsNotExtractedAgain() {
+        var constraintWeight = buildScore(10, 100, 0);
+        var impacter = buildScoreImpacter(constraintWeight);
+        var scoreInliner = (AbstractScoreInliner<BendableScore>) impacter.getContext().parent;
+
+        var undo = impacter.impactScore(1, ConstraintMatchSupplier.empty());
+        var score = scoreInliner.extractScore(0);
+        assertThat(score).isEqualTo(buildScore(10, 100, 0));
+        assertThat(scoreInliner.extractScore(0)).isSameAs(score);
+        assertThat(scoreInliner.extractScore(-1))
+                .isNotSameAs(score)
+                .isEqualTo(score.withInitScore(-1));
+
+        undo.run();
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(buildScore(0, 0, 0));
+    }
+
     @Override
     protected SolutionDescriptor<TestdataBendableScoreSolution> buildSolutionDescriptor() {
         return TestdataBendableScoreSolution.buildSolutionDescriptor();
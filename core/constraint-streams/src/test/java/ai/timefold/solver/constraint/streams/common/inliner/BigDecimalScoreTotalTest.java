@@ -0,0 +1,56 @@
+package ai.timefold.solver.constraint.streams.common.inliner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BigDecimalScoreTotalTest {
+
+    @Test
+    void sameResultAsBigDecimalArithmetic() {
+        var euros = new BigDecimal("5");
+        var cents = new BigDecimal("0.01");
+        var total = new BigDecimalScoreTotal(List.of(euros, cents));
+        var scaledEuros = total.scale(euros);
+        var scaledCents = total.scale(cents);
+        assertThat(total.get()).isEqualTo(BigDecimal.ZERO);
+
+        var undo1 = total.add(scaledEuros, 3);
+        assertThat(total.get()).isEqualTo(new BigDecimal("15"));
+        var undo2 = total.add(scaledCents, 7);
+        assertThat(total.get()).isEqualTo(new BigDecimal("15.07"));
+        var bigDecimalImpact = new BigDecimal("0.125");
+        total.add(bigDecimalImpact);
+        assertThat(total.get()).isEqualTo(new BigDecimal("15.195"));
+
+        total.subtract(bigDecimalImpact);
+        undo2.run();
+        // Like in BigDecimal, the scale does not go down again.
+        assertThat(total.get()).isEqualTo(new BigDecimal("15.000"));
+        undo1.run();
+        assertThat(total.get()).isEqualTo(new BigDecimal("0.000"));
+    }
+
+    @Test
+    void overflow() {
+        var weight = BigDecimal.valueOf(Long.MAX_VALUE / 2);
+        var total = new BigDecimalScoreTotal(List.of(weight, new BigDecimal("0.1")));
+        assertThat(total.scale(weight)).isNull(); // Does not fit at scale 1.
+        var scaledWeight = total.scale(BigDecimal.valueOf(Long.MAX_VALUE / 20));
+
+        var undo1 = total.add(scaledWeight, 3); // The product overflows.
+        var undo2 = total.add(scaledWeight, 1);
+        var undo3 = total.add(scaledWeight, 2); // The sum overflows.
+        var expected = BigDecimal.valueOf(Long.MAX_VALUE / 20).multiply(BigDecimal.valueOf(6));
+        assertThat(total.get()).isEqualTo(expected);
+
+        undo2.run();
+        undo3.run();
+        undo1.run();
+        assertThat(total.get()).isZero();
+    }
+
+}
@@ -89,6 +89,24 @@ class HardSoftScoreInlinerTest extends AbstractScoreInlinerTest<TestdataHardSoft
                 .isEqualTo(HardSoftScore.of(0, 0));
     }
 
+    @Test
+    void unchangedScoreIsNotExtractedAgain() {
+        var constraintWeight = HardSoftScore.of(10, 100);
+        var impacter = buildScoreImpacter(constraintWeight);
+        var scoreInliner = (AbstractScoreInliner<HardSoftScore>) impacter.getContext().parent;
+
+        var undo = impacter.impactScore(1, ConstraintMatchSupplier.empty());
+        var score = scoreInliner.extractScore(0);
+        assertThat(score).isEqualTo(HardSoftScore.of(10, 100));
+        assertThat(scoreInliner.extractScore(0)).isSameAs(score);
+        assertThat(scoreInliner.extractScore(-1))
+                .isNotSameAs(score)
+                .isEqualTo(score.withInitScore(-1));
+
+        undo.run();
+        assertThat(scoreInliner.extractScore(0)).isEqualTo(HardSoftScore.of(0, 0));
+    }
+
     @Override
     protected SolutionDescriptor<TestdataHardSoftScoreSolution> buildSolutionDescriptor() {
         return TestdataHardSoftScoreSolution.buildSolutionDescriptor();
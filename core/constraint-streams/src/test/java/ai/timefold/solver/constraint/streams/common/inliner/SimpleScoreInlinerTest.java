@@ -1,12 +1,16 @@
 package ai.timefold.solver.constraint.streams.common.inliner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import ai.timefold.solver.core.api.score.buildin.simple.SimpleScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatch;
 import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.DefaultConstraintJustification;
 import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.core.impl.testdata.domain.TestdataSolution;
 
@@ -43,6 +47,41 @@ class SimpleScoreInlinerTest extends AbstractScoreInlinerTest<TestdataSolution,
                 .isEqualTo(SimpleScore.of(0));
     }
 
+    @Test
+    void constraintMatchesCreatedOnlyWhenRead() {
+        var constraintWeight = SimpleScore.of(10);
+        var impacter = buildScoreImpacter(constraintWeight);
+        var scoreInliner = (AbstractScoreInliner<SimpleScore>) impacter.getContext().parent;
+        var constraintMatchCount = new AtomicInteger();
+        ConstraintMatchSupplier<SimpleScore> constraintMatchSupplier = (constraint, impact) -> {
+            constraintMatchCount.incrementAndGet();
+            return new ConstraintMatch<>(constraint.getConstraintRef(), DefaultConstraintJustification.of(impact),
+                    Collections.emptyList(), impact);
+        };
+        impacter.impactScore(1, constraintMatchSupplier);
+        impacter.impactScore(2, constraintMatchSupplier).run();
+        impacter.impactScore(3, constraintMatchSupplier);
+
+        var constraintAnalysis = scoreInliner.getShallowConstraintAnalysisMap().values().iterator().next();
+        assertThat(constraintAnalysis.score()).isEqualTo(SimpleScore.of(40));
+        assertThat(constraintAnalysis.matches()).isNull();
+        assertThat(constraintMatchCount).hasValue(0);
+
+        var constraintMatchTotal = scoreInliner.getConstraintIdToConstraintMatchTotalMap().values().iterator().next();
+        assertThat(constraintMatchTotal.getScore()).isEqualTo(SimpleScore.of(40));
+        assertThat(constraintMatchCount).hasValue(2); // The undone match was never created.
+        scoreInliner.getIndictmentMap();
+        assertThat(constraintMatchCount).hasValue(2); // Indictments reuse the existing constraint matches.
+    }
+
+    @Test
+    void constraintMatchesUnavailableWhenDisabled() {
+        var scoreInliner = buildScoreInliner(Collections.emptyMap(), false);
+        assertThatIllegalStateException().isThrownBy(scoreInliner::getShallowConstraintAnalysisMap);
+        assertThatIllegalStateException().isThrownBy(scoreInliner::getConstraintIdToConstraintMatchTotalMap);
+        assertThatIllegalStateException().isThrownBy(scoreInliner::getIndictmentMap);
+    }
+
     @Override
     protected SolutionDescriptor<TestdataSolution> buildSolutionDescriptor() {
         return TestdataSolution.buildSolutionDescriptor();
@@ -994,6 +994,161 @@ public final class ConstraintCollectors {
         return InnerQuadConstraintCollectors.averageDuration(groupValueMapping);
     }
 
+    // ************************************************************************
+    // order statistics
+    // ************************************************************************
+
+    /**
+     * Returns a collector that finds the median of a group of {@link Comparable} elements.
+     * This is the {@link #percentile(Function, double) 50th percentile},
+     * so for an even number of elements it returns the lower of the two middle elements.
+     * <p>
+     * For example, {@code [Ann(age = 20), Beth(age = 25), Cathy(age = 30), David(age = 30), Eric(age = 20)]} with
+     * {@code .groupBy(median(Person::getAge))} returns {@code 25}.
+     * <p>
+     * The default result of the collector (e.g. when never called) is {@code null}.
+     *
+     * @param <A> type of the matched fact
+     * @param <Mapped> type of the result
+     * @param groupValueMapping never null, maps facts from the matched type to the result type
+     * @return never null
+     */
+    public static <A, Mapped extends Comparable<? super Mapped>> UniConstraintCollector<A, ?, Mapped> median(
+            Function<A, Mapped> groupValueMapping) {
+        return percentile(groupValueMapping, 0.5);
+    }
+
+    /**
+     * As defined by {@link #median(Function)}.
+     */
+    public static <A, B, Mapped extends Comparable<? super Mapped>> BiConstraintCollector<A, B, ?, Mapped> median(
+            BiFunction<A, B, Mapped> groupValueMapping) {
+        return percentile(groupValueMapping, 0.5);
+    }
+
+    /**
+     * As defined by {@link #median(Function)}.
+     */
+    public static <A, B, C, Mapped extends Comparable<? super Mapped>> TriConstraintCollector<A, B, C, ?, Mapped> median(
+            TriFunction<A, B, C, Mapped> groupValueMapping) {
+        return percentile(groupValueMapping, 0.5);
+    }
+
+    /**
+     * As defined by {@link #median(Function)}.
+     */
+    public static <A, B, C, D, Mapped extends Comparable<? super Mapped>> QuadConstraintCollector<A, B, C, D, ?, Mapped>
+            median(QuadFunction<A, B, C, D, Mapped> groupValueMapping) {
+        return percentile(groupValueMapping, 0.5);
+    }
+
+    /**
+     * Returns a collector that finds the given percentile of a group of {@link Comparable} elements,
+     * using the nearest-rank method:
+     * the result is the smallest element which is greater than or equal to
+     * at least the given fraction of the elements in the group.
+     * The result is therefore always one of the elements, it is never interpolated.
+     * Percentile {@code 0.0} is the minimum and percentile {@code 1.0} is the maximum.
+     * <p>
+     * Inserting an element into the group and retracting it from the group both take O(log n) time,
+     * so this is far cheaper than collecting the group {@link #toList() into a list} and sorting it.
+     * <p>
+     * Important: The {@link Comparable}'s {@link Comparable#compareTo(Object)} must be <i>consistent with equals</i>,
+     * for the same reasons as described in {@link #min(Function)}.
+     * <p>
+     * For example, {@code [Ann(age = 20), Beth(age = 25), Cathy(age = 30), David(age = 30), Eric(age = 20)]} with
+     * {@code .groupBy(percentile(Person::getAge, 0.9))} returns {@code 30}.
+     * <p>
+     * The default result of the collector (e.g. when never called) is {@code null}.
+     *
+     * @param <A> type of the matched fact
+     * @param <Mapped> type of the result
+     * @param groupValueMapping never null, maps facts from the matched type to the result type
+     * @param percentile {@code 0.0 <= percentile <= 1.0}
+     * @return never null
+     */
+    public static <A, Mapped extends Comparable<? super Mapped>> UniConstraintCollector<A, ?, Mapped> percentile(
+            Function<A, Mapped> groupValueMapping, double percentile) {
+        return InnerUniConstraintCollectors.percentile(groupValueMapping, percentile);
+    }
+
+    /**
+     * As defined by {@link #percentile(Function, double)}.
+     */
+    public static <A, B, Mapped extends Comparable<? super Mapped>> BiConstraintCollector<A, B, ?, Mapped> percentile(
+            BiFunction<A, B, Mapped> groupValueMapping, double percentile) {
+        return InnerBiConstraintCollectors.percentile(groupValueMapping, percentile);
+    }
+
+    /**
+     * As defined by {@link #percentile(Function, double)}.
+     */
+    public static <A, B, C, Mapped extends Comparable<? super Mapped>> TriConstraintCollector<A, B, C, ?, Mapped>
+            percentile(TriFunction<A, B, C, Mapped> groupValueMapping, double percentile) {
+        return InnerTriConstraintCollectors.percentile(groupValueMapping, percentile);
+    }
+
+    /**
+     * As defined by {@link #percentile(Function, double)}.
+     */
+    public static <A, B, C, D, Mapped extends Comparable<? super Mapped>> QuadConstraintCollector<A, B, C, D, ?, Mapped>
+            percentile(QuadFunction<A, B, C, D, Mapped> groupValueMapping, double percentile) {
+        return InnerQuadConstraintCollectors.percentile(groupValueMapping, percentile);
+    }
+
+    /**
+     * Returns a collector that finds the greatest elements of a group of {@link Comparable} elements,
+     * greatest first.
+     * If the group has fewer elements than requested, all of them are returned.
+     * Elements which occur multiple times in the group also occur multiple times in the result.
+     * <p>
+     * Inserting an element into the group and retracting it from the group both take O(log n) time.
+     * <p>
+     * Important: The {@link Comparable}'s {@link Comparable#compareTo(Object)} must be <i>consistent with equals</i>,
+     * for the same reasons as described in {@link #min(Function)}.
+     * <p>
+     * For example, {@code [Ann(age = 20), Beth(age = 25), Cathy(age = 30), David(age = 30), Eric(age = 20)]} with
+     * {@code .groupBy(top(Person::getAge, 3))} returns {@code [30, 30, 25]}.
+     * <p>
+     * The default result of the collector (e.g. when never called) is an empty {@link List}.
+     * The result is unmodifiable.
+     *
+     * @param <A> type of the matched fact
+     * @param <Mapped> type of the result
+     * @param groupValueMapping never null, maps facts from the matched type to the result type
+     * @param count at least 1, the maximum number of elements in the result
+     * @return never null
+     */
+    public static <A, Mapped extends Comparable<? super Mapped>> UniConstraintCollector<A, ?, List<Mapped>> top(
+            Function<A, Mapped> groupValueMapping, int count) {
+        return InnerUniConstraintCollectors.top(groupValueMapping, count);
+    }
+
+    /**
+     * As defined by {@link #top(Function, int)}.
+     */
+    public static <A, B, Mapped extends Comparable<? super Mapped>> BiConstraintCollector<A, B, ?, List<Mapped>> top(
+            BiFunction<A, B, Mapped> groupValueMapping, int count) {
+        return InnerBiConstraintCollectors.top(groupValueMapping, count);
+    }
+
+    /**
+     * As defined by {@link #top(Function, int)}.
+     */
+    public static <A, B, C, Mapped extends Comparable<? super Mapped>> TriConstraintCollector<A, B, C, ?, List<Mapped>>
+            top(TriFunction<A, B, C, Mapped> groupValueMapping, int count) {
+        return InnerTriConstraintCollectors.top(groupValueMapping, count);
+    }
+
+    /**
+     * As defined by {@link #top(Function, int)}.
+     */
+    public static <A, B, C, D, Mapped extends Comparable<? super Mapped>>
+            QuadConstraintCollector<A, B, C, D, ?, List<Mapped>>
+            top(QuadFunction<A, B, C, D, Mapped> groupValueMapping, int count) {
+        return InnerQuadConstraintCollectors.top(groupValueMapping, count);
+    }
+
     // ************************************************************************
     // toCollection
     // ************************************************************************
@@ -216,6 +216,13 @@ public final class Joiners {
      * For example, on a cartesian product of list {@code [Ann(age = 20), Beth(age = 25), Eric(age = 20)]}
      * with filter being {@code age == 20},
      * this joiner will produce pairs {@code (Ann, Ann), (Ann, Eric), (Eric, Ann), (Eric, Eric)}.
+     * <p>
+     * The filter is tested for every pair which matches the other joiners.
+     * If it only depends on one of the facts, filter that fact's stream before the join instead,
+     * such as {@code join(constraintFactory.forEach(B.class).filter(b -> b.isActive()))},
+     * so that the filter is tested only once per fact and the rejected facts never reach the join.
+     * Likewise, prefer {@link #equal(Function, Function)} over an equality test in the filter,
+     * as it allows the join to be indexed.
      *
      * @param filter never null, filter to apply
      * @param <A> type of the first fact in the tuple
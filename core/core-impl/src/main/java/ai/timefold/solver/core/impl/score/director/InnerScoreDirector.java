@@ -127,6 +127,23 @@ public interface InnerScoreDirector<Solution_, Score_ extends Score<Score_>>
      */
     Map<Object, Indictment<Score_>> getIndictmentMap();
 
+    /**
+     * The score of each {@link Constraint}, without its {@link MatchAnalysis match analysis}.
+     * Implementations should avoid creating {@link ConstraintMatch}es and their {@link ConstraintJustification}s,
+     * as the result has no use for them.
+     *
+     * @return never null, {@link ConstraintAnalysis#matches()} is always null
+     * @throws IllegalStateException if {@link #isConstraintMatchEnabled()} returns false
+     */
+    default Map<ConstraintRef, ConstraintAnalysis<Score_>> getShallowConstraintAnalysisMap() {
+        var constraintAnalysisMap = new TreeMap<ConstraintRef, ConstraintAnalysis<Score_>>();
+        for (var constraintMatchTotal : getConstraintMatchTotalMap().values()) {
+            constraintAnalysisMap.put(constraintMatchTotal.getConstraintRef(),
+                    getConstraintAnalysis(constraintMatchTotal, false));
+        }
+        return constraintAnalysisMap;
+    }
+
     /**
      * @return used to check {@link #isWorkingEntityListDirty(long)} later on
      */
@@ -475,9 +492,13 @@ public interface InnerScoreDirector<Solution_, Score_ extends Score<Score_>>
                 }
             }
         }
+        if (!analyzeConstraintMatches) {
+            // No need to create any constraint matches or justifications, only to throw them away.
+            return new ScoreAnalysis<>(score, getShallowConstraintAnalysisMap());
+        }
         var constraintAnalysisMap = new TreeMap<ConstraintRef, ConstraintAnalysis<Score_>>();
         for (var constraintMatchTotal : getConstraintMatchTotalMap().values()) {
-            var constraintAnalysis = getConstraintAnalysis(constraintMatchTotal, analyzeConstraintMatches);
+            var constraintAnalysis = getConstraintAnalysis(constraintMatchTotal, true);
             constraintAnalysisMap.put(constraintMatchTotal.getConstraintRef(), constraintAnalysis);
         }
         return new ScoreAnalysis<>(score, constraintAnalysisMap);
@@ -0,0 +1,530 @@
+package ai.timefold.solver.core.impl.score.stream;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.api.score.stream.common.Break;
+import ai.timefold.solver.core.api.score.stream.common.Sequence;
+import ai.timefold.solver.core.api.score.stream.common.SequenceChain;
+
+/**
+ * Splits values on an int number line into sequences,
+ * where two values are consecutive if their indexes differ by at most 1.
+ * This is what {@link SequenceCalculator} needs.
+ * <p>
+ * Values are kept in an array sorted by their index, and sequences in an array sorted by their first value.
+ * Both are searched by binary search on the primitive index,
+ * so that adding or removing a value neither boxes the index nor allocates anything but the entry for the value.
+ * Inserting into the middle of an array costs a {@link System#arraycopy(Object, int, Object, int, int)},
+ * which for the size of a typical group (the shifts of a single employee, for example)
+ * is cheaper than keeping a tree balanced.
+ * <p>
+ * A sequence or a break keeps its identity for as long as it exists,
+ * even when values are added to it or removed from it.
+ *
+ * @param <Value_> The type of value stored (examples: shifts)
+ */
+public final class IntSequenceChain<Value_> implements SequenceChain<Value_, Integer> {
+
+    private final Map<Value_, Item<Value_>> valueToItemMap = new HashMap<>();
+    private Item<Value_>[] items = newItemArray(8);
+    private int itemCount = 0;
+    private IntSequence<Value_>[] sequences = newSequenceArray(4);
+    private int sequenceCount = 0;
+    private final List<Sequence<Value_, Integer>> sequenceList = new SequenceList();
+    private final List<Break<Value_, Integer>> breakList = new BreakList();
+
+    @SuppressWarnings("unchecked")
+    private static <Value_> Item<Value_>[] newItemArray(int length) {
+        return new Item[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Value_> IntSequence<Value_>[] newSequenceArray(int length) {
+        return new IntSequence[length];
+    }
+
+    @Override
+    public Collection<Sequence<Value_, Integer>> getConsecutiveSequences() {
+        return sequenceList;
+    }
+
+    @Override
+    public Collection<Break<Value_, Integer>> getBreaks() {
+        return breakList;
+    }
+
+    @Override
+    public Sequence<Value_, Integer> getFirstSequence() {
+        return sequenceCount == 0 ? null : sequences[0];
+    }
+
+    @Override
+    public Sequence<Value_, Integer> getLastSequence() {
+        return sequenceCount == 0 ? null : sequences[sequenceCount - 1];
+    }
+
+    @Override
+    public Break<Value_, Integer> getFirstBreak() {
+        return sequenceCount <= 1 ? null : sequences[1].previousBreak;
+    }
+
+    @Override
+    public Break<Value_, Integer> getLastBreak() {
+        return sequenceCount <= 1 ? null : sequences[sequenceCount - 1].previousBreak;
+    }
+
+    public boolean add(Value_ value, int valueIndex) {
+        var item = valueToItemMap.get(value);
+        if (item != null) { // Item already in bag.
+            if (item.index != valueIndex) {
+                throw new IllegalStateException(
+                        "Impossible state: the item (" + value + ") is already in the bag with a different index ("
+                                + item.index + " vs " + valueIndex + ").\n" +
+                                "Maybe the index map function is not deterministic?");
+            }
+            item.count++;
+            return true;
+        }
+
+        // Adding item to the bag.
+        item = new Item<>(value, valueIndex);
+        valueToItemMap.put(value, item);
+        int position = findItemPosition(item.index, item.hash);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        insertItem(position, item);
+        var previousItem = position > 0 ? items[position - 1] : null;
+        var nextItem = position < itemCount - 1 ? items[position + 1] : null;
+        boolean joinsPrevious = previousItem != null && isConsecutive(previousItem, item);
+        boolean joinsNext = nextItem != null && isConsecutive(item, nextItem);
+        if (joinsPrevious) {
+            int previousSequencePosition = findSequencePosition(previousItem);
+            var previousSequence = sequences[previousSequencePosition];
+            if (previousSequence.lastItem != previousItem) { // Item is inside of an existing sequence.
+                previousSequence.invalidate();
+            } else if (joinsNext) { // Item closes the gap between two sequences; merge them.
+                var nextSequence = sequences[previousSequencePosition + 1];
+                removeSequence(previousSequencePosition + 1);
+                previousSequence.setLast(nextSequence.lastItem);
+                updateBreakAfter(previousSequencePosition, previousSequence);
+            } else {
+                previousSequence.setLast(item);
+                updateBreakAfter(previousSequencePosition, null);
+            }
+        } else if (joinsNext) { // Item is the new start of the next sequence.
+            var nextSequence = sequences[findSequencePosition(nextItem)];
+            nextSequence.setFirst(item);
+            if (nextSequence.previousBreak != null) {
+                nextSequence.previousBreak.updateLength();
+            }
+        } else { // Start a new sequence.
+            int newSequencePosition = previousItem == null ? 0 : findSequencePosition(previousItem) + 1;
+            var newSequence = new IntSequence<>(this, item, item);
+            insertSequence(newSequencePosition, newSequence);
+            if (newSequencePosition > 0) {
+                newSequence.previousBreak = new IntBreak<>(newSequence, sequences[newSequencePosition - 1]);
+            }
+            if (newSequencePosition < sequenceCount - 1) {
+                var nextSequence = sequences[newSequencePosition + 1];
+                if (nextSequence.previousBreak == null) {
+                    nextSequence.previousBreak = new IntBreak<>(nextSequence, newSequence);
+                } else {
+                    nextSequence.previousBreak.setPreviousSequence(newSequence);
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean remove(Value_ value) {
+        var item = valueToItemMap.get(value);
+        if (item == null) { // Item not in bag.
+            return false;
+        }
+        item.count--;
+        if (item.count > 0) { // Item still in bag.
+            return true;
+        }
+
+        // Item is removed from bag.
+        valueToItemMap.remove(value);
+        int sequencePosition = findSequencePosition(item);
+        var sequence = sequences[sequencePosition];
+        int position = findExactItemPosition(item);
+        removeItem(position);
+        if (sequence.firstItem == item && sequence.lastItem == item) { // Sequence is now empty.
+            removeSequence(sequencePosition);
+            if (sequencePosition < sequenceCount) {
+                var nextSequence = sequences[sequencePosition];
+                if (sequencePosition == 0) {
+                    nextSequence.previousBreak = null;
+                } else {
+                    nextSequence.previousBreak.setPreviousSequence(sequences[sequencePosition - 1]);
+                }
+            }
+        } else if (sequence.firstItem == item) {
+            sequence.setFirst(items[position]);
+            if (sequence.previousBreak != null) {
+                sequence.previousBreak.updateLength();
+            }
+        } else if (sequence.lastItem == item) {
+            sequence.setLast(items[position - 1]);
+            updateBreakAfter(sequencePosition, null);
+        } else {
+            var previousItem = items[position - 1];
+            var nextItem = items[position];
+            if (isConsecutive(previousItem, nextItem)) {
+                // Sequence is not split since the neighbouring items are still close enough.
+                sequence.invalidate();
+            } else { // Split the sequence in two; the breaks around it are unaffected, as its ends did not change.
+                var splitSequence = new IntSequence<>(this, nextItem, sequence.lastItem);
+                sequence.setLast(previousItem);
+                insertSequence(sequencePosition + 1, splitSequence);
+                splitSequence.previousBreak = new IntBreak<>(splitSequence, sequence);
+                updateBreakAfter(sequencePosition + 1, splitSequence);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConsecutive(Item<?> first, Item<?> second) {
+        return (long) second.index - first.index <= 1L;
+    }
+
+    /**
+     * @param sequencePosition position of the sequence before the break
+     * @param newPreviousSequence null if the break only needs its length updated
+     */
+    private void updateBreakAfter(int sequencePosition, IntSequence<Value_> newPreviousSequence) {
+        if (sequencePosition + 1 >= sequenceCount) {
+            return;
+        }
+        var nextBreak = sequences[sequencePosition + 1].previousBreak;
+        if (newPreviousSequence == null) {
+            nextBreak.updateLength();
+        } else {
+            nextBreak.setPreviousSequence(newPreviousSequence);
+        }
+    }
+
+    private static int compare(int index1, int hash1, int index2, int hash2) {
+        int comparison = Integer.compare(index1, index2);
+        if (comparison != 0) {
+            return comparison;
+        }
+        // Identity hash code for duplicate protection.
+        return Integer.compare(hash1, hash2);
+    }
+
+    /**
+     * @return position of an item with the same index and hash, or {@code -(insertion point) - 1} if there is none
+     */
+    private int findItemPosition(int index, int hash) {
+        int low = 0;
+        int high = itemCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            var middleItem = items[middle];
+            int comparison = compare(middleItem.index, middleItem.hash, index, hash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int findExactItemPosition(Item<Value_> item) {
+        int position = findItemPosition(item.index, item.hash);
+        // Different values may share the same index and identity hash code; find the right one among them.
+        int candidate = position;
+        while (candidate >= 0 && items[candidate] != item
+                && compare(items[candidate].index, items[candidate].hash, item.index, item.hash) == 0) {
+            candidate--;
+        }
+        if (candidate >= 0 && items[candidate] == item) {
+            return candidate;
+        }
+        candidate = position + 1;
+        while (items[candidate] != item) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    /**
+     * @return position of the last sequence which starts at or before the item
+     */
+    private int findSequencePosition(Item<Value_> item) {
+        int low = 0;
+        int high = sequenceCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            var middleItem = sequences[middle].firstItem;
+            if (middleItem == item) {
+                return middle;
+            }
+            int comparison = compare(middleItem.index, middleItem.hash, item.index, item.hash);
+            if (comparison <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private void insertItem(int position, Item<Value_> item) {
+        if (itemCount == items.length) {
+            items = Arrays.copyOf(items, itemCount * 2);
+        }
+        System.arraycopy(items, position, items, position + 1, itemCount - position);
+        items[position] = item;
+        itemCount++;
+    }
+
+    private void removeItem(int position) {
+        itemCount--;
+        System.arraycopy(items, position + 1, items, position, itemCount - position);
+        items[itemCount] = null;
+    }
+
+    private void insertSequence(int position, IntSequence<Value_> sequence) {
+        if (sequenceCount == sequences.length) {
+            sequences = Arrays.copyOf(sequences, sequenceCount * 2);
+        }
+        System.arraycopy(sequences, position, sequences, position + 1, sequenceCount - position);
+        sequences[position] = sequence;
+        sequenceCount++;
+    }
+
+    private void removeSequence(int position) {
+        sequenceCount--;
+        System.arraycopy(sequences, position + 1, sequences, position, sequenceCount - position);
+        sequences[sequenceCount] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Value_> getValues(Item<Value_> firstItem, Item<Value_> lastItem) {
+        int firstPosition = findExactItemPosition(firstItem);
+        int lastPosition = findExactItemPosition(lastItem);
+        var values = new Object[lastPosition - firstPosition + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = items[firstPosition + i].value;
+        }
+        return (List<Value_>) Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public String toString() {
+        return "Sequences {" +
+                "sequenceList=" + getConsecutiveSequences() +
+                ", breakList=" + getBreaks() +
+                '}';
+    }
+
+    private static final class Item<Value_> {
+
+        private final Value_ value;
+        private final int index;
+        private final int hash;
+        private int count = 1;
+
+        private Item(Value_ value, int index) {
+            this.value = value;
+            this.index = index;
+            this.hash = System.identityHashCode(value);
+        }
+
+    }
+
+    private final class SequenceList extends AbstractList<Sequence<Value_, Integer>> {
+
+        @Override
+        public Sequence<Value_, Integer> get(int index) {
+            if (index >= sequenceCount) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return sequences[index];
+        }
+
+        @Override
+        public int size() {
+            return sequenceCount;
+        }
+
+    }
+
+    private final class BreakList extends AbstractList<Break<Value_, Integer>> {
+
+        @Override
+        public Break<Value_, Integer> get(int index) {
+            if (index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return sequences[index + 1].previousBreak;
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, sequenceCount - 1);
+        }
+
+    }
+
+    private static final class IntSequence<Value_> implements Sequence<Value_, Integer> {
+
+        private final IntSequenceChain<Value_> sourceChain;
+        private Item<Value_> firstItem;
+        private Item<Value_> lastItem;
+        private IntBreak<Value_> previousBreak = null;
+
+        // Memorized calculations
+        private List<Value_> items = null;
+
+        private IntSequence(IntSequenceChain<Value_> sourceChain, Item<Value_> firstItem, Item<Value_> lastItem) {
+            this.sourceChain = sourceChain;
+            this.firstItem = firstItem;
+            this.lastItem = lastItem;
+        }
+
+        @Override
+        public Value_ getFirstItem() {
+            return firstItem.value;
+        }
+
+        @Override
+        public Value_ getLastItem() {
+            return lastItem.value;
+        }
+
+        @Override
+        public Break<Value_, Integer> getPreviousBreak() {
+            return previousBreak;
+        }
+
+        @Override
+        public Break<Value_, Integer> getNextBreak() {
+            int nextPosition = sourceChain.findSequencePosition(firstItem) + 1;
+            return nextPosition < sourceChain.sequenceCount ? sourceChain.sequences[nextPosition].previousBreak : null;
+        }
+
+        @Override
+        public boolean isFirst() {
+            return sourceChain.sequences[0] == this;
+        }
+
+        @Override
+        public boolean isLast() {
+            return sourceChain.sequences[sourceChain.sequenceCount - 1] == this;
+        }
+
+        @Override
+        public Collection<Value_> getItems() {
+            if (items == null) {
+                items = sourceChain.getValues(firstItem, lastItem);
+            }
+            return items;
+        }
+
+        @Override
+        public int getCount() {
+            return getItems().size();
+        }
+
+        @Override
+        public Integer getLength() {
+            return lastItem.index - firstItem.index + 1;
+        }
+
+        private void setFirst(Item<Value_> item) {
+            firstItem = item;
+            invalidate();
+        }
+
+        private void setLast(Item<Value_> item) {
+            lastItem = item;
+            invalidate();
+        }
+
+        private void invalidate() {
+            items = null;
+        }
+
+        @Override
+        public String toString() {
+            return getItems().stream()
+                    .map(Object::toString)
+                    .collect(Collectors.joining(", ", "Sequence [", "]"));
+        }
+
+    }
+
+    private static final class IntBreak<Value_> implements Break<Value_, Integer> {
+
+        private final IntSequence<Value_> nextSequence;
+        private IntSequence<Value_> previousSequence;
+        private int length;
+
+        private IntBreak(IntSequence<Value_> nextSequence, IntSequence<Value_> previousSequence) {
+            this.nextSequence = nextSequence;
+            setPreviousSequence(previousSequence);
+        }
+
+        @Override
+        public boolean isFirst() {
+            return previousSequence.isFirst();
+        }
+
+        @Override
+        public boolean isLast() {
+            return nextSequence.isLast();
+        }
+
+        @Override
+        public Value_ getPreviousSequenceEnd() {
+            return previousSequence.lastItem.value;
+        }
+
+        @Override
+        public Value_ getNextSequenceStart() {
+            return nextSequence.firstItem.value;
+        }
+
+        @Override
+        public Integer getLength() {
+            return length;
+        }
+
+        private void setPreviousSequence(IntSequence<Value_> previousSequence) {
+            this.previousSequence = previousSequence;
+            updateLength();
+        }
+
+        private void updateLength() {
+            this.length = nextSequence.firstItem.index - previousSequence.lastItem.index;
+        }
+
+        @Override
+        public String toString() {
+            return "Break{" +
+                    "previousSequence=" + previousSequence +
+                    ", nextSequence=" + nextSequence +
+                    ", length=" + length +
+                    '}';
+        }
+
+    }
+
+}
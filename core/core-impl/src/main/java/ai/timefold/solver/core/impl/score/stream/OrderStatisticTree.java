@@ -0,0 +1,183 @@
+package ai.timefold.solver.core.impl.score.stream;
+
+import java.util.Comparator;
+
+/**
+ * A sorted multiset which can find the element at any position in its order in O(log n).
+ * Implemented as an AVL tree, where every node holds one distinct element, its number of occurrences
+ * and the number of occurrences in its subtree.
+ * <p>
+ * Elements which compare equal are stored in the same node,
+ * therefore the comparator must be consistent with equals,
+ * same as for {@link MinMaxUndoableActionable}.
+ *
+ * @param <Value_>
+ */
+final class OrderStatisticTree<Value_> {
+
+    private final Comparator<? super Value_> comparator;
+    private Node<Value_> root = null;
+
+    OrderStatisticTree(Comparator<? super Value_> comparator) {
+        this.comparator = comparator;
+    }
+
+    public void add(Value_ value) {
+        root = add(root, value);
+    }
+
+    private Node<Value_> add(Node<Value_> node, Value_ value) {
+        if (node == null) {
+            return new Node<>(value);
+        }
+        int comparison = comparator.compare(value, node.value);
+        if (comparison == 0) {
+            node.count++;
+            node.size++;
+            return node;
+        } else if (comparison < 0) {
+            node.left = add(node.left, value);
+        } else {
+            node.right = add(node.right, value);
+        }
+        return rebalance(node);
+    }
+
+    public void remove(Value_ value) {
+        root = remove(root, value);
+    }
+
+    private Node<Value_> remove(Node<Value_> node, Value_ value) {
+        if (node == null) {
+            throw new IllegalStateException("Impossible state: the value (" + value + ") is not in the tree.");
+        }
+        int comparison = comparator.compare(value, node.value);
+        if (comparison < 0) {
+            node.left = remove(node.left, value);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, value);
+        } else if (node.count > 1) {
+            node.count--;
+            node.size--;
+            return node;
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else { // Take over the successor and remove it from the right subtree.
+            Node<Value_> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            node.count = successor.count;
+            node.right = removeMin(node.right);
+        }
+        return rebalance(node);
+    }
+
+    private Node<Value_> removeMin(Node<Value_> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * @return the number of elements, duplicates included
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @param index {@code 0 <= index < size()}
+     * @return the element at the index in ascending order, duplicates included
+     */
+    public Value_ get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("The index (" + index + ") is not in the tree of size (" + size() + ").");
+        }
+        Node<Value_> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index < leftSize + node.count) {
+                return node.value;
+            } else {
+                index -= leftSize + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <Value_> Node<Value_> rebalance(Node<Value_> node) {
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private static <Value_> Node<Value_> rotateRight(Node<Value_> node) {
+        Node<Value_> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static <Value_> Node<Value_> rotateLeft(Node<Value_> node) {
+        Node<Value_> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static void update(Node<?> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + node.count;
+    }
+
+    private static final class Node<Value_> {
+
+        private Value_ value;
+        private int count = 1;
+        private int size = 1;
+        private int height = 1;
+        private Node<Value_> left = null;
+        private Node<Value_> right = null;
+
+        private Node(Value_ value) {
+            this.value = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package ai.timefold.solver.core.impl.score.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps the collected values sorted in an {@link OrderStatisticTree},
+ * so that both insert and retract are O(log n)
+ * and the value at any position in the order can be found without scanning the group.
+ *
+ * @param <Value_>
+ * @param <Result_>
+ */
+public final class OrderStatisticUndoableActionable<Value_, Result_> implements UndoableActionable<Value_, Result_> {
+
+    private final OrderStatisticTree<Value_> tree;
+    private final Function<OrderStatisticTree<Value_>, Result_> resultFunction;
+
+    private OrderStatisticUndoableActionable(Comparator<? super Value_> comparator,
+            Function<OrderStatisticTree<Value_>, Result_> resultFunction) {
+        this.tree = new OrderStatisticTree<>(comparator);
+        this.resultFunction = resultFunction;
+    }
+
+    /**
+     * Uses the nearest-rank method: the result is the smallest value
+     * which is greater than or equal to at least the given fraction of all values.
+     * Therefore the result is always one of the collected values, never an interpolation,
+     * and the median of an even number of values is the lower of the two middle values.
+     *
+     * @param percentile {@code 0.0 <= percentile <= 1.0}, see {@link #validatePercentile(double)}
+     * @return never null
+     */
+    public static <Value extends Comparable<? super Value>> OrderStatisticUndoableActionable<Value, Value>
+            percentileCalculator(double percentile) {
+        return new OrderStatisticUndoableActionable<>(Comparator.naturalOrder(), tree -> {
+            if (tree.isEmpty()) {
+                return null;
+            }
+            int rank = (int) Math.ceil(percentile * tree.size());
+            return tree.get(Math.max(rank, 1) - 1);
+        });
+    }
+
+    /**
+     * @param count {@code count > 0}, see {@link #validateTopCount(int)}
+     * @return never null
+     */
+    public static <Value extends Comparable<? super Value>> OrderStatisticUndoableActionable<Value, List<Value>>
+            topCalculator(int count) {
+        return new OrderStatisticUndoableActionable<>(Comparator.naturalOrder(), tree -> {
+            int size = tree.size();
+            int resultSize = Math.min(count, size);
+            if (resultSize == 0) {
+                return Collections.emptyList();
+            }
+            List<Value> result = new ArrayList<>(resultSize);
+            for (int i = 0; i < resultSize; i++) {
+                result.add(tree.get(size - 1 - i));
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    public static double validatePercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 1.0)) {
+            throw new IllegalArgumentException("The percentile (" + percentile + ") must be between 0.0 and 1.0.");
+        }
+        return percentile;
+    }
+
+    public static int validateTopCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("The count (" + count + ") must be at least 1.");
+        }
+        return count;
+    }
+
+    @Override
+    public Runnable insert(Value_ value) {
+        tree.add(value);
+        return () -> tree.remove(value);
+    }
+
+    @Override
+    public Result_ result() {
+        return resultFunction.apply(tree);
+    }
+
+}
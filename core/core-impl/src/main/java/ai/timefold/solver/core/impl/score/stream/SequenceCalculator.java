@@ -8,9 +8,7 @@ import ai.timefold.solver.core.api.score.stream.common.SequenceChain;
 public final class SequenceCalculator<Result_>
         implements ObjectCalculator<Result_, SequenceChain<Result_, Integer>> {
 
-    private final ConsecutiveSetTree<Result_, Integer, Integer> context = new ConsecutiveSetTree<>(
-            (Integer a, Integer b) -> b - a,
-            Integer::sum, 1, 0);
+    private final IntSequenceChain<Result_> context = new IntSequenceChain<>();
 
     private final ToIntFunction<Result_> indexMap;
 
@@ -30,7 +28,7 @@ public final class SequenceCalculator<Result_>
     }
 
     @Override
-    public ConsecutiveSetTree<Result_, Integer, Integer> result() {
+    public IntSequenceChain<Result_> result() {
         return context;
     }
 
@@ -2,7 +2,7 @@ package ai.timefold.solver.core.impl.score.stream;
 
 public sealed interface UndoableActionable<Input_, Output_>
         permits CustomCollectionUndoableActionable, ListUndoableActionable, MapUndoableActionable, MinMaxUndoableActionable,
-        SetUndoableActionable, SortedSetUndoableActionable {
+        OrderStatisticUndoableActionable, SetUndoableActionable, SortedSetUndoableActionable {
     Runnable insert(Input_ input);
 
     Output_ result();
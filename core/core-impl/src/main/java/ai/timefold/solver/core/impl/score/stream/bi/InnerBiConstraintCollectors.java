@@ -147,6 +147,11 @@ public class InnerBiConstraintCollectors {
         return new MinPropertyBiCollector<>(mapper, propertyMapper);
     }
 
+    public static <A, B, Result_ extends Comparable<? super Result_>> BiConstraintCollector<A, B, ?, Result_>
+            percentile(BiFunction<? super A, ? super B, ? extends Result_> mapper, double percentile) {
+        return new PercentileBiCollector<>(mapper, percentile);
+    }
+
     public static <A, B> BiConstraintCollector<A, B, ?, Integer> sum(ToIntBiFunction<? super A, ? super B> mapper) {
         return new SumIntBiCollector<>(mapper);
     }
@@ -203,6 +208,11 @@ public class InnerBiConstraintCollectors {
         return new ToSortedSetComparatorBiCollector<>(mapper, comparator);
     }
 
+    public static <A, B, Mapped_ extends Comparable<? super Mapped_>> BiConstraintCollector<A, B, ?, List<Mapped_>>
+            top(BiFunction<? super A, ? super B, ? extends Mapped_> mapper, int count) {
+        return new TopBiCollector<>(mapper, count);
+    }
+
     public static <A, B, Result_> BiConstraintCollector<A, B, ?, SequenceChain<Result_, Integer>>
             toConsecutiveSequences(BiFunction<A, B, Result_> resultMap, ToIntFunction<Result_> indexMap) {
         return new ConsecutiveSequencesBiConstraintCollector<>(resultMap, indexMap);
@@ -0,0 +1,39 @@
+package ai.timefold.solver.core.impl.score.stream.bi;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class PercentileBiCollector<A, B, Result_ extends Comparable<? super Result_>>
+        extends UndoableActionableBiCollector<A, B, Result_, Result_, OrderStatisticUndoableActionable<Result_, Result_>> {
+    private final double percentile;
+
+    PercentileBiCollector(BiFunction<? super A, ? super B, ? extends Result_> mapper, double percentile) {
+        super(mapper);
+        this.percentile = OrderStatisticUndoableActionable.validatePercentile(percentile);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Result_, Result_>> supplier() {
+        return () -> OrderStatisticUndoableActionable.percentileCalculator(percentile);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        PercentileBiCollector<?, ?, ?> that = (PercentileBiCollector<?, ?, ?>) object;
+        return percentile == that.percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), percentile);
+    }
+}
@@ -11,8 +11,9 @@ import ai.timefold.solver.core.impl.score.stream.UndoableActionable;
 abstract sealed class UndoableActionableBiCollector<A, B, Input_, Output_, Calculator_ extends UndoableActionable<Input_, Output_>>
         implements BiConstraintCollector<A, B, Calculator_, Output_>
         permits MaxComparableBiCollector, MaxComparatorBiCollector, MaxPropertyBiCollector, MinComparableBiCollector,
-        MinComparatorBiCollector, MinPropertyBiCollector, ToCollectionBiCollector, ToListBiCollector, ToMultiMapBiCollector,
-        ToSetBiCollector, ToSimpleMapBiCollector, ToSortedSetComparatorBiCollector {
+        MinComparatorBiCollector, MinPropertyBiCollector, PercentileBiCollector, ToCollectionBiCollector,
+        ToListBiCollector, ToMultiMapBiCollector, ToSetBiCollector, ToSimpleMapBiCollector,
+        ToSortedSetComparatorBiCollector, TopBiCollector {
     private final BiFunction<? super A, ? super B, ? extends Input_> mapper;
 
     public UndoableActionableBiCollector(BiFunction<? super A, ? super B, ? extends Input_> mapper) {
@@ -150,6 +150,11 @@ public class InnerQuadConstraintCollectors {
         return new MinPropertyQuadCollector<>(mapper, propertyMapper);
     }
 
+    public static <A, B, C, D, Result_ extends Comparable<? super Result_>> QuadConstraintCollector<A, B, C, D, ?, Result_>
+            percentile(QuadFunction<? super A, ? super B, ? super C, ? super D, ? extends Result_> mapper, double percentile) {
+        return new PercentileQuadCollector<>(mapper, percentile);
+    }
+
     public static <A, B, C, D> QuadConstraintCollector<A, B, C, D, ?, Integer> sum(
             ToIntQuadFunction<? super A, ? super B, ? super C, ? super D> mapper) {
         return new SumIntQuadCollector<>(mapper);
@@ -211,6 +216,12 @@ public class InnerQuadConstraintCollectors {
         return new ToSortedSetComparatorQuadCollector<>(mapper, comparator);
     }
 
+    public static <A, B, C, D, Mapped_ extends Comparable<? super Mapped_>>
+            QuadConstraintCollector<A, B, C, D, ?, List<Mapped_>>
+            top(QuadFunction<? super A, ? super B, ? super C, ? super D, ? extends Mapped_> mapper, int count) {
+        return new TopQuadCollector<>(mapper, count);
+    }
+
     public static <A, B, C, D, Result_> QuadConstraintCollector<A, B, C, D, ?, SequenceChain<Result_, Integer>>
             toConsecutiveSequences(QuadFunction<A, B, C, D, Result_> resultMap, ToIntFunction<Result_> indexMap) {
         return new ConsecutiveSequencesQuadConstraintCollector<>(resultMap, indexMap);
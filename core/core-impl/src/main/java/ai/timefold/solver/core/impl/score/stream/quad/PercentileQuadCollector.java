@@ -0,0 +1,41 @@
+package ai.timefold.solver.core.impl.score.stream.quad;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.api.function.QuadFunction;
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class PercentileQuadCollector<A, B, C, D, Result_ extends Comparable<? super Result_>>
+        extends
+        UndoableActionableQuadCollector<A, B, C, D, Result_, Result_, OrderStatisticUndoableActionable<Result_, Result_>> {
+    private final double percentile;
+
+    PercentileQuadCollector(QuadFunction<? super A, ? super B, ? super C, ? super D, ? extends Result_> mapper,
+            double percentile) {
+        super(mapper);
+        this.percentile = OrderStatisticUndoableActionable.validatePercentile(percentile);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Result_, Result_>> supplier() {
+        return () -> OrderStatisticUndoableActionable.percentileCalculator(percentile);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        PercentileQuadCollector<?, ?, ?, ?, ?> that = (PercentileQuadCollector<?, ?, ?, ?, ?>) object;
+        return percentile == that.percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), percentile);
+    }
+}
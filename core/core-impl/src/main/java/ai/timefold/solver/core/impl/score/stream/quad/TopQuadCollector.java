@@ -0,0 +1,41 @@
+package ai.timefold.solver.core.impl.score.stream.quad;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.api.function.QuadFunction;
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class TopQuadCollector<A, B, C, D, Mapped_ extends Comparable<? super Mapped_>>
+        extends
+        UndoableActionableQuadCollector<A, B, C, D, Mapped_, List<Mapped_>, OrderStatisticUndoableActionable<Mapped_, List<Mapped_>>> {
+    private final int count;
+
+    TopQuadCollector(QuadFunction<? super A, ? super B, ? super C, ? super D, ? extends Mapped_> mapper, int count) {
+        super(mapper);
+        this.count = OrderStatisticUndoableActionable.validateTopCount(count);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Mapped_, List<Mapped_>>> supplier() {
+        return () -> OrderStatisticUndoableActionable.topCalculator(count);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        TopQuadCollector<?, ?, ?, ?, ?> that = (TopQuadCollector<?, ?, ?, ?, ?>) object;
+        return count == that.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), count);
+    }
+}
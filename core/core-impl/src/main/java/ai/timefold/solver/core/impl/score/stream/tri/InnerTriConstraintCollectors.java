@@ -150,6 +150,11 @@ public class InnerTriConstraintCollectors {
         return new MinPropertyTriCollector<>(mapper, propertyMapper);
     }
 
+    public static <A, B, C, Result_ extends Comparable<? super Result_>> TriConstraintCollector<A, B, C, ?, Result_>
+            percentile(TriFunction<? super A, ? super B, ? super C, ? extends Result_> mapper, double percentile) {
+        return new PercentileTriCollector<>(mapper, percentile);
+    }
+
     public static <A, B, C> TriConstraintCollector<A, B, C, ?, Integer> sum(
             ToIntTriFunction<? super A, ? super B, ? super C> mapper) {
         return new SumIntTriCollector<>(mapper);
@@ -210,6 +215,11 @@ public class InnerTriConstraintCollectors {
         return new ToSortedSetComparatorTriCollector<>(mapper, comparator);
     }
 
+    public static <A, B, C, Mapped_ extends Comparable<? super Mapped_>> TriConstraintCollector<A, B, C, ?, List<Mapped_>>
+            top(TriFunction<? super A, ? super B, ? super C, ? extends Mapped_> mapper, int count) {
+        return new TopTriCollector<>(mapper, count);
+    }
+
     public static <A, B, C, Result_> TriConstraintCollector<A, B, C, ?, SequenceChain<Result_, Integer>>
             toConsecutiveSequences(TriFunction<A, B, C, Result_> resultMap, ToIntFunction<Result_> indexMap) {
         return new ConsecutiveSequencesTriConstraintCollector<>(resultMap, indexMap);
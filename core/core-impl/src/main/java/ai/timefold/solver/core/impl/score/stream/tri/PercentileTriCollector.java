@@ -0,0 +1,39 @@
+package ai.timefold.solver.core.impl.score.stream.tri;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.api.function.TriFunction;
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class PercentileTriCollector<A, B, C, Result_ extends Comparable<? super Result_>>
+        extends UndoableActionableTriCollector<A, B, C, Result_, Result_, OrderStatisticUndoableActionable<Result_, Result_>> {
+    private final double percentile;
+
+    PercentileTriCollector(TriFunction<? super A, ? super B, ? super C, ? extends Result_> mapper, double percentile) {
+        super(mapper);
+        this.percentile = OrderStatisticUndoableActionable.validatePercentile(percentile);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Result_, Result_>> supplier() {
+        return () -> OrderStatisticUndoableActionable.percentileCalculator(percentile);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        PercentileTriCollector<?, ?, ?, ?> that = (PercentileTriCollector<?, ?, ?, ?>) object;
+        return percentile == that.percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), percentile);
+    }
+}
@@ -0,0 +1,41 @@
+package ai.timefold.solver.core.impl.score.stream.tri;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.api.function.TriFunction;
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class TopTriCollector<A, B, C, Mapped_ extends Comparable<? super Mapped_>>
+        extends
+        UndoableActionableTriCollector<A, B, C, Mapped_, List<Mapped_>, OrderStatisticUndoableActionable<Mapped_, List<Mapped_>>> {
+    private final int count;
+
+    TopTriCollector(TriFunction<? super A, ? super B, ? super C, ? extends Mapped_> mapper, int count) {
+        super(mapper);
+        this.count = OrderStatisticUndoableActionable.validateTopCount(count);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Mapped_, List<Mapped_>>> supplier() {
+        return () -> OrderStatisticUndoableActionable.topCalculator(count);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        TopTriCollector<?, ?, ?, ?> that = (TopTriCollector<?, ?, ?, ?>) object;
+        return count == that.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), count);
+    }
+}
@@ -137,6 +137,11 @@ public class InnerUniConstraintCollectors {
         return new MinPropertyUniCollector<>(mapper, propertyMapper);
     }
 
+    public static <A, Result_ extends Comparable<? super Result_>> UniConstraintCollector<A, ?, Result_>
+            percentile(Function<? super A, ? extends Result_> mapper, double percentile) {
+        return new PercentileUniCollector<>(mapper, percentile);
+    }
+
     public static <A> UniConstraintCollector<A, ?, Integer> sum(ToIntFunction<? super A> mapper) {
         return new SumIntUniCollector<>(mapper);
     }
@@ -190,6 +195,11 @@ public class InnerUniConstraintCollectors {
         return new ToSortedSetComparatorUniCollector<>(mapper, comparator);
     }
 
+    public static <A, Mapped_ extends Comparable<? super Mapped_>> UniConstraintCollector<A, ?, List<Mapped_>>
+            top(Function<? super A, ? extends Mapped_> mapper, int count) {
+        return new TopUniCollector<>(mapper, count);
+    }
+
     public static <A> UniConstraintCollector<A, ?, SequenceChain<A, Integer>>
             toConsecutiveSequences(ToIntFunction<A> indexMap) {
         return new ConsecutiveSequencesUniConstraintCollector<>(indexMap);
@@ -0,0 +1,39 @@
+package ai.timefold.solver.core.impl.score.stream.uni;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.core.impl.score.stream.OrderStatisticUndoableActionable;
+
+final class PercentileUniCollector<A, Result_ extends Comparable<? super Result_>>
+        extends UndoableActionableUniCollector<A, Result_, Result_, OrderStatisticUndoableActionable<Result_, Result_>> {
+    private final double percentile;
+
+    PercentileUniCollector(Function<? super A, ? extends Result_> mapper, double percentile) {
+        super(mapper);
+        this.percentile = OrderStatisticUndoableActionable.validatePercentile(percentile);
+    }
+
+    @Override
+    public Supplier<OrderStatisticUndoableActionable<Result_, Result_>> supplier() {
+        return () -> OrderStatisticUndoableActionable.percentileCalculator(percentile);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        if (!super.equals(object))
+            return false;
+        PercentileUniCollector<?, ?> that = (PercentileUniCollector<?, ?>) object;
+        return percentile == that.percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), percentile);
+    }
+}
@@ -9,9 +9,10 @@ import ai.timefold.solver.core.impl.score.stream.UndoableActionable;
 
 abstract sealed class UndoableActionableUniCollector<A, Input_, Output_, Calculator_ extends UndoableActionable<Input_, Output_>>
         implements UniConstraintCollector<A, Calculator_, Output_>
-        permits MaxComparableUniCollector, MaxComparatorUniCollector, MaxPropertyUniCollector, MinComparableUniCollector,
-        MinComparatorUniCollector, MinPropertyUniCollector, ToCollectionUniCollector, ToListUniCollector,
-        ToMultiMapUniCollector, ToSetUniCollector, ToSimpleMapUniCollector, ToSortedSetComparatorUniCollector {
+        permits MaxComparableUniCollector, MaxComparatorUniCollector, MaxPropertyUniCollector,
+        MinComparableUniCollector, MinComparatorUniCollector, MinPropertyUniCollector, PercentileUniCollector,
+        ToCollectionUniCollector, ToListUniCollector, ToMultiMapUniCollector, ToSetUniCollector,
+        ToSimpleMapUniCollector, ToSortedSetComparatorUniCollector, TopUniCollector {
     private final Function<? super A, ? extends Input_> mapper;
 
     public UndoableActionableUniCollector(Function<? super A, ? extends Input_> mapper) {
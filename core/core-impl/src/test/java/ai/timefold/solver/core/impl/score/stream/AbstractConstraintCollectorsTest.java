@@ -53,6 +53,12 @@ public abstract class AbstractConstraintCollectorsTest {
     @Test
     public abstract void maxNotComparable();
 
+    @Test
+    public abstract void percentile();
+
+    @Test
+    public abstract void top();
+
     @Test
     public abstract void average();
 
@@ -109,7 +115,7 @@ public abstract class AbstractConstraintCollectorsTest {
 
     protected static SequenceChain<Integer, Integer> buildSequenceChain(Integer... data) {
         return Arrays.stream(data).collect(
-                () -> new ConsecutiveSetTree<Integer, Integer, Integer>((a, b) -> b - a, Integer::sum, 1, 0),
+                IntSequenceChain<Integer>::new,
                 (tree, datum) -> tree.add(datum, datum),
                 (a1, b1) -> {
                     throw new UnsupportedOperationException();
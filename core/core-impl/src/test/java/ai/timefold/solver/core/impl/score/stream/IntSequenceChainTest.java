@@ -0,0 +1,419 @@
+package ai.timefold.solver.core.impl.score.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import ai.timefold.solver.core.api.score.stream.common.Break;
+import ai.timefold.solver.core.api.score.stream.common.Sequence;
+import ai.timefold.solver.core.api.score.stream.common.SequenceChain;
+
+import org.junit.jupiter.api.Test;
+
+class IntSequenceChainTest {
+
+    @Test
+    void addAndRemove() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var one = new AtomicInteger(1);
+        var two = new AtomicInteger(2);
+        var three = new AtomicInteger(3);
+        var five = new AtomicInteger(5);
+        chain.add(one, 1);
+        chain.add(three, 3);
+        chain.add(five, 5);
+        assertThat(chain.getConsecutiveSequences()).hasSize(3);
+        assertThat(chain.getBreaks()).extracting(Break::getLength).containsExactly(2, 2);
+
+        // Closing a gap merges the sequences, and keeps the first one.
+        var firstSequence = chain.getFirstSequence();
+        chain.add(two, 2);
+        assertThat(chain.getConsecutiveSequences()).hasSize(2);
+        assertThat(chain.getFirstSequence()).isSameAs(firstSequence);
+        assertThat(firstSequence.getItems()).containsExactly(one, two, three);
+        assertThat(firstSequence.getLength()).isEqualTo(3);
+        assertThat(firstSequence.isFirst()).isTrue();
+        assertThat(chain.getFirstBreak()).isSameAs(chain.getLastBreak());
+        assertThat(chain.getFirstBreak().getLength()).isEqualTo(2);
+        assertThat(chain.getFirstBreak().getPreviousSequenceEnd()).isSameAs(three);
+        assertThat(chain.getFirstBreak().getNextSequenceStart()).isSameAs(five);
+
+        // Removing the middle splits the sequence, and keeps the first half.
+        chain.remove(two);
+        assertThat(chain.getConsecutiveSequences()).hasSize(3);
+        assertThat(chain.getFirstSequence()).isSameAs(firstSequence);
+        assertThat(firstSequence.getItems()).containsExactly(one);
+        assertThat(firstSequence.getNextBreak().getNextSequenceStart()).isSameAs(three);
+
+        chain.remove(one);
+        chain.remove(three);
+        chain.remove(five);
+        assertThat(chain.getConsecutiveSequences()).isEmpty();
+        assertThat(chain.getBreaks()).isEmpty();
+        assertThat(chain.getFirstSequence()).isNull();
+        assertThat(chain.getFirstBreak()).isNull();
+        assertThat(chain.remove(one)).isFalse();
+    }
+
+    @Test
+    void addWithDifferentIndex() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var value = new AtomicInteger(1);
+        chain.add(value, 1);
+        assertThatThrownBy(() -> chain.add(value, 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void nonConsecutiveNumbers() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        chain.add(atomic(1), 1);
+        chain.add(atomic(3), 3);
+        chain.add(atomic(7), 7);
+
+        var sequenceList = List.copyOf(chain.getConsecutiveSequences());
+        assertThat(sequenceList).hasSize(3);
+        assertThat(chain.getFirstSequence()).isSameAs(sequenceList.get(0));
+        assertThat(chain.getLastSequence()).isSameAs(sequenceList.get(2));
+        assertThat(sequenceList).allMatch(sequence -> sequence.getCount() == 1);
+
+        var breakList = List.copyOf(chain.getBreaks());
+        assertThat(breakList).extracting(Break::getLength).containsExactly(2, 4);
+        assertThat(chain.getFirstBreak()).isSameAs(breakList.get(0));
+        assertThat(chain.getLastBreak()).isSameAs(breakList.get(1));
+    }
+
+    @Test
+    void consecutiveNumbers() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var breakStart3 = atomic(3);
+        var breakEnd5 = atomic(5);
+        chain.add(atomic(1), 1);
+        chain.add(atomic(2), 2);
+        chain.add(breakStart3, 3);
+        chain.add(breakEnd5, 5);
+        chain.add(atomic(6), 6);
+        chain.add(atomic(7), 7);
+        chain.add(atomic(8), 8);
+
+        assertThat(chain.getConsecutiveSequences()).extracting(Sequence::getCount).containsExactly(3, 4);
+        assertSingleBreak(chain, breakStart3, breakEnd5);
+    }
+
+    @Test
+    void consecutiveReverseNumbers() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var breakStart3 = atomic(3);
+        var breakEnd5 = atomic(5);
+        chain.add(breakStart3, 3);
+        chain.add(atomic(2), 2);
+        chain.add(atomic(1), 1);
+        chain.add(atomic(8), 8);
+        chain.add(atomic(7), 7);
+        chain.add(atomic(6), 6);
+        chain.add(breakEnd5, 5);
+
+        assertThat(chain.getConsecutiveSequences()).extracting(Sequence::getCount).containsExactly(3, 4);
+        assertSingleBreak(chain, breakStart3, breakEnd5);
+    }
+
+    @Test
+    void duplicateNumbers() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var duplicate = atomic(3);
+        chain.add(atomic(1), 1);
+        chain.add(atomic(2), 2);
+        chain.add(duplicate, 3);
+        chain.add(duplicate, 3);
+        chain.add(duplicate, 3);
+
+        var sequence = chain.getFirstSequence();
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(chain.getLastSequence()).isSameAs(sequence);
+        assertThat(sequence.getCount()).isEqualTo(3);
+        assertThat(chain.getBreaks()).isEmpty();
+        assertThat(chain.getFirstBreak()).isNull();
+        assertThat(chain.getLastBreak()).isNull();
+
+        duplicate.set(0); // Mimic the constraint collector changing a planning variable.
+
+        // The value stays until it is removed as often as it was added.
+        chain.remove(duplicate);
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(sequence.getCount()).isEqualTo(3);
+        chain.remove(duplicate);
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(sequence.getCount()).isEqualTo(3);
+        chain.remove(duplicate);
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(sequence.getCount()).isEqualTo(2);
+        assertThat(sequence.getLength()).isEqualTo(2);
+        assertThat(chain.getBreaks()).isEmpty();
+    }
+
+    @Test
+    void joinOfTwoSequences() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        chain.add(atomic(1), 1);
+        chain.add(atomic(2), 2);
+        chain.add(atomic(3), 3);
+        chain.add(atomic(5), 5);
+        chain.add(atomic(6), 6);
+        chain.add(atomic(7), 7);
+        chain.add(atomic(8), 8);
+        chain.add(atomic(4), 4);
+
+        assertThat(chain.getConsecutiveSequences()).extracting(Sequence::getCount).containsExactly(8);
+        assertThat(chain.getBreaks()).isEmpty();
+    }
+
+    @Test
+    void breakOfSequence() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var breakStart3 = atomic(3);
+        var removed4 = atomic(4);
+        var breakEnd5 = atomic(5);
+        chain.add(atomic(1), 1);
+        chain.add(atomic(2), 2);
+        chain.add(breakStart3, 3);
+        chain.add(removed4, 4);
+        chain.add(breakEnd5, 5);
+        chain.add(atomic(6), 6);
+        chain.add(atomic(7), 7);
+
+        removed4.set(8); // Mimic changing a planning variable.
+        chain.remove(removed4);
+
+        assertThat(chain.getConsecutiveSequences()).extracting(Sequence::getCount).containsExactly(3, 3);
+        assertSingleBreak(chain, breakStart3, breakEnd5);
+    }
+
+    @Test
+    void removalOfWholeSequence() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var removed1 = atomic(1);
+        var removed2 = atomic(2);
+        var removed3 = atomic(3);
+        chain.add(removed1, 1);
+        chain.add(removed2, 2);
+        chain.add(removed3, 3);
+        chain.add(atomic(5), 5);
+        chain.add(atomic(6), 6);
+        chain.add(atomic(7), 7);
+
+        // Mimic changing planning variables.
+        removed1.set(3);
+        removed2.set(10);
+        removed3.set(-1);
+
+        // Remove the middle first, then the first and last of what remains.
+        chain.remove(removed2);
+        chain.remove(removed1);
+        chain.remove(removed3);
+
+        assertThat(chain.getConsecutiveSequences()).extracting(Sequence::getCount).containsExactly(3);
+        assertThat(chain.getFirstSequence().getPreviousBreak()).isNull();
+        assertThat(chain.getBreaks()).isEmpty();
+    }
+
+    @Test
+    void shorteningOfSequence() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var start = atomic(1);
+        var end = atomic(7);
+        chain.add(start, 1);
+        for (int i = 2; i < 7; i++) {
+            chain.add(atomic(i), i);
+        }
+        chain.add(end, 7);
+
+        end.set(3); // Mimic changing a planning variable.
+        chain.remove(end);
+        var sequence = chain.getFirstSequence();
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(sequence.getCount()).isEqualTo(6);
+        assertThat(sequence.getLastItem().get()).isEqualTo(6);
+        assertThat(chain.getBreaks()).isEmpty();
+
+        start.set(3); // Mimic changing a planning variable.
+        chain.remove(start);
+        assertThat(chain.getConsecutiveSequences()).containsExactly(sequence);
+        assertThat(sequence.getCount()).isEqualTo(5);
+        assertThat(sequence.getFirstItem().get()).isEqualTo(2);
+        assertThat(chain.getBreaks()).isEmpty();
+    }
+
+    @Test
+    void breakBoundariesFollowTheirSequences() {
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var one = atomic(1);
+        var three = atomic(3);
+        var four = atomic(4);
+        var seven = atomic(7);
+        chain.add(one, 1);
+        chain.add(four, 4);
+        chain.add(seven, 7);
+        var firstBreak = chain.getFirstBreak();
+        var lastBreak = chain.getLastBreak();
+        assertThat(firstBreak.isFirst()).isTrue();
+        assertThat(firstBreak.isLast()).isFalse();
+        assertThat(lastBreak.isLast()).isTrue();
+
+        // Extending a sequence at its start shortens the break before it.
+        chain.add(three, 3);
+        assertThat(chain.getFirstBreak()).isSameAs(firstBreak);
+        assertThat(firstBreak.getNextSequenceStart()).isSameAs(three);
+        assertThat(firstBreak.getLength()).isEqualTo(2);
+        assertThat(lastBreak.getPreviousSequenceEnd()).isSameAs(four);
+
+        // Removing the first sequence removes the first break.
+        chain.remove(one);
+        assertThat(chain.getBreaks()).containsExactly(lastBreak);
+        assertThat(lastBreak.isFirst()).isTrue();
+        assertThat(chain.getFirstSequence().getPreviousBreak()).isNull();
+
+        // Removing the last sequence removes the last break.
+        chain.remove(seven);
+        assertThat(chain.getBreaks()).isEmpty();
+        assertThat(chain.getFirstSequence()).isSameAs(chain.getLastSequence());
+        assertThat(chain.getLastSequence().getItems()).containsExactly(three, four);
+    }
+
+    @Test
+    void daysConsecutive() {
+        var chain = new IntSequenceChain<String>();
+        var day0 = "day 0";
+        var day1 = "day 1";
+        var day3 = "day 3";
+        var day4 = "day 4";
+        var day5 = "day 5";
+        chain.add(day4, 4);
+        chain.add(day1, 1);
+        chain.add(day4, 4);
+        chain.add(day3, 3);
+        chain.add(day0, 0);
+        chain.add(day5, 5);
+
+        var sequenceList = List.copyOf(chain.getConsecutiveSequences());
+        assertThat(sequenceList).hasSize(2);
+        assertThat(sequenceList.get(0).getItems()).containsExactly(day0, day1);
+        assertThat(sequenceList.get(1).getItems()).containsExactly(day3, day4, day5);
+        assertThat(chain.getBreaks()).hasSize(1);
+        assertThat(chain.getFirstBreak().getPreviousSequenceEnd()).isSameAs(day1);
+        assertThat(chain.getFirstBreak().getNextSequenceStart()).isSameAs(day3);
+        assertThat(chain.getFirstBreak().getLength()).isEqualTo(2);
+    }
+
+    @Test
+    void sameResultsAsRecomputing() {
+        var random = new Random(37);
+        var chain = new IntSequenceChain<AtomicInteger>();
+        var valueList = new ArrayList<AtomicInteger>();
+        for (int i = 0; i < 5000; i++) {
+            if (valueList.isEmpty() || random.nextInt(5) < 3) {
+                // Several values per index, and the same value more than once.
+                var value = !valueList.isEmpty() && random.nextInt(10) == 0
+                        ? valueList.get(random.nextInt(valueList.size()))
+                        : new AtomicInteger(random.nextInt(60));
+                chain.add(value, value.get());
+                valueList.add(value);
+            } else {
+                var value = valueList.remove(random.nextInt(valueList.size()));
+                chain.remove(value);
+            }
+            assertThat(describe(chain)).isEqualTo(recompute(valueList));
+        }
+    }
+
+    private static AtomicInteger atomic(int value) {
+        return new AtomicInteger(value);
+    }
+
+    private static void assertSingleBreak(SequenceChain<AtomicInteger, Integer> chain, AtomicInteger previousSequenceEnd,
+            AtomicInteger nextSequenceStart) {
+        var sequenceBreak = chain.getFirstBreak();
+        assertThat(chain.getBreaks()).containsExactly(sequenceBreak);
+        assertThat(chain.getLastBreak()).isSameAs(sequenceBreak);
+        assertThat(sequenceBreak.getPreviousSequenceEnd()).isSameAs(previousSequenceEnd);
+        assertThat(sequenceBreak.getNextSequenceStart()).isSameAs(nextSequenceStart);
+        assertThat(sequenceBreak.getLength()).isEqualTo(nextSequenceStart.get() - previousSequenceEnd.get());
+    }
+
+    /**
+     * Splits the distinct values into sequences from scratch, and describes them the same way as {@link #describe}.
+     */
+    private static List<String> recompute(List<AtomicInteger> valueList) {
+        var indexList = valueList.stream()
+                .filter(distinctByIdentity())
+                .map(AtomicInteger::get)
+                .sorted()
+                .toList();
+        var sequenceList = new ArrayList<List<Integer>>();
+        for (int index : indexList) {
+            var lastSequence = sequenceList.isEmpty() ? null : sequenceList.get(sequenceList.size() - 1);
+            if (lastSequence != null && index - lastSequence.get(lastSequence.size() - 1) <= 1) {
+                lastSequence.add(index);
+            } else {
+                sequenceList.add(new ArrayList<>(List.of(index)));
+            }
+        }
+        var description = new ArrayList<String>();
+        for (int i = 0; i < sequenceList.size(); i++) {
+            var sequence = sequenceList.get(i);
+            var previousBreak = i == 0 ? null : breakLength(sequenceList.get(i - 1), sequence);
+            var nextBreak = i == sequenceList.size() - 1 ? null : breakLength(sequence, sequenceList.get(i + 1));
+            description.add(sequence + " count " + sequence.size()
+                    + " length " + (sequence.get(sequence.size() - 1) - sequence.get(0) + 1)
+                    + " first " + (i == 0) + " last " + (i == sequenceList.size() - 1)
+                    + " previous break " + previousBreak + " next break " + nextBreak);
+        }
+        for (int i = 1; i < sequenceList.size(); i++) {
+            var previousSequence = sequenceList.get(i - 1);
+            var nextSequence = sequenceList.get(i);
+            description.add("Break " + previousSequence.get(previousSequence.size() - 1) + "-" + nextSequence.get(0)
+                    + " length " + breakLength(previousSequence, nextSequence)
+                    + " first " + (i == 1) + " last " + (i == sequenceList.size() - 1));
+        }
+        description.add("First " + (indexList.isEmpty() ? null : indexList.get(0))
+                + " last " + (indexList.isEmpty() ? null : indexList.get(indexList.size() - 1)));
+        return description;
+    }
+
+    private static Predicate<AtomicInteger> distinctByIdentity() {
+        var seenSet = Collections.newSetFromMap(new IdentityHashMap<AtomicInteger, Boolean>());
+        return seenSet::add;
+    }
+
+    private static int breakLength(List<Integer> previousSequence, List<Integer> nextSequence) {
+        return nextSequence.get(0) - previousSequence.get(previousSequence.size() - 1);
+    }
+
+    private static List<String> describe(SequenceChain<AtomicInteger, Integer> chain) {
+        var description = new ArrayList<String>();
+        for (Sequence<AtomicInteger, Integer> sequence : chain.getConsecutiveSequences()) {
+            var previousBreak = sequence.getPreviousBreak();
+            var nextBreak = sequence.getNextBreak();
+            description.add(sequence.getItems().stream().map(AtomicInteger::get).toList()
+                    + " count " + sequence.getCount() + " length " + sequence.getLength()
+                    + " first " + sequence.isFirst() + " last " + sequence.isLast()
+                    + " previous break " + (previousBreak == null ? null : previousBreak.getLength())
+                    + " next break " + (nextBreak == null ? null : nextBreak.getLength()));
+        }
+        for (Break<AtomicInteger, Integer> sequenceBreak : chain.getBreaks()) {
+            description.add("Break " + sequenceBreak.getPreviousSequenceEnd().get() + "-"
+                    + sequenceBreak.getNextSequenceStart().get() + " length " + sequenceBreak.getLength()
+                    + " first " + sequenceBreak.isFirst() + " last " + sequenceBreak.isLast());
+        }
+        description.add("First " + (chain.getFirstSequence() == null ? null : chain.getFirstSequence().getFirstItem())
+                + " last " + (chain.getLastSequence() == null ? null : chain.getLastSequence().getLastItem()));
+        return description;
+    }
+
+}
@@ -0,0 +1,73 @@
+package ai.timefold.solver.core.impl.score.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void addAndGetWithDuplicates() {
+        var tree = new OrderStatisticTree<Integer>(Comparator.naturalOrder());
+        assertThat(tree.isEmpty()).isTrue();
+        tree.add(5);
+        tree.add(1);
+        tree.add(5);
+        tree.add(3);
+        assertThat(tree.size()).isEqualTo(4);
+        assertThat(List.of(tree.get(0), tree.get(1), tree.get(2), tree.get(3)))
+                .containsExactly(1, 3, 5, 5);
+        assertThatThrownBy(() -> tree.get(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void removeMissingValue() {
+        var tree = new OrderStatisticTree<Integer>(Comparator.naturalOrder());
+        tree.add(1);
+        assertThatThrownBy(() -> tree.remove(2)).isInstanceOf(IllegalStateException.class);
+        tree.remove(1);
+        assertThat(tree.isEmpty()).isTrue();
+    }
+
+    @Test
+    void addAndRemoveManyInRandomOrder() {
+        var random = new Random(37);
+        var tree = new OrderStatisticTree<Integer>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int value = random.nextInt(200);
+                tree.add(value);
+                expected.add(value);
+            } else {
+                int value = expected.remove(random.nextInt(expected.size()));
+                tree.remove(value);
+            }
+            if (i % 100 == 0) {
+                assertContent(tree, expected);
+            }
+        }
+        assertContent(tree, expected);
+        for (Integer value : new ArrayList<>(expected)) {
+            tree.remove(value);
+        }
+        assertThat(tree.isEmpty()).isTrue();
+    }
+
+    private static void assertContent(OrderStatisticTree<Integer> tree, List<Integer> expected) {
+        List<Integer> sorted = new ArrayList<>(expected);
+        Collections.sort(sorted);
+        assertThat(tree.size()).isEqualTo(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(tree.get(i)).isEqualTo(sorted.get(i));
+        }
+    }
+
+}
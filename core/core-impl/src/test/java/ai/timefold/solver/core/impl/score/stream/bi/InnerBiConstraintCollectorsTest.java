@@ -499,6 +499,72 @@ final class InnerBiConstraintCollectorsTest extends AbstractConstraintCollectors
         assertResult(collector, container, null);
     }
 
+    @Override
+    @Test
+    public void percentile() {
+        var collector = ConstraintCollectors.percentile((Integer a, Integer b) -> a + b, 0.75);
+        var container = collector.supplier().get();
+
+        // Default state.
+        assertResult(collector, container, null);
+        // A single value is every percentile.
+        Runnable firstRetractor = accumulate(collector, container, 4, 0);
+        assertResult(collector, container, 4);
+        // [1, 4]; the 75th percentile is the larger value.
+        Runnable secondRetractor = accumulate(collector, container, 1, 0);
+        assertResult(collector, container, 4);
+        // [1, 2, 2, 4, 8]; the 75th percentile is the 4th value.
+        Runnable thirdRetractor = accumulate(collector, container, 2, 0);
+        Runnable fourthRetractor = accumulate(collector, container, 2, 0);
+        Runnable fifthRetractor = accumulate(collector, container, 8, 0);
+        assertResult(collector, container, 4);
+        // [1, 2, 2, 8]; retracting the value itself moves to the next one.
+        firstRetractor.run();
+        assertResult(collector, container, 2);
+        // [2, 8]
+        secondRetractor.run();
+        thirdRetractor.run();
+        assertResult(collector, container, 8);
+        // Retract everything.
+        fourthRetractor.run();
+        fifthRetractor.run();
+        assertResult(collector, container, null);
+
+        var medianCollector = ConstraintCollectors.median((Integer a, Integer b) -> a + b);
+        var medianContainer = medianCollector.supplier().get();
+        accumulate(medianCollector, medianContainer, 3, 0);
+        accumulate(medianCollector, medianContainer, 1, 0);
+        assertResult(medianCollector, medianContainer, 1); // The lower of the two middle values.
+        accumulate(medianCollector, medianContainer, 2, 0);
+        assertResult(medianCollector, medianContainer, 2);
+    }
+
+    @Override
+    @Test
+    public void top() {
+        var collector = ConstraintCollectors.top((Integer a, Integer b) -> a + b, 2);
+        var container = collector.supplier().get();
+
+        // Default state.
+        assertResult(collector, container, emptyList());
+        // Fewer values than requested.
+        Runnable firstRetractor = accumulate(collector, container, 1, 0);
+        assertResult(collector, container, List.of(1));
+        // Add a greater value, which comes first.
+        Runnable secondRetractor = accumulate(collector, container, 3, 0);
+        assertResult(collector, container, List.of(3, 1));
+        // Add a duplicate of the greatest value, which pushes the smallest value out.
+        Runnable thirdRetractor = accumulate(collector, container, 3, 0);
+        assertResult(collector, container, List.of(3, 3));
+        // Retract one duplicate; the smallest value comes back.
+        secondRetractor.run();
+        assertResult(collector, container, List.of(3, 1));
+        // Retract everything.
+        firstRetractor.run();
+        thirdRetractor.run();
+        assertResult(collector, container, emptyList());
+    }
+
     @Override
     @Test
     public void average() {
@@ -1041,7 +1107,7 @@ final class InnerBiConstraintCollectorsTest extends AbstractConstraintCollectors
     @Override
     @Test
     public void toConsecutiveSequences() {
-        // Do a basic test w/o edge cases; edge cases are covered in ConsecutiveSetTreeTest
+        // Do a basic test w/o edge cases; edge cases are covered in IntSequenceChainTest
         var collector = ConstraintCollectors.toConsecutiveSequences(Integer::sum, Integer::intValue);
         var container = collector.supplier().get();
         // Add first value, sequence is [2]
@@ -15,7 +15,7 @@ class ExperimentalConstraintCollectorsTest {
 
     @Test
     void consecutiveInterval() {
-        // Do a basic test w/o edge cases; edge cases are covered in ConsecutiveSetTreeTest
+        // Do a basic test w/o edge cases; edge cases are covered in IntervalTreeTest
         var collector =
                 ExperimentalConstraintCollectors.consecutiveIntervals(Interval::start, Interval::end, (a, b) -> b - a);
         var container = collector.supplier().get();